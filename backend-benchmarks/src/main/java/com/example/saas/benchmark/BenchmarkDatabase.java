@@ -0,0 +1,59 @@
+package com.example.saas.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+
+/**
+ * The Postgres a benchmark runs against
+ * BENCH_DB_URL (with BENCH_DB_USER and BENCH_DB_PASSWORD) points at a locally started one, such as
+ * docker-compose's database on port 5433. Otherwise an embedded Postgres is started in the
+ * benchmark fork; it runs initdb, which Postgres refuses to do as root.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    private final EmbeddedPostgres embedded;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private BenchmarkDatabase(EmbeddedPostgres embedded, String url, String username, String password) {
+        this.embedded = embedded;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    static BenchmarkDatabase start() throws IOException {
+        String url = System.getenv("BENCH_DB_URL");
+        if (url != null && !url.isBlank()) {
+            return new BenchmarkDatabase(null, url, env("BENCH_DB_USER", "saasuser"),
+                    env("BENCH_DB_PASSWORD", "saaspass123"));
+        }
+        EmbeddedPostgres embedded = EmbeddedPostgres.start();
+        return new BenchmarkDatabase(embedded, embedded.getJdbcUrl("postgres", "postgres"), "postgres", "postgres");
+    }
+
+    /**
+     * Command line arguments that point the application at this database
+     */
+    String[] arguments() {
+        return new String[] {
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : defaultValue;
+    }
+}
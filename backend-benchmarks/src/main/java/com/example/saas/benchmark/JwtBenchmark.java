@@ -0,0 +1,86 @@
+package com.example.saas.benchmark;
+
+import com.example.saas.filter.JwtFilter;
+import com.example.saas.service.ApiMetrics;
+import com.example.saas.service.DeletionJobService;
+import com.example.saas.util.JwtUtil;
+import com.example.saas.util.TenantTagGuard;
+import com.example.saas.util.WarmupRequests;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing and verification, which every authenticated request pays for
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    // Same defaults as application.properties
+    private static final String SECRET = "your-secret-key-min-32-characters-long-for-hs256";
+    private static final long EXPIRATION_SECONDS = 86400;
+
+    private final String userId = UUID.randomUUID().toString();
+    private final String tenantId = UUID.randomUUID().toString();
+
+    private JwtUtil jwtUtil;
+    private JwtFilter jwtFilter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, EXPIRATION_SECONDS);
+        ApiMetrics apiMetrics = new ApiMetrics(new SimpleMeterRegistry(), new TenantTagGuard(100, 50),
+                new WarmupRequests());
+        // No tenants pending deletion, so the lookup is the empty-set check most requests see
+        DeletionJobService deletionJobService = new DeletionJobService(null, null, 1000, 10000);
+        jwtFilter = new JwtFilter(jwtUtil, apiMetrics, deletionJobService);
+        token = jwtUtil.generateToken(userId, tenantId, "TENANT_ADMIN");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userId, tenantId, "TENANT_ADMIN");
+    }
+
+    @Benchmark
+    public Claims parseToken() {
+        return jwtUtil.parseToken(token);
+    }
+
+    /**
+     * The whole filter for a request with a valid bearer token, including building the mock request
+     */
+    @Benchmark
+    public Object filter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return request.getAttribute("tenantId");
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.saas.benchmark;
+
+import com.example.saas.MultiTenantSaasApplication;
+import com.example.saas.model.Project;
+import com.example.saas.model.Task;
+import com.example.saas.model.User;
+import com.example.saas.repository.ProjectRepository;
+import com.example.saas.repository.TaskRepository;
+import com.example.saas.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The repository queries behind the busiest endpoints, through the real Spring context and Flyway schema
+ * A benchmark project with TASK_COUNT tasks is added to the seeded demo tenant once; against a
+ * locally started database it is reused on later runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final int TASK_COUNT = 1000;
+    static final UUID DEMO_TENANT = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final UUID DEMO_ADMIN = UUID.fromString("550e8400-e29b-41d4-a716-446655440011");
+    static final UUID BENCH_PROJECT = UUID.fromString("550e8400-e29b-41d4-a716-4466554400be");
+
+    private BenchmarkDatabase database;
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private ProjectRepository projectRepository;
+    private UserRepository userRepository;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start();
+        // Arguments rather than builder properties, which application.properties would override
+        String[] args = Stream.concat(Stream.of(database.arguments()), Stream.of("--server.port=0",
+                "--management.server.port=-1", "--spring.main.banner-mode=off", "--logging.level.root=WARN",
+                "--logging.level.com.example.saas=WARN", "--warmup.enabled=false", "--reactive.reads.enabled=false"))
+                .toArray(String[]::new);
+        context = new SpringApplicationBuilder(MultiTenantSaasApplication.class).run(args);
+        taskRepository = context.getBean(TaskRepository.class);
+        projectRepository = context.getBean(ProjectRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+        database.close();
+    }
+
+    // GET /api/projects/{id}/tasks: a 100-row page and its count query
+    @Benchmark
+    public Page<Task> taskPage() {
+        return readOnly.execute(status -> taskRepository.findByProjectIdAndTenantId(BENCH_PROJECT, DEMO_TENANT,
+                PageRequest.of(0, 100)));
+    }
+
+    // The same page with the lazy assignees loaded, as buildTaskResponse does
+    @Benchmark
+    public int taskPageWithAssignees() {
+        return readOnly.execute(status -> {
+            int named = 0;
+            for (Task task : taskRepository.findByProjectIdAndTenantId(BENCH_PROJECT, DEMO_TENANT,
+                    PageRequest.of(0, 100))) {
+                if (task.getAssignedTo() != null && task.getAssignedTo().getFullName() != null) {
+                    named++;
+                }
+            }
+            return named;
+        });
+    }
+
+    // GET /api/projects
+    @Benchmark
+    public Page<Project> projectPage() {
+        return readOnly.execute(status -> projectRepository.findByTenantIdAndDeletionRequestedAtIsNull(DEMO_TENANT,
+                PageRequest.of(0, 20)));
+    }
+
+    // POST /api/auth/login
+    @Benchmark
+    public Optional<User> userByEmail() {
+        return readOnly.execute(status -> userRepository.findByEmailAndTenantId("admin@demo.com", DEMO_TENANT));
+    }
+
+    @Benchmark
+    public long countTasks() {
+        return taskRepository.countByProjectId(BENCH_PROJECT);
+    }
+
+    static void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO projects (id, tenant_id, name, description, status, created_by) "
+                + "VALUES (?, ?, 'Benchmark', 'Tasks for repository benchmarks', 1, ?) ON CONFLICT (id) DO NOTHING",
+                BENCH_PROJECT, DEMO_TENANT, DEMO_ADMIN);
+        Integer existing = jdbcTemplate.queryForObject("SELECT count(*)::int FROM tasks WHERE project_id = ?",
+                Integer.class, BENCH_PROJECT);
+        if (existing >= TASK_COUNT) {
+            return;
+        }
+        // Assigned round-robin to the seeded demo users, a quarter left unassigned
+        jdbcTemplate.update("INSERT INTO tasks (id, project_id, tenant_id, title, description, status, priority, "
+                + "assigned_to, due_date) "
+                + "SELECT gen_random_uuid(), ?, ?, 'Benchmark task ' || i, 'Description of benchmark task ' || i, "
+                + "1 + i % 3, 1 + i % 3, "
+                + "CASE WHEN i % 4 = 0 THEN NULL "
+                + "ELSE (SELECT id FROM users WHERE tenant_id = ? ORDER BY email OFFSET i % 3 LIMIT 1) END, "
+                + "current_date + i % 60 "
+                + "FROM generate_series(1, ?) i",
+                BENCH_PROJECT, DEMO_TENANT, DEMO_TENANT, TASK_COUNT - existing);
+    }
+}
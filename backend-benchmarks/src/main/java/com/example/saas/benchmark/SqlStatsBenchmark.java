@@ -0,0 +1,96 @@
+package com.example.saas.benchmark;
+
+import com.example.saas.MultiTenantSaasApplication;
+import com.example.saas.model.Task;
+import com.example.saas.repository.TaskRepository;
+import com.example.saas.util.RequestSqlStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cost of sql.stats.enabled: the JDK proxies SqlStatsConfig puts around every connection and,
+ * inside a counted request, every statement
+ * Each benchmark runs as a request would, between RequestSqlStats.begin and end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqlStatsBenchmark {
+
+    @Param({"false", "true"})
+    public boolean sqlStats;
+
+    private BenchmarkDatabase database;
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TaskRepository taskRepository;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start();
+        String[] args = Stream.concat(Stream.of(database.arguments()), Stream.of("--server.port=0",
+                "--management.server.port=-1", "--spring.main.banner-mode=off", "--logging.level.root=WARN",
+                "--logging.level.com.example.saas=WARN", "--warmup.enabled=false", "--reactive.reads.enabled=false",
+                "--sql.stats.enabled=" + sqlStats))
+                .toArray(String[]::new);
+        context = new SpringApplicationBuilder(MultiTenantSaasApplication.class).run(args);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        RepositoryBenchmark.seed(jdbcTemplate);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+        database.close();
+    }
+
+    // The smallest round trip, where the proxies are the largest share
+    @Benchmark
+    public Integer selectOne() {
+        RequestSqlStats.begin(20);
+        try {
+            return jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        } finally {
+            RequestSqlStats.end();
+        }
+    }
+
+    // GET /api/projects/{id}/tasks: a 100-row page and its count query through Hibernate
+    @Benchmark
+    public Page<Task> taskPage() {
+        RequestSqlStats.begin(20);
+        try {
+            return readOnly.execute(status -> taskRepository.findByProjectIdAndTenantId(
+                    RepositoryBenchmark.BENCH_PROJECT, RepositoryBenchmark.DEMO_TENANT, PageRequest.of(0, 100)));
+        } finally {
+            RequestSqlStats.end();
+        }
+    }
+}
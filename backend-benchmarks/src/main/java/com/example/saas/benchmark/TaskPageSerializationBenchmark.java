@@ -0,0 +1,134 @@
+package com.example.saas.benchmark;
+
+import com.example.saas.model.Project;
+import com.example.saas.model.Task;
+import com.example.saas.model.User;
+import com.example.saas.util.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full 100-row page of GET /api/projects/{id}/tasks: entities to response maps, then to JSON
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskPageSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private ObjectMapper objectMapper;
+    private List<Task> tasks;
+    private Map<String, Object> page;
+
+    @Setup
+    public void setUp() {
+        // Boot's defaults: Jackson2ObjectMapperBuilder with ISO dates instead of timestamps
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        Project project = new Project();
+        project.setId(UUID.randomUUID());
+        List<User> assignees = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            User user = new User();
+            user.setId(UUID.randomUUID());
+            user.setFullName("Benchmark User " + i);
+            user.setEmail("user" + i + "@bench.example.com");
+            assignees.add(user);
+        }
+
+        tasks = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Task task = new Task();
+            task.setId(UUID.randomUUID());
+            task.setProject(project);
+            task.setTitle("Benchmark task " + i);
+            task.setDescription("Description of benchmark task " + i + " with a sentence or two of text");
+            task.setStatus(Task.TaskStatus.values()[i % 3]);
+            task.setPriority(Task.TaskPriority.values()[i % 3]);
+            task.setAssignedTo(i % 4 == 0 ? null : assignees.get(i % assignees.size()));
+            task.setDueDate(LocalDate.now().plusDays(i));
+            task.setCreatedAt(LocalDateTime.now().minusDays(i));
+            task.setUpdatedAt(LocalDateTime.now());
+            task.setVersion((long) i);
+            tasks.add(task);
+        }
+        page = buildPage(tasks);
+    }
+
+    @Benchmark
+    public Map<String, Object> buildResponse() {
+        return buildPage(tasks);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.ok(page));
+    }
+
+    @Benchmark
+    public byte[] buildAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.ok(buildPage(tasks)));
+    }
+
+    // Mirrors TaskController.listTasks and buildTaskResponse
+    private static Map<String, Object> buildPage(List<Task> tasks) {
+        List<Map<String, Object>> taskList = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("id", task.getId());
+            data.put("projectId", task.getProject().getId());
+            data.put("title", task.getTitle());
+            data.put("description", task.getDescription());
+            data.put("status", task.getStatus());
+            data.put("priority", task.getPriority());
+            data.put("dueDate", task.getDueDate() != null ? task.getDueDate().toString() : null);
+            if (task.getAssignedTo() != null) {
+                Map<String, Object> assignee = new HashMap<>();
+                assignee.put("id", task.getAssignedTo().getId());
+                assignee.put("fullName", task.getAssignedTo().getFullName());
+                assignee.put("email", task.getAssignedTo().getEmail());
+                data.put("assignedTo", assignee);
+            }
+            data.put("createdAt", task.getCreatedAt());
+            data.put("updatedAt", task.getUpdatedAt());
+            data.put("version", task.getVersion());
+            taskList.add(data);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("tasks", taskList);
+        response.put("total", 1000L);
+        Map<String, Object> pagination = new HashMap<>();
+        pagination.put("currentPage", 1);
+        pagination.put("totalPages", 10);
+        pagination.put("limit", PAGE_SIZE);
+        response.put("pagination", pagination);
+        return response;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.saas.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Bounded executor for async MVC work: streamed exports and imports (StreamingResponseBody)
+ * and the writes of reactive NDJSON responses
+ * Boot's applicationTaskExecutor queues without limit, so a burst of exports would wait behind
+ * its 8 threads until the async timeout. When every thread is busy and the queue is full, this
+ * one rejects, and ApiExceptionHandler answers 503 with Retry-After.
+ */
+@Configuration
+public class AsyncExecutorConfig implements WebMvcConfigurer, DisposableBean {
+
+    // Not a bean: an Executor bean would replace applicationTaskExecutor for everything else too
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    public AsyncExecutorConfig(@Value("${async.executor.threads:16}") int threads,
+            @Value("${async.executor.queue-capacity:16}") int queueCapacity) {
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.initialize();
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
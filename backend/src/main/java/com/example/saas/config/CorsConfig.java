@@ -11,12 +11,16 @@ public class CorsConfig implements WebMvcConfigurer {
     @Value("${frontend.url}")
     private String frontendUrl;
 
+    @Value("${sql.stats.server-timing:false}")
+    private boolean serverTiming;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
                 .allowedOrigins(frontendUrl)
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(serverTiming ? new String[] {"ETag", "Server-Timing"} : new String[] {"ETag"})
                 .allowCredentials(true)
                 .maxAge(3600);
     }
@@ -0,0 +1,138 @@
+package com.example.saas.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps concurrent JDBC connections when requests run on virtual threads
+ * Without a thread pool in front, every request can reach Hikari at once; the pool then
+ * spends its time timing out waiters. A fair semaphore sized to the pool queues callers
+ * in order instead, and (unlike synchronized) waiting on it never pins a carrier thread.
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.concurrency-limit.enabled", havingValue = "true")
+public class DbConcurrencyLimitConfig {
+
+    @Bean
+    public static BeanPostProcessor dbConcurrencyLimiter(Environment environment) {
+        int permits = environment.getProperty("db.concurrency-limit.permits", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long timeoutMs = environment.getProperty("db.concurrency-limit.acquire-timeout-ms", Long.class,
+                environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30000L));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    return new ConcurrencyLimitedDataSource(dataSource, permits, timeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Hands out at most N connections at a time; the permit returns when the connection is closed
+     */
+    public static class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+        private final Semaphore permits;
+        private final long timeoutMs;
+
+        ConcurrencyLimitedDataSource(DataSource target, int permits, long timeoutMs) {
+            super(target);
+            this.permits = new Semaphore(permits, true);
+            this.timeoutMs = timeoutMs;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            acquire();
+            return limited(() -> super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            acquire();
+            return limited(() -> super.getConnection(username, password));
+        }
+
+        public int availablePermits() {
+            return permits.availablePermits();
+        }
+
+        public int queueLength() {
+            return permits.getQueueLength();
+        }
+
+        private void acquire() throws SQLException {
+            try {
+                if (!permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new SQLTransientConnectionException(
+                            "No database connection permit within " + timeoutMs + " ms");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted waiting for a database connection permit", e);
+            }
+        }
+
+        private Connection limited(ConnectionSupplier supplier) throws SQLException {
+            Connection connection;
+            try {
+                connection = supplier.get();
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+            AtomicBoolean released = new AtomicBoolean();
+            // ConnectionProxy lets Spring's DataSourceUtils see through to the pooled connection
+            return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                    new Class<?>[] {ConnectionProxy.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "getTargetConnection":
+                                return connection;
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "close":
+                                if (released.compareAndSet(false, true)) {
+                                    try {
+                                        connection.close();
+                                    } finally {
+                                        permits.release();
+                                    }
+                                }
+                                return null;
+                            default:
+                                break;
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+
+        @FunctionalInterface
+        private interface ConnectionSupplier {
+            Connection get() throws SQLException;
+        }
+    }
+}
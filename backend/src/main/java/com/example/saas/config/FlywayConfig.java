@@ -1,6 +1,10 @@
 package com.example.saas.config;
 
 import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,11 +12,40 @@
 @Configuration
 public class FlywayConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(FlywayConfig.class);
+
+    /**
+     * What Flyway does while the application starts
+     */
+    public enum StartupMode {
+        // Repair and migrate on every boot
+        MIGRATE,
+        // Read the schema history only; start when it is current and refuse to when a migration is pending,
+        // leaving migrations to a dedicated job (a MIGRATE run with -Dspring.context.exit=onRefresh)
+        VERIFY,
+        // Leave the database alone (CDS training runs, which have no database)
+        NONE
+    }
+
     @Bean
-    public FlywayMigrationStrategy flywayMigrationStrategy() {
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${flyway.startup-mode:MIGRATE}") StartupMode startupMode) {
         return (Flyway flyway) -> {
-            flyway.repair();
-            flyway.migrate();
+            switch (startupMode) {
+                case MIGRATE -> {
+                    flyway.repair();
+                    flyway.migrate();
+                }
+                case VERIFY -> {
+                    MigrationInfo[] pending = flyway.info().pending();
+                    if (pending.length > 0) {
+                        throw new IllegalStateException(pending.length + " pending migration(s), starting with V"
+                                + pending[0].getVersion() + "; run the migration job before starting this version");
+                    }
+                    log.info("Schema is current, skipping Flyway repair and migrate");
+                }
+                case NONE -> log.info("Flyway startup mode NONE, schema not checked");
+            }
         };
     }
-}
\ No newline at end of file
+}
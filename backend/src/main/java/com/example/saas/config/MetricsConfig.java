@@ -0,0 +1,58 @@
+package com.example.saas.config;
+
+import com.example.saas.util.TenantTagGuard;
+import com.example.saas.util.WarmupRequests;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+/**
+ * Micrometer setup beyond Boot's defaults (JVM, Hikari, Tomcat and http.server.requests)
+ * Every request timer also carries a tenant tag, folded through {@link TenantTagGuard} so a
+ * platform with thousands of tenants still produces a bounded number of series.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TenantTagGuard tenantTagGuard(@Value("${metrics.tenant-tag.max-tenants:100}") int maxTenants,
+            @Value("${metrics.tenant-tag.admit-after:50}") long admitAfter) {
+        return new TenantTagGuard(maxTenants, admitAfter);
+    }
+
+    @Bean
+    public WarmupRequests warmupRequests() {
+        return new WarmupRequests();
+    }
+
+    /**
+     * Boot's request observation with a tenant tag; keys are read when the request finishes,
+     * after JwtFilter has set the tenantId attribute
+     */
+    @Bean
+    public ServerRequestObservationConvention tenantServerRequestObservationConvention(TenantTagGuard tenantTagGuard,
+            WarmupRequests warmupRequests) {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                Object tenantId = context.getCarrier().getAttribute("tenantId");
+                // Warm-up requests use a random tenant, which must not take a slot
+                String tenant = warmupRequests.isWarmupRequest(context.getCarrier())
+                        ? TenantTagGuard.OTHER : tenantTagGuard.tag(tenantId != null ? tenantId.toString() : null);
+                return super.getLowCardinalityKeyValues(context).and("tenant", tenant);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder tenantTagMetrics(TenantTagGuard tenantTagGuard) {
+        return (MeterRegistry registry) -> registry.gauge("metrics.tenant.tags", tenantTagGuard,
+                TenantTagGuard::admittedCount);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.saas.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * R2DBC connection pool for the non-blocking read path
+ * The pool is deliberately not a ConnectionFactory bean: Spring Boot skips the JDBC DataSource
+ * whenever one exists, and the rest of the application runs on JDBC. Only the DatabaseClient
+ * over it is exposed.
+ */
+@Configuration
+@ConditionalOnProperty(name = "reactive.reads.enabled", havingValue = "true")
+public class R2dbcReadConfig {
+
+    private final ConnectionPool pool;
+
+    public R2dbcReadConfig(@Value("${reactive.reads.url}") String url,
+            @Value("${reactive.reads.username}") String username,
+            @Value("${reactive.reads.password}") String password,
+            @Value("${reactive.reads.pool.initial-size:2}") int initialSize,
+            @Value("${reactive.reads.pool.max-size:10}") int maxSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive-reads")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient readDatabaseClient() {
+        return DatabaseClient.create(pool);
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.dispose();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> data = new HashMap<>();
+        pool.getMetrics().ifPresent(metrics -> {
+            data.put("acquired", metrics.acquiredSize());
+            data.put("idle", metrics.idleSize());
+            data.put("pending", metrics.pendingAcquireSize());
+            data.put("maxSize", metrics.getMaxAllocatedSize());
+        });
+        return data;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.saas.config;
+
+import com.example.saas.service.AuditService;
+import com.example.saas.service.ChangeStream;
+import com.example.saas.service.DueDateReminders;
+import com.example.saas.service.StartupWarmup;
+import com.example.saas.service.TaskStatusWriteBehind;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * /actuator/runtime on the management port: internal queue, pool and buffer state
+ * Kept off the public /api/health, which only says whether the instance and its database are up.
+ */
+@Component
+@Endpoint(id = "runtime")
+public class RuntimeStatsEndpoint {
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final ObjectProvider<R2dbcReadConfig> r2dbcReadConfig;
+    private final TaskStatusWriteBehind taskStatusWriteBehind;
+    private final AuditService auditService;
+    private final ChangeStream changeStream;
+    private final DueDateReminders dueDateReminders;
+    private final StartupWarmup startupWarmup;
+
+    public RuntimeStatsEndpoint(ObjectProvider<DataSource> dataSource, ObjectProvider<R2dbcReadConfig> r2dbcReadConfig,
+            TaskStatusWriteBehind taskStatusWriteBehind, AuditService auditService, ChangeStream changeStream,
+            DueDateReminders dueDateReminders, StartupWarmup startupWarmup) {
+        this.dataSource = dataSource;
+        this.r2dbcReadConfig = r2dbcReadConfig;
+        this.taskStatusWriteBehind = taskStatusWriteBehind;
+        this.auditService = auditService;
+        this.changeStream = changeStream;
+        this.dueDateReminders = dueDateReminders;
+        this.startupWarmup = startupWarmup;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        Map<String, Object> response = new HashMap<>();
+        if (dataSource.getIfAvailable() instanceof DbConcurrencyLimitConfig.ConcurrencyLimitedDataSource limited) {
+            Map<String, Object> limiter = new HashMap<>();
+            limiter.put("availablePermits", limited.availablePermits());
+            limiter.put("queued", limited.queueLength());
+            response.put("dbConcurrencyLimit", limiter);
+        }
+
+        r2dbcReadConfig.ifAvailable(config -> response.put("reactiveReadPool", config.stats()));
+
+        if (taskStatusWriteBehind.isEnabled()) {
+            response.put("taskStatusWriteBehind", taskStatusWriteBehind.stats());
+        }
+
+        if (auditService.isEnabled()) {
+            response.put("audit", auditService.stats());
+        }
+
+        response.put("stream", changeStream.stats());
+
+        if (dueDateReminders.isEnabled()) {
+            response.put("dueDateReminders", dueDateReminders.stats());
+        }
+
+        if (startupWarmup.isEnabled()) {
+            response.put("warmup", startupWarmup.stats());
+        }
+        return response;
+    }
+}
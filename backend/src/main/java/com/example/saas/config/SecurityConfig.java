@@ -1,6 +1,8 @@
 package com.example.saas.config;
 
 import com.example.saas.filter.JwtFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -20,9 +22,11 @@
 public class SecurityConfig {
 
     private final JwtFilter jwtFilter;
+    private final int managementPort;
 
-    public SecurityConfig(JwtFilter jwtFilter) {
+    public SecurityConfig(JwtFilter jwtFilter, @Value("${management.server.port:-1}") int managementPort) {
         this.jwtFilter = jwtFilter;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -36,7 +40,11 @@ public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Streaming responses finish on an async dispatch; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/api/health").permitAll()
+                        // Actuator is open on its own port only, which is not exposed publicly; on the main port it needs a token
+                        .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort).permitAll()
                         .requestMatchers("/api/auth/login").permitAll()
                         .requestMatchers("/api/auth/register-tenant").permitAll()
                         .anyRequest().authenticated()
@@ -0,0 +1,165 @@
+package com.example.saas.config;
+
+import com.example.saas.filter.ServerTimingFilter;
+import com.example.saas.util.QueryBudget;
+import com.example.saas.util.RequestSqlStats;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Per-request SQL statement counting, optional Server-Timing headers and query budgets
+ * The DataSource is wrapped (like the concurrency limiter) so JPA, JdbcTemplate and raw JDBC
+ * statements are all counted. Statements are only wrapped while a request is being counted, so
+ * scheduled jobs and other background threads keep the plain driver objects.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.stats.enabled", havingValue = "true")
+public class SqlStatsConfig implements WebMvcConfigurer {
+
+    @Bean
+    public static BeanPostProcessor sqlStatementCounter() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${sql.query-budget.default:20}") int defaultBudget,
+            @Value("${sql.query-budget.repeat-threshold:10}") int repeatThreshold,
+            @Value("${sql.stats.server-timing:false}") boolean serverTiming) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(defaultBudget, repeatThreshold, serverTiming));
+        // Outside Spring Security, so total covers the whole request
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryBudgetInterceptor());
+    }
+
+    /**
+     * Applies the handler's {@link QueryBudget} to the request's {@link RequestSqlStats}
+     */
+    public static class QueryBudgetInterceptor implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            RequestSqlStats stats = RequestSqlStats.current();
+            if (stats != null && handler instanceof HandlerMethod method) {
+                QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), QueryBudget.class);
+                if (budget == null) {
+                    budget = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), QueryBudget.class);
+                }
+                if (budget != null) {
+                    stats.setBudget(budget.value());
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Hands out connections whose statements report to the request's {@link RequestSqlStats}
+     */
+    public static class StatementCountingDataSource extends DelegatingDataSource {
+
+        StatementCountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(super.getConnection(username, password));
+        }
+
+        private static Connection counting(Connection connection) {
+            // ConnectionProxy lets Spring's DataSourceUtils see through to the pooled connection
+            return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                    new Class<?>[] {ConnectionProxy.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "getTargetConnection":
+                                return connection;
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                break;
+                        }
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof Statement statement && RequestSqlStats.current() != null) {
+                            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                            return countingStatement(statement, sql);
+                        }
+                        return result;
+                    });
+        }
+
+        private static Statement countingStatement(Statement statement, String preparedSql) {
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return (Statement) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                    (proxy, method, args) -> {
+                        RequestSqlStats stats = RequestSqlStats.current();
+                        if (stats == null || !method.getName().startsWith("execute")) {
+                            return invoke(statement, method, args);
+                        }
+                        String sql = preparedSql != null ? preparedSql
+                                : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                        stats.beforeExecute(sql);
+                        long start = System.nanoTime();
+                        try {
+                            return invoke(statement, method, args);
+                        } finally {
+                            stats.afterExecute(System.nanoTime() - start);
+                        }
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.saas.controller;
+
+import com.example.saas.repository.TenantRepository;
+import com.example.saas.service.TaskThroughputRollup;
+import com.example.saas.util.ApiResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final TaskThroughputRollup throughputRollup;
+    private final TenantRepository tenantRepository;
+
+    public AnalyticsController(TaskThroughputRollup throughputRollup, TenantRepository tenantRepository) {
+        this.throughputRollup = throughputRollup;
+        this.tenantRepository = tenantRepository;
+    }
+
+    // Task throughput per day, week or month for burndown and velocity charts (reads rollups only)
+    @GetMapping("/throughput")
+    public ResponseEntity<?> getThroughput(@RequestAttribute("tenantId") String tenantId,
+            @RequestAttribute("role") String role,
+            @RequestParam(required = false) UUID tenantIdFilter,
+            @RequestParam(required = false) UUID projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") String granularity) {
+        TaskThroughputRollup.Granularity bucketSize;
+        try {
+            bucketSize = TaskThroughputRollup.Granularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Granularity must be DAY, WEEK or MONTH"));
+        }
+
+        LocalDate end = to != null ? to : LocalDate.now().plusDays(1);
+        LocalDate start = from != null ? from : end.minusDays(30);
+        // Non super admins only ever see their own tenant
+        UUID scopeTenantId = "SUPER_ADMIN".equals(role) ? tenantIdFilter : UUID.fromString(tenantId);
+        if (scopeTenantId != null && tenantRepository.findByIdAndDeletionRequestedAtIsNull(scopeTenantId).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("Tenant not found"));
+        }
+
+        List<Map<String, Object>> buckets;
+        try {
+            buckets = throughputRollup.buckets(scopeTenantId, projectId, start, end, bucketSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("granularity", bucketSize);
+        response.put("from", start);
+        response.put("to", end);
+        response.put("buckets", buckets);
+        return ResponseEntity.ok(ApiResponse.ok(response));
+    }
+}
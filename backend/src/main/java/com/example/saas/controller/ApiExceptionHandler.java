@@ -0,0 +1,59 @@
+package com.example.saas.controller;
+
+import com.example.saas.util.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.UUID;
+
+/**
+ * Maps framework exceptions onto the API's response conventions
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    // A malformed id can never match a row, so answer like any other unknown id
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<?> handleTypeMismatch(MethodArgumentTypeMismatchException e) {
+        if (UUID.class.equals(e.getRequiredType()) && e.getParameter().hasParameterAnnotation(PathVariable.class)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error("Invalid parameter: " + e.getName()));
+    }
+
+    // Lost a race on a @Version column between read and write
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleOptimisticLock(ObjectOptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error("Resource was modified by another request"));
+    }
+
+    // Streaming endpoints return ResponseEntity<StreamingResponseBody>, so they throw their error responses
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<?> handleResponseStatus(ResponseStatusException e) {
+        if (e.getReason() == null) {
+            return ResponseEntity.status(e.getStatusCode()).build();
+        }
+        return ResponseEntity.status(e.getStatusCode()).body(ApiResponse.error(e.getReason()));
+    }
+
+    // The async executor is full (see AsyncExecutorConfig)
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<?> handleTaskRejected(TaskRejectedException e, HttpServletResponse response) {
+        // Drop the status and headers (Content-Disposition, NDJSON type) the streaming handler already set
+        if (!response.isCommitted()) {
+            response.reset();
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(ApiResponse.error("Too many exports and imports in progress, try again shortly"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.saas.controller;
+
+import com.example.saas.service.AuditQueryService;
+import com.example.saas.util.ApiResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/audit")
+public class AuditController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final AuditQueryService auditQueryService;
+
+    public AuditController(AuditQueryService auditQueryService) {
+        this.auditQueryService = auditQueryService;
+    }
+
+    // Query audit entries, newest first, with keyset pagination
+    @GetMapping
+    public ResponseEntity<?> listAuditLogs(@RequestAttribute("tenantId") String tenantId,
+            @RequestAttribute("role") String role,
+            @RequestParam(required = false) UUID tenantIdFilter,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) UUID entityId,
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (!"SUPER_ADMIN".equals(role) && !"TENANT_ADMIN".equals(role)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
+        }
+
+        AuditQueryService.Filter filter = buildFilter(tenantId, role, tenantIdFilter, entityType, entityId, userId, from, to);
+        AuditQueryService.Page page;
+        try {
+            page = auditQueryService.query(filter, cursor, Math.max(1, Math.min(limit, 200)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("items", page.items());
+        response.put("nextCursor", page.nextCursor());
+        return ResponseEntity.ok(ApiResponse.ok(response));
+    }
+
+    // Export every matching entry as NDJSON, streamed straight from the database
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(@RequestAttribute("tenantId") String tenantId,
+            @RequestAttribute("role") String role,
+            @RequestParam(required = false) UUID tenantIdFilter,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) UUID entityId,
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!"SUPER_ADMIN".equals(role) && !"TENANT_ADMIN".equals(role)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Unauthorized");
+        }
+
+        AuditQueryService.Filter filter = buildFilter(tenantId, role, tenantIdFilter, entityType, entityId, userId, from, to);
+        StreamingResponseBody body = out -> auditQueryService.export(filter, out);
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-logs.ndjson\"")
+                .body(body);
+    }
+
+    // Tenant admins are always pinned to their own tenant
+    private AuditQueryService.Filter buildFilter(String tenantId, String role, UUID tenantIdFilter,
+            String entityType, UUID entityId, UUID userId, LocalDateTime from, LocalDateTime to) {
+        UUID scopeTenantId = "SUPER_ADMIN".equals(role) ? tenantIdFilter : UUID.fromString(tenantId);
+        return new AuditQueryService.Filter(scopeTenantId, entityType, entityId, userId, from, to);
+    }
+}
@@ -2,9 +2,11 @@
 
 import com.example.saas.model.Tenant;
 import com.example.saas.model.User;
-import com.example.saas.repository.AuditLogRepository;
 import com.example.saas.repository.TenantRepository;
 import com.example.saas.repository.UserRepository;
+import com.example.saas.service.ApiMetrics;
+import com.example.saas.service.AuditService;
+import com.example.saas.service.DashboardCounters;
 import com.example.saas.util.ApiResponse;
 import com.example.saas.util.JwtUtil;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -19,6 +21,7 @@
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -26,18 +29,22 @@ public class AuthController {
 
     private final TenantRepository tenantRepository;
     private final UserRepository userRepository;
-    private final AuditLogRepository auditLogRepository;
+    private final AuditService auditService;
+    private final DashboardCounters dashboardCounters;
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
+    private final ApiMetrics apiMetrics;
 
     public AuthController(TenantRepository tenantRepository, UserRepository userRepository,
-            AuditLogRepository auditLogRepository, JwtUtil jwtUtil,
-            PasswordEncoder passwordEncoder) {
+            AuditService auditService, DashboardCounters dashboardCounters, JwtUtil jwtUtil,
+            PasswordEncoder passwordEncoder, ApiMetrics apiMetrics) {
         this.tenantRepository = tenantRepository;
         this.userRepository = userRepository;
-        this.auditLogRepository = auditLogRepository;
+        this.auditService = auditService;
+        this.dashboardCounters = dashboardCounters;
         this.jwtUtil = jwtUtil;
         this.passwordEncoder = passwordEncoder;
+        this.apiMetrics = apiMetrics;
     }
 
     // Register Tenant
@@ -82,6 +89,9 @@ public ResponseEntity<?> registerTenant(@RequestBody RegisterTenantRequest reque
             adminUser.setRole(User.UserRole.TENANT_ADMIN);
             adminUser.setIsActive(true);
             User savedUser = userRepository.save(adminUser);
+            auditService.record("CREATE", "TENANT", savedTenant.getId(), savedTenant.getId(), savedUser.getId());
+            auditService.record("CREATE", "USER", savedUser.getId(), savedTenant.getId(), savedUser.getId());
+            dashboardCounters.userCreated(savedTenant.getId());
 
             // Response
             Map<String, Object> responseData = new HashMap<>();
@@ -114,56 +124,69 @@ public ResponseEntity<?> login(@RequestBody LoginRequest request) {
             // Get tenant
             Optional<Tenant> tenantOpt;
             if (request.tenantSubdomain != null && !request.tenantSubdomain.isBlank()) {
-                tenantOpt = tenantRepository.findBySubdomain(request.tenantSubdomain);
+                tenantOpt = tenantRepository.findBySubdomainAndDeletionRequestedAtIsNull(request.tenantSubdomain);
             } else {
                 // Allow login without subdomain; still enforce tenant status when present
                 Optional<User> userOpt = userRepository.findByEmail(request.email);
                 if (userOpt.isEmpty()) {
+                    apiMetrics.authFailure("invalid_credentials");
                     return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                             .body(ApiResponse.error("Invalid credentials"));
                 }
                 User user = userOpt.get();
                 if (!passwordEncoder.matches(request.password, user.getPasswordHash())) {
+                    apiMetrics.authFailure("invalid_credentials");
                     return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                             .body(ApiResponse.error("Invalid credentials"));
                 }
                 if (!user.getIsActive()) {
+                    apiMetrics.authFailure("account_inactive");
                     return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Account is inactive"));
                 }
-                if (user.getTenant() != null && user.getTenant().getStatus() != Tenant.TenantStatus.ACTIVE) {
+                if (user.getTenant() != null && (user.getTenant().getStatus() != Tenant.TenantStatus.ACTIVE
+                        || user.getTenant().getDeletionRequestedAt() != null)) {
+                    apiMetrics.authFailure("tenant_inactive");
                     return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Tenant is not active"));
                 }
 
-                String token = jwtUtil.generateToken(user.getId(),
-                        user.getTenant() != null ? user.getTenant().getId() : null, user.getRole().toString());
+                String token = jwtUtil.generateToken(user.getId().toString(),
+                        user.getTenant() != null ? user.getTenant().getId().toString() : null, user.getRole().toString());
+                auditService.record("LOGIN", "USER", user.getId(),
+                        user.getTenant() != null ? user.getTenant().getId() : null, user.getId());
                 return ResponseEntity.ok(buildLoginResponse(user, token));
             }
 
             if (tenantOpt.isEmpty()) {
+                apiMetrics.authFailure("tenant_not_found");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("Tenant not found"));
             }
 
             Tenant tenant = tenantOpt.get();
             if (tenant.getStatus() != Tenant.TenantStatus.ACTIVE) {
+                apiMetrics.authFailure("tenant_inactive");
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Tenant is not active"));
             }
 
             // Get user
             Optional<User> userOpt = userRepository.findByEmailAndTenantId(request.email, tenant.getId());
             if (userOpt.isEmpty()) {
+                apiMetrics.authFailure("invalid_credentials");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error("Invalid credentials"));
             }
 
             User user = userOpt.get();
             if (!passwordEncoder.matches(request.password, user.getPasswordHash())) {
+                apiMetrics.authFailure("invalid_credentials");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error("Invalid credentials"));
             }
 
             if (!user.getIsActive()) {
+                apiMetrics.authFailure("account_inactive");
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Account is inactive"));
             }
 
-            String token = jwtUtil.generateToken(user.getId(), tenant.getId(), user.getRole().toString());
+            String token = jwtUtil.generateToken(user.getId().toString(), tenant.getId().toString(), user.getRole().toString());
+            auditService.record("LOGIN", "USER", user.getId(), tenant.getId(), user.getId());
             return ResponseEntity.ok(buildLoginResponse(user, token));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -175,7 +198,7 @@ public ResponseEntity<?> login(@RequestBody LoginRequest request) {
     @GetMapping("/me")
     public ResponseEntity<?> getCurrentUser(@RequestAttribute("userId") String userId) {
         try {
-            Optional<User> userOpt = userRepository.findById(userId);
+            Optional<User> userOpt = userRepository.findById(UUID.fromString(userId));
             if (userOpt.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
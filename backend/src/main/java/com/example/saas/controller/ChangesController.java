@@ -0,0 +1,74 @@
+package com.example.saas.controller;
+
+import com.example.saas.repository.TenantRepository;
+import com.example.saas.service.ChangeFeedService;
+import com.example.saas.util.ApiResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangesController {
+
+    private final ChangeFeedService changeFeedService;
+    private final TenantRepository tenantRepository;
+
+    public ChangesController(ChangeFeedService changeFeedService, TenantRepository tenantRepository) {
+        this.changeFeedService = changeFeedService;
+        this.tenantRepository = tenantRepository;
+    }
+
+    /**
+     * Delta sync: tasks, projects and users changed after a cursor, plus tombstones for deletes
+     * Without since, only the current cursor is returned; clients take it before a full reload
+     * and then poll with it.
+     */
+    @GetMapping
+    public ResponseEntity<?> getChanges(@RequestAttribute("tenantId") String tenantId,
+            @RequestAttribute("role") String role,
+            @RequestParam(required = false) UUID tenantIdFilter,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        UUID scopeTenantId = "SUPER_ADMIN".equals(role) ? tenantIdFilter : UUID.fromString(tenantId);
+        if (scopeTenantId == null) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Tenant id is required"));
+        }
+        if (tenantRepository.findByIdAndDeletionRequestedAtIsNull(scopeTenantId).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("Tenant not found"));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        if (since == null || since.isBlank()) {
+            response.put("cursor", Long.toString(changeFeedService.currentCursor(scopeTenantId)));
+            return ResponseEntity.ok(ApiResponse.ok(response));
+        }
+
+        ChangeFeedService.Cursor sinceCursor;
+        try {
+            sinceCursor = ChangeFeedService.Cursor.parse(since);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Invalid cursor"));
+        }
+
+        Optional<ChangeFeedService.Page> page = changeFeedService.changesSince(scopeTenantId, sinceCursor,
+                Math.max(1, Math.min(limit, 5000)));
+        if (page.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.GONE)
+                    .body(ApiResponse.error("Cursor is too old, reload everything and start from a new cursor"));
+        }
+
+        response.put("cursor", page.get().cursor());
+        response.put("hasMore", page.get().hasMore());
+        response.put("tasks", page.get().tasks());
+        response.put("projects", page.get().projects());
+        response.put("users", page.get().users());
+        response.put("deleted", page.get().deleted());
+        return ResponseEntity.ok(ApiResponse.ok(response));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.saas.controller;
+
+import com.example.saas.service.DashboardCounters;
+import com.example.saas.util.ApiResponse;
+import com.example.saas.util.QueryBudget;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardCounters dashboardCounters;
+
+    public DashboardController(DashboardCounters dashboardCounters) {
+        this.dashboardCounters = dashboardCounters;
+    }
+
+    // Dashboard counts, served from memory without querying the database
+    @QueryBudget(0)
+    @GetMapping
+    public ResponseEntity<?> getDashboard(@RequestAttribute("tenantId") String tenantId,
+            @RequestAttribute("role") String role,
+            @RequestParam(required = false) UUID tenantIdFilter) {
+        if ("SUPER_ADMIN".equals(role)) {
+            return ResponseEntity.ok(ApiResponse.ok(tenantIdFilter != null
+                    ? dashboardCounters.tenantSummary(tenantIdFilter)
+                    : dashboardCounters.platformSummary()));
+        }
+        return ResponseEntity.ok(ApiResponse.ok(dashboardCounters.tenantSummary(UUID.fromString(tenantId))));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.saas.controller;
+
+import com.example.saas.service.DeletionJobService;
+import com.example.saas.util.ApiResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/deletion-jobs")
+public class DeletionJobController {
+
+    private final DeletionJobService deletionJobService;
+
+    public DeletionJobController(DeletionJobService deletionJobService) {
+        this.deletionJobService = deletionJobService;
+    }
+
+    /**
+     * Progress of a project or tenant deletion, as returned by the DELETE that started it
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable UUID jobId,
+            @RequestAttribute("tenantId") String tenantId,
+            @RequestAttribute("role") String role) {
+        Optional<DeletionJobService.Job> job = deletionJobService.find(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // Tenant admins can follow their own project deletions; tenant deletions are for super admins
+        boolean ownProject = "TENANT_ADMIN".equals(role) && job.get().kind() == DeletionJobService.Kind.PROJECT
+                && job.get().tenantId().toString().equals(tenantId);
+        if (!"SUPER_ADMIN".equals(role) && !ownProject) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
+        }
+
+        return ResponseEntity.ok(ApiResponse.ok(job.get().toMap()));
+    }
+}
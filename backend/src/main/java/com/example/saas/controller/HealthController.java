@@ -2,6 +2,9 @@
 
 import com.example.saas.util.ApiResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -12,6 +15,9 @@
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Public liveness and readiness check; internal state is on the management port (RuntimeStatsEndpoint)
+ */
 @RestController
 @RequestMapping("/api")
 public class HealthController {
@@ -19,12 +25,17 @@ public class HealthController {
     @Autowired(required = false)
     private DataSource dataSource;
 
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
     @GetMapping("/health")
     public ResponseEntity<?> health() {
         Map<String, Object> response = new HashMap<>();
-        response.put("status", "ok");
+        // Not ready while the startup warm-up runs or once shutdown has begun; load balancers see a 503
+        boolean ready = applicationAvailability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC;
+        response.put("status", ready ? "ok" : "not_ready");
 
-        // Check database connection
+        // Check database connection; the error itself is not shown to unauthenticated callers
         try {
             if (dataSource != null) {
                 try (Connection conn = dataSource.getConnection()) {
@@ -39,10 +50,11 @@ public ResponseEntity<?> health() {
             }
         } catch (Exception e) {
             response.put("database", "disconnected");
-            response.put("databaseError", e.getMessage());
         }
 
-        response.put("timestamp", System.currentTimeMillis());
+        if (!ready) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ApiResponse<>(false, "Not ready", response));
+        }
         return ResponseEntity.ok(ApiResponse.ok(response));
     }
 }
@@ -8,14 +8,24 @@
 import com.example.saas.repository.TaskRepository;
 import com.example.saas.repository.TenantRepository;
 import com.example.saas.repository.UserRepository;
+import com.example.saas.service.ApiMetrics;
+import com.example.saas.service.AuditService;
+import com.example.saas.service.ChangeStampService;
+import com.example.saas.service.ChangeStream;
+import com.example.saas.service.DashboardCounters;
+import com.example.saas.service.DeletionJobService;
+import com.example.saas.service.TaskThroughputRollup;
 import com.example.saas.util.ApiResponse;
+import com.example.saas.util.Etags;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -27,13 +37,29 @@ public class ProjectController {
     private final TenantRepository tenantRepository;
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
+    private final ChangeStampService changeStampService;
+    private final AuditService auditService;
+    private final DashboardCounters dashboardCounters;
+    private final TaskThroughputRollup throughputRollup;
+    private final ChangeStream changeStream;
+    private final DeletionJobService deletionJobService;
+    private final ApiMetrics apiMetrics;
 
     public ProjectController(ProjectRepository projectRepository, TenantRepository tenantRepository,
-            UserRepository userRepository, TaskRepository taskRepository) {
+            UserRepository userRepository, TaskRepository taskRepository, ChangeStampService changeStampService,
+            AuditService auditService, DashboardCounters dashboardCounters, TaskThroughputRollup throughputRollup,
+            ChangeStream changeStream, DeletionJobService deletionJobService, ApiMetrics apiMetrics) {
         this.projectRepository = projectRepository;
         this.tenantRepository = tenantRepository;
         this.userRepository = userRepository;
         this.taskRepository = taskRepository;
+        this.changeStampService = changeStampService;
+        this.auditService = auditService;
+        this.dashboardCounters = dashboardCounters;
+        this.throughputRollup = throughputRollup;
+        this.changeStream = changeStream;
+        this.deletionJobService = deletionJobService;
+        this.apiMetrics = apiMetrics;
     }
 
     /**
@@ -50,8 +76,8 @@ public ResponseEntity<?> createProject(@RequestBody CreateProjectRequest request
             @RequestAttribute("tenantId") String tenantId,
             @RequestAttribute("userId") String userId,
             @RequestAttribute("role") String role) {
-        String targetTenantId = tenantId;
-        if ("SUPER_ADMIN".equals(role) && request.tenantId != null && !request.tenantId.isBlank()) {
+        UUID targetTenantId = tenantId.isBlank() ? null : UUID.fromString(tenantId);
+        if ("SUPER_ADMIN".equals(role) && request.tenantId != null) {
             targetTenantId = request.tenantId;
         }
 
@@ -59,11 +85,11 @@ public ResponseEntity<?> createProject(@RequestBody CreateProjectRequest request
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
-        if (targetTenantId == null || targetTenantId.isBlank()) {
+        if (targetTenantId == null) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error("Tenant id is required"));
         }
 
-        Optional<Tenant> tenantOpt = tenantRepository.findById(targetTenantId);
+        Optional<Tenant> tenantOpt = tenantRepository.findByIdAndDeletionRequestedAtIsNull(targetTenantId);
         if (tenantOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
@@ -71,12 +97,13 @@ public ResponseEntity<?> createProject(@RequestBody CreateProjectRequest request
         Tenant tenant = tenantOpt.get();
 
         // Check project limit
-        long projectCount = projectRepository.countByTenantId(targetTenantId);
+        long projectCount = projectRepository.countByTenantIdAndDeletionRequestedAtIsNull(targetTenantId);
         if (projectCount >= tenant.getMaxProjects()) {
+            apiMetrics.quotaRejected("projects", targetTenantId);
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Project limit reached"));
         }
 
-        Optional<User> userOpt = userRepository.findById(userId);
+        Optional<User> userOpt = userRepository.findById(UUID.fromString(userId));
         Project project = new Project();
         project.setTenant(tenant);
         project.setName(request.name);
@@ -85,60 +112,76 @@ public ResponseEntity<?> createProject(@RequestBody CreateProjectRequest request
         project.setCreatedBy(userOpt.orElse(null));
 
         Project saved = projectRepository.save(project);
+        auditService.record("CREATE", "PROJECT", saved.getId(), tenant.getId());
+        dashboardCounters.projectCreated(tenant.getId(), saved.getId(), saved.getStatus());
+        Map<String, Object> data = buildProjectResponse(saved);
+        changeStream.publish(tenant.getId(), "project.created", data);
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.ok("Project created", buildProjectResponse(saved)));
+                .body(ApiResponse.ok("Project created", data));
     }
 
     // List projects
     @GetMapping
     public ResponseEntity<?> listProjects(@RequestAttribute("tenantId") String tenantId,
             @RequestAttribute("role") String role,
-            @RequestParam(required = false) String tenantIdFilter,
+            @RequestParam(required = false) UUID tenantIdFilter,
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "20") int limit) {
-        Pageable pageable = PageRequest.of(page - 1, Math.min(limit, 100));
-        Page<Project> projects;
-        if ("SUPER_ADMIN".equals(role)) {
-            String effectiveTenant = (tenantIdFilter != null && !tenantIdFilter.isBlank()) ? tenantIdFilter : null;
-            projects = (effectiveTenant != null)
-                    ? projectRepository.findByTenantId(effectiveTenant, pageable)
-                    : projectRepository.findAll(pageable);
-        } else {
-            projects = projectRepository.findByTenantId(tenantId, pageable);
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest webRequest) {
+        // Tenant-scoped listings can be revalidated against the tenant's change stamp
+        UUID scopeTenantId = "SUPER_ADMIN".equals(role) ? tenantIdFilter : UUID.fromString(tenantId);
+        if (scopeTenantId != null && webRequest.checkNotModified(changeStampService.tenantEtag(scopeTenantId))) {
+            return null;
         }
 
+        Pageable pageable = PageRequest.of(page - 1, Math.min(limit, 100));
+        Page<Project> projects = (scopeTenantId != null)
+                ? projectRepository.findByTenantIdAndDeletionRequestedAtIsNull(scopeTenantId, pageable)
+                : projectRepository.findByDeletionRequestedAtIsNull(pageable);
+
+        Map<UUID, Long> taskCounts = taskCounts(projects.getContent());
         List<Map<String, Object>> projectList = projects.getContent().stream()
-                .map(this::buildProjectResponse)
+                .map(project -> buildProjectResponse(project, taskCounts.getOrDefault(project.getId(), 0L)))
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(ApiResponse.ok(projectList));
+        return ResponseEntity.ok().cacheControl(Etags.REVALIDATE).body(ApiResponse.ok(projectList));
     }
 
     // Get project
     @GetMapping("/{projectId}")
-    public ResponseEntity<?> getProject(@PathVariable String projectId,
+    public ResponseEntity<?> getProject(@PathVariable UUID projectId,
             @RequestAttribute("tenantId") String tenantId,
-            @RequestAttribute("role") String role) {
-        Optional<Project> projectOpt = projectRepository.findById(projectId);
-        if (projectOpt.isEmpty()) {
+            @RequestAttribute("role") String role,
+            WebRequest webRequest) {
+        Optional<ChangeStampService.Stamp> stamp = changeStampService.projectStamp(projectId);
+        if (stamp.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
-        Project project = projectOpt.get();
-        if (!"SUPER_ADMIN".equals(role) && !project.getTenant().getId().equals(tenantId)) {
+        if (!"SUPER_ADMIN".equals(role) && !stamp.get().tenantId().toString().equals(tenantId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
-        return ResponseEntity.ok(ApiResponse.ok(buildProjectResponse(project)));
+        if (webRequest.checkNotModified(stamp.get().etag())) {
+            return null;
+        }
+
+        Optional<Project> projectOpt = projectRepository.findByIdAndDeletionRequestedAtIsNull(projectId);
+        if (projectOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok().cacheControl(Etags.REVALIDATE).body(ApiResponse.ok(buildProjectResponse(projectOpt.get())));
     }
 
     // Update project
     @PutMapping("/{projectId}")
-    public ResponseEntity<?> updateProject(@PathVariable String projectId,
+    public ResponseEntity<?> updateProject(@PathVariable UUID projectId,
             @RequestBody UpdateProjectRequest request,
             @RequestAttribute("tenantId") String tenantId,
-            @RequestAttribute("role") String role) {
-        Optional<Project> projectOpt = projectRepository.findById(projectId);
+            @RequestAttribute("role") String role,
+            WebRequest webRequest) {
+        Optional<Project> projectOpt = projectRepository.findByIdAndDeletionRequestedAtIsNull(projectId);
         if (projectOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
@@ -146,10 +189,16 @@ public ResponseEntity<?> updateProject(@PathVariable String projectId,
         Project project = projectOpt.get();
         // Authorization: only tenant_admin and super_admin can update projects
         if (!"SUPER_ADMIN".equals(role)
-                && !("TENANT_ADMIN".equals(role) && project.getTenant().getId().equals(tenantId))) {
+                && !("TENANT_ADMIN".equals(role) && project.getTenant().getId().toString().equals(tenantId))) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
+        if (Etags.isConditional(webRequest) && webRequest.checkNotModified(
+                changeStampService.projectStamp(projectId).map(ChangeStampService.Stamp::etag).orElse(""))) {
+            return null;
+        }
+
+        Project.ProjectStatus previousStatus = project.getStatus();
         if (request.name != null)
             project.setName(request.name);
         if (request.description != null)
@@ -158,15 +207,21 @@ public ResponseEntity<?> updateProject(@PathVariable String projectId,
             project.setStatus(Project.ProjectStatus.valueOf(request.status));
 
         Project updated = projectRepository.save(project);
-        return ResponseEntity.ok(ApiResponse.ok("Project updated", buildProjectResponse(updated)));
+        auditService.record("UPDATE", "PROJECT", projectId, project.getTenant().getId());
+        dashboardCounters.projectStatusChanged(project.getTenant().getId(), previousStatus, updated.getStatus());
+        Map<String, Object> data = buildProjectResponse(updated);
+        changeStream.publish(project.getTenant().getId(), "project.updated", data);
+        return ResponseEntity.ok(ApiResponse.ok("Project updated", data));
     }
 
-    // Delete project
+    // Delete project: hidden at once, its tasks are purged in the background (see DeletionJobService)
     @DeleteMapping("/{projectId}")
-    public ResponseEntity<?> deleteProject(@PathVariable String projectId,
+    public ResponseEntity<?> deleteProject(@PathVariable UUID projectId,
             @RequestAttribute("tenantId") String tenantId,
-            @RequestAttribute("role") String role) {
-        Optional<Project> projectOpt = projectRepository.findById(projectId);
+            @RequestAttribute("userId") String userId,
+            @RequestAttribute("role") String role,
+            WebRequest webRequest) {
+        Optional<Project> projectOpt = projectRepository.findByIdAndDeletionRequestedAtIsNull(projectId);
         if (projectOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
@@ -174,15 +229,43 @@ public ResponseEntity<?> deleteProject(@PathVariable String projectId,
         Project project = projectOpt.get();
         // Authorization: only tenant_admin and super_admin can delete projects
         if (!"SUPER_ADMIN".equals(role)
-                && !("TENANT_ADMIN".equals(role) && project.getTenant().getId().equals(tenantId))) {
+                && !("TENANT_ADMIN".equals(role) && project.getTenant().getId().toString().equals(tenantId))) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
-        projectRepository.delete(project);
-        return ResponseEntity.ok(ApiResponse.ok("Project deleted", null));
+        if (Etags.isConditional(webRequest) && webRequest.checkNotModified(
+                changeStampService.projectStamp(projectId).map(ChangeStampService.Stamp::etag).orElse(""))) {
+            return null;
+        }
+
+        throughputRollup.beforeProjectDeleted(project.getTenant().getId(), projectId);
+        DeletionJobService.Job job = deletionJobService.requestProjectDeletion(
+                project.getTenant().getId(), projectId, UUID.fromString(userId));
+        auditService.record("DELETE", "PROJECT", projectId, project.getTenant().getId());
+        dashboardCounters.projectDeleted(project.getTenant().getId(), projectId, project.getStatus());
+        changeStream.publish(project.getTenant().getId(), "project.deleted", Map.of("id", projectId));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/deletion-jobs/" + job.id()))
+                .body(ApiResponse.ok("Project deletion scheduled", job.toMap()));
     }
 
     private Map<String, Object> buildProjectResponse(Project project) {
+        return buildProjectResponse(project, taskCounts(List.of(project)).getOrDefault(project.getId(), 0L));
+    }
+
+    // One grouped count for a whole page instead of a count query per project
+    private Map<UUID, Long> taskCounts(List<Project> projects) {
+        if (projects.isEmpty()) {
+            return Map.of();
+        }
+        Set<UUID> tenantIds = projects.stream().map(project -> project.getTenant().getId()).collect(Collectors.toSet());
+        List<UUID> projectIds = projects.stream().map(Project::getId).toList();
+        return taskRepository.countByProjects(tenantIds, projectIds).stream()
+                .collect(Collectors.toMap(TaskRepository.ProjectTaskCount::getProjectId,
+                        TaskRepository.ProjectTaskCount::getTaskCount));
+    }
+
+    private Map<String, Object> buildProjectResponse(Project project, long taskCount) {
         Map<String, Object> data = new HashMap<>();
         data.put("id", project.getId());
         data.put("tenantId", project.getTenant().getId());
@@ -197,7 +280,7 @@ private Map<String, Object> buildProjectResponse(Project project) {
             data.put("createdBy", creator);
         }
 
-        data.put("taskCount", taskRepository.countByProjectId(project.getId()));
+        data.put("taskCount", taskCount);
         data.put("createdAt", project.getCreatedAt());
 
         return data;
@@ -206,12 +289,12 @@ private Map<String, Object> buildProjectResponse(Project project) {
     public static class CreateProjectRequest {
         private String name;
         private String description;
-        private String tenantId;
+        private UUID tenantId;
 
         public CreateProjectRequest() {
         }
 
-        public CreateProjectRequest(String name, String description, String tenantId) {
+        public CreateProjectRequest(String name, String description, UUID tenantId) {
             this.name = name;
             this.description = description;
             this.tenantId = tenantId;
@@ -233,11 +316,11 @@ public void setDescription(String description) {
             this.description = description;
         }
 
-        public String getTenantId() {
+        public UUID getTenantId() {
             return tenantId;
         }
 
-        public void setTenantId(String tenantId) {
+        public void setTenantId(UUID tenantId) {
             this.tenantId = tenantId;
         }
     }
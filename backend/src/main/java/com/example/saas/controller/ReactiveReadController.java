@@ -0,0 +1,233 @@
+package com.example.saas.controller;
+
+import com.example.saas.repository.ReactiveReadRepository;
+import com.example.saas.service.ChangeStampService;
+import com.example.saas.service.TaskStatusWriteBehind;
+import com.example.saas.util.ApiResponse;
+import com.example.saas.util.Etags;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Non-blocking versions of the read-heavy list endpoints, beside the MVC ones
+ * Handlers return Mono/Flux over R2DBC, so the servlet thread goes back to the pool as soon
+ * as the query is sent and no JDBC connection is held while waiting. Requests still pass
+ * through JwtFilter and see the same claims and authorization rules as /api/projects,
+ * /api/projects/{id}/tasks and /api/users. With Accept: application/x-ndjson, rows are
+ * written one per line as they arrive instead of being collected into one JSON document;
+ * MVC hands those writes to the async task executor, off the R2DBC event loop.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+@ConditionalOnProperty(name = "reactive.reads.enabled", havingValue = "true")
+public class ReactiveReadController {
+
+    // NDJSON responses are not buffered, so they may page further than the JSON ones
+    private static final int MAX_STREAM_LIMIT = 5000;
+
+    private final ReactiveReadRepository readRepository;
+    private final TaskStatusWriteBehind statusWriteBehind;
+
+    public ReactiveReadController(ReactiveReadRepository readRepository, TaskStatusWriteBehind statusWriteBehind) {
+        this.readRepository = readRepository;
+        this.statusWriteBehind = statusWriteBehind;
+    }
+
+    // List projects
+    @GetMapping("/projects")
+    public Mono<ResponseEntity<?>> listProjects(@RequestAttribute("tenantId") String tenantId,
+            @RequestAttribute("role") String role,
+            @RequestParam(required = false) UUID tenantIdFilter,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        UUID scopeTenantId = "SUPER_ADMIN".equals(role) ? tenantIdFilter : UUID.fromString(tenantId);
+        int pageSize = pageSize(limit, 100);
+        Flux<Map<String, Object>> projects = readRepository.findProjects(scopeTenantId, offset(page, pageSize), pageSize);
+        if (scopeTenantId == null) {
+            return projects.collectList().map(list -> ResponseEntity.ok(ApiResponse.ok(list)));
+        }
+        return readRepository.tenantEtag(scopeTenantId).flatMap(etag -> notModified(ifNoneMatch, etag)
+                ? Mono.just(notModifiedResponse(etag))
+                : projects.collectList().map(list -> revalidated(etag).body(ApiResponse.ok(list))));
+    }
+
+    @GetMapping(value = "/projects", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<Map<String, Object>>>> streamProjects(@RequestAttribute("tenantId") String tenantId,
+            @RequestAttribute("role") String role,
+            @RequestParam(required = false) UUID tenantIdFilter,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int limit) {
+        UUID scopeTenantId = "SUPER_ADMIN".equals(role) ? tenantIdFilter : UUID.fromString(tenantId);
+        int pageSize = pageSize(limit, MAX_STREAM_LIMIT);
+        return Mono.just(ResponseEntity.ok()
+                .body(readRepository.findProjects(scopeTenantId, offset(page, pageSize), pageSize)));
+    }
+
+    // Get project
+    @GetMapping("/projects/{projectId}")
+    public Mono<ResponseEntity<?>> getProject(@PathVariable UUID projectId,
+            @RequestAttribute("tenantId") String tenantId,
+            @RequestAttribute("role") String role,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return authorizedStamp(projectId, tenantId, role, stamp -> {
+            if (notModified(ifNoneMatch, stamp.etag())) {
+                return Mono.just(notModifiedResponse(stamp.etag()));
+            }
+            return readRepository.findProject(projectId)
+                    .<ResponseEntity<?>>map(project -> revalidated(stamp.etag()).body(ApiResponse.ok(project)))
+                    .defaultIfEmpty(ResponseEntity.notFound().build());
+        });
+    }
+
+    // List project tasks
+    @GetMapping("/projects/{projectId}/tasks")
+    public Mono<ResponseEntity<?>> listTasks(@PathVariable UUID projectId,
+            @RequestAttribute("tenantId") String tenantId,
+            @RequestAttribute("role") String role,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return authorizedStamp(projectId, tenantId, role, stamp -> {
+            // Buffered status changes are not in the stamp yet, so skip revalidation until they flush
+            if (!statusWriteBehind.hasPending(projectId) && notModified(ifNoneMatch, stamp.etag())) {
+                return Mono.just(notModifiedResponse(stamp.etag()));
+            }
+            int pageSize = pageSize(limit, 100);
+            return Mono.zip(tasks(projectId, offset(page, pageSize), pageSize).collectList(),
+                    readRepository.countTasks(projectId)).map(result -> {
+                        long total = result.getT2();
+                        Map<String, Object> response = new HashMap<>();
+                        response.put("tasks", result.getT1());
+                        response.put("total", total);
+                        Map<String, Object> pagination = new HashMap<>();
+                        pagination.put("currentPage", page);
+                        pagination.put("totalPages", (int) ((total + pageSize - 1) / pageSize));
+                        pagination.put("limit", limit);
+                        response.put("pagination", pagination);
+                        return revalidated(stamp.etag()).body(ApiResponse.ok(response));
+                    });
+        });
+    }
+
+    @GetMapping(value = "/projects/{projectId}/tasks", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<Map<String, Object>>>> streamTasks(@PathVariable UUID projectId,
+            @RequestAttribute("tenantId") String tenantId,
+            @RequestAttribute("role") String role,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "50") int limit) {
+        int pageSize = pageSize(limit, MAX_STREAM_LIMIT);
+        return readRepository.projectStamp(projectId)
+                .map(stamp -> canRead(stamp, tenantId, role)
+                        ? ResponseEntity.ok(tasks(projectId, offset(page, pageSize), pageSize))
+                        : ResponseEntity.status(HttpStatus.FORBIDDEN).<Flux<Map<String, Object>>>build())
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // List users (super admin only, optional tenant filter)
+    @GetMapping("/users")
+    public Mono<ResponseEntity<?>> listUsers(@RequestAttribute("role") String role,
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (!"SUPER_ADMIN".equals(role)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized")));
+        }
+        int pageSize = pageSize(limit, 100);
+        Flux<Map<String, Object>> users = readRepository.findUsers(tenantId, blankToNull(search),
+                offset(page, pageSize), pageSize);
+        if (tenantId == null) {
+            return users.collectList().map(list -> ResponseEntity.ok(ApiResponse.ok(list)));
+        }
+        return readRepository.tenantEtag(tenantId).flatMap(etag -> notModified(ifNoneMatch, etag)
+                ? Mono.just(notModifiedResponse(etag))
+                : users.collectList().map(list -> revalidated(etag).body(ApiResponse.ok(list))));
+    }
+
+    @GetMapping(value = "/users", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<Map<String, Object>>>> streamUsers(@RequestAttribute("role") String role,
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (!"SUPER_ADMIN".equals(role)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+        int pageSize = pageSize(limit, MAX_STREAM_LIMIT);
+        return Mono.just(ResponseEntity.ok()
+                .body(readRepository.findUsers(tenantId, blankToNull(search), offset(page, pageSize), pageSize)));
+    }
+
+    /**
+     * Look up the project stamp and answer 404/403 like the MVC endpoints, otherwise continue with it
+     */
+    private Mono<ResponseEntity<?>> authorizedStamp(UUID projectId, String tenantId, String role,
+            Function<ChangeStampService.Stamp, Mono<ResponseEntity<?>>> then) {
+        return readRepository.projectStamp(projectId)
+                .flatMap(stamp -> canRead(stamp, tenantId, role)
+                        ? then.apply(stamp)
+                        : Mono.<ResponseEntity<?>>just(ResponseEntity.status(HttpStatus.FORBIDDEN)
+                                .body(ApiResponse.error("Unauthorized"))))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    private static boolean canRead(ChangeStampService.Stamp stamp, String tenantId, String role) {
+        return "SUPER_ADMIN".equals(role) || stamp.tenantId().toString().equals(tenantId);
+    }
+
+    private Flux<Map<String, Object>> tasks(UUID projectId, long offset, int limit) {
+        Flux<Map<String, Object>> tasks = readRepository.findTasks(projectId, offset, limit);
+        if (!statusWriteBehind.isEnabled()) {
+            return tasks;
+        }
+        return tasks.map(task -> {
+            statusWriteBehind.pendingStatus((UUID) task.get("id")).ifPresent(status -> task.put("status", status));
+            return task;
+        });
+    }
+
+    private static ResponseEntity.BodyBuilder revalidated(String etag) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(Etags.REVALIDATE);
+    }
+
+    private static ResponseEntity<?> notModifiedResponse(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(Etags.REVALIDATE).build();
+    }
+
+    // Strong comparison, as WebRequest.checkNotModified does for GET
+    private static boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int pageSize(int limit, int max) {
+        return Math.max(1, Math.min(limit, max));
+    }
+
+    private static long offset(int page, int pageSize) {
+        return (long) Math.max(page - 1, 0) * pageSize;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
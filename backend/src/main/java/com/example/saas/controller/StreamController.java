@@ -0,0 +1,39 @@
+package com.example.saas.controller;
+
+import com.example.saas.service.ChangeStream;
+import com.example.saas.util.ApiResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/stream")
+public class StreamController {
+
+    private final ChangeStream changeStream;
+
+    public StreamController(ChangeStream changeStream) {
+        this.changeStream = changeStream;
+    }
+
+    // Server-Sent Events stream of task and project changes in the caller's tenant
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> stream(@RequestAttribute("tenantId") String tenantId,
+            @RequestAttribute("role") String role,
+            @RequestParam(required = false) UUID tenantIdFilter) {
+        // Super admins may watch one tenant or, without a filter, all of them
+        UUID scopeTenantId = "SUPER_ADMIN".equals(role) ? tenantIdFilter : UUID.fromString(tenantId);
+        try {
+            return ResponseEntity.ok()
+                    .header("X-Accel-Buffering", "no")
+                    .body(changeStream.subscribe(scopeTenantId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -6,16 +6,36 @@
 import com.example.saas.model.User;
 import com.example.saas.repository.ProjectRepository;
 import com.example.saas.repository.TaskRepository;
+import com.example.saas.repository.TaskRepositoryCustom;
 import com.example.saas.repository.TenantRepository;
 import com.example.saas.repository.UserRepository;
+import com.example.saas.service.AuditService;
+import com.example.saas.service.ChangeStampService;
+import com.example.saas.service.ChangeStream;
+import com.example.saas.service.DashboardCounters;
+import com.example.saas.service.DueDateReminders;
+import com.example.saas.service.TaskBulkService;
+import com.example.saas.service.TaskImportService;
+import com.example.saas.service.TaskStatusWriteBehind;
+import com.example.saas.service.TaskThroughputRollup;
 import com.example.saas.util.ApiResponse;
+import com.example.saas.util.Etags;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -28,28 +48,52 @@ public class TaskController {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final TenantRepository tenantRepository;
+    private final TaskBulkService taskBulkService;
+    private final TaskImportService taskImportService;
+    private final ChangeStampService changeStampService;
+    private final TaskStatusWriteBehind statusWriteBehind;
+    private final AuditService auditService;
+    private final DashboardCounters dashboardCounters;
+    private final TaskThroughputRollup throughputRollup;
+    private final DueDateReminders dueDateReminders;
+    private final ChangeStream changeStream;
+    private final int bulkMaxItems;
 
     public TaskController(TaskRepository taskRepository, ProjectRepository projectRepository,
-            UserRepository userRepository, TenantRepository tenantRepository) {
+            UserRepository userRepository, TenantRepository tenantRepository, TaskBulkService taskBulkService,
+            TaskImportService taskImportService, ChangeStampService changeStampService, TaskStatusWriteBehind statusWriteBehind, AuditService auditService,
+            DashboardCounters dashboardCounters, TaskThroughputRollup throughputRollup, DueDateReminders dueDateReminders,
+            ChangeStream changeStream,
+            @Value("${tasks.bulk.max-items:10000}") int bulkMaxItems) {
         this.taskRepository = taskRepository;
         this.projectRepository = projectRepository;
         this.userRepository = userRepository;
         this.tenantRepository = tenantRepository;
+        this.taskBulkService = taskBulkService;
+        this.taskImportService = taskImportService;
+        this.changeStampService = changeStampService;
+        this.statusWriteBehind = statusWriteBehind;
+        this.auditService = auditService;
+        this.dashboardCounters = dashboardCounters;
+        this.throughputRollup = throughputRollup;
+        this.dueDateReminders = dueDateReminders;
+        this.changeStream = changeStream;
+        this.bulkMaxItems = bulkMaxItems;
     }
 
     // Create task
     @PostMapping("/projects/{projectId}/tasks")
-    public ResponseEntity<?> createTask(@PathVariable String projectId,
+    public ResponseEntity<?> createTask(@PathVariable UUID projectId,
             @RequestBody CreateTaskRequest request,
             @RequestAttribute("tenantId") String tenantId,
             @RequestAttribute("role") String role) {
-        Optional<Project> projectOpt = projectRepository.findById(projectId);
+        Optional<Project> projectOpt = projectRepository.findByIdAndDeletionRequestedAtIsNull(projectId);
         if (projectOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
         Project project = projectOpt.get();
-        if (!"SUPER_ADMIN".equals(role) && !project.getTenant().getId().equals(tenantId)) {
+        if (!"SUPER_ADMIN".equals(role) && !project.getTenant().getId().toString().equals(tenantId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
@@ -68,7 +112,7 @@ public ResponseEntity<?> createTask(@PathVariable String projectId,
 
         if (request.assignedTo != null) {
             Optional<User> userOpt = userRepository.findById(request.assignedTo);
-            String targetTenantId = project.getTenant().getId();
+            UUID targetTenantId = project.getTenant().getId();
             if (userOpt.isPresent() && userOpt.get().getTenant().getId().equals(targetTenantId)) {
                 task.setAssignedTo(userOpt.get());
             } else {
@@ -81,30 +125,159 @@ public ResponseEntity<?> createTask(@PathVariable String projectId,
         }
 
         Task saved = taskRepository.save(task);
-        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.ok("Task created", buildTaskResponse(saved)));
+        auditService.record("CREATE", "TASK", saved.getId(), project.getTenant().getId());
+        dashboardCounters.taskChanged(null, DashboardCounters.TaskState.of(saved));
+        throughputRollup.taskChanged(null, DashboardCounters.TaskState.of(saved));
+        dueDateReminders.taskChanged(saved.getId(), null, DashboardCounters.TaskState.of(saved));
+        Map<String, Object> data = buildTaskResponse(saved);
+        changeStream.publish(project.getTenant().getId(), "task.created", data);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.ok("Task created", data));
+    }
+
+    // Bulk create tasks
+    @PostMapping("/projects/{projectId}/tasks:bulk")
+    public ResponseEntity<?> bulkCreateTasks(@PathVariable UUID projectId,
+            @RequestBody BulkCreateTasksRequest request,
+            @RequestAttribute("tenantId") String tenantId,
+            @RequestAttribute("role") String role) {
+        if (request.tasks == null || request.tasks.isEmpty()) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("No tasks provided"));
+        }
+        if (request.tasks.size() > bulkMaxItems) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(ApiResponse.error("Too many tasks, limit is " + bulkMaxItems));
+        }
+
+        Optional<Project> projectOpt = projectRepository.findByIdAndDeletionRequestedAtIsNull(projectId);
+        if (projectOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Project project = projectOpt.get();
+        if (!"SUPER_ADMIN".equals(role) && !project.getTenant().getId().toString().equals(tenantId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
+        }
+
+        // Only tenant admin or super admin can create tasks
+        if (!"SUPER_ADMIN".equals(role) && !"TENANT_ADMIN".equals(role)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
+        }
+
+        TaskBulkService.BulkResult result = taskBulkService.createTasks(project, request.tasks, request.atomic);
+        if (result.isRejected()) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, "Bulk request rejected", result.toResponse()));
+        }
+        result.succeededIds().forEach(id -> auditService.record("CREATE", "TASK", id, project.getTenant().getId()));
+        publishBulk(project, "created", result);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.ok("Tasks created", result.toResponse()));
+    }
+
+    // Bulk update tasks
+    @PatchMapping("/projects/{projectId}/tasks:bulk")
+    public ResponseEntity<?> bulkUpdateTasks(@PathVariable UUID projectId,
+            @RequestBody BulkUpdateTasksRequest request,
+            @RequestAttribute("tenantId") String tenantId,
+            @RequestAttribute("role") String role) {
+        if (request.tasks == null || request.tasks.isEmpty()) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("No tasks provided"));
+        }
+        if (request.tasks.size() > bulkMaxItems) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(ApiResponse.error("Too many tasks, limit is " + bulkMaxItems));
+        }
+
+        Optional<Project> projectOpt = projectRepository.findByIdAndDeletionRequestedAtIsNull(projectId);
+        if (projectOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Project project = projectOpt.get();
+        if (!"SUPER_ADMIN".equals(role) && !project.getTenant().getId().toString().equals(tenantId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
+        }
+
+        // Only admins can edit task details
+        if (!"SUPER_ADMIN".equals(role) && !"TENANT_ADMIN".equals(role)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
+        }
+
+        statusWriteBehind.flush(request.tasks.stream()
+                .filter(Objects::nonNull)
+                .map(BulkUpdateTaskItem::getId)
+                .filter(Objects::nonNull)
+                .toList());
+        TaskBulkService.BulkResult result = taskBulkService.updateTasks(project, request.tasks, request.atomic);
+        if (result.isRejected()) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, "Bulk request rejected", result.toResponse()));
+        }
+        result.succeededIds().forEach(id -> auditService.record("UPDATE", "TASK", id, project.getTenant().getId()));
+        publishBulk(project, "updated", result);
+        return ResponseEntity.ok(ApiResponse.ok("Tasks updated", result.toResponse()));
+    }
+
+    // Import tasks from a CSV upload, streaming progress back as NDJSON
+    @PostMapping(value = "/projects/{projectId}/tasks:import", consumes = "text/csv")
+    public ResponseEntity<StreamingResponseBody> importTasks(@PathVariable UUID projectId,
+            @RequestParam(defaultValue = "false") boolean atomic,
+            @RequestAttribute("tenantId") String tenantId,
+            @RequestAttribute("userId") String userId,
+            @RequestAttribute("role") String role,
+            HttpServletRequest request) {
+        Optional<Project> projectOpt = projectRepository.findByIdAndDeletionRequestedAtIsNull(projectId);
+        if (projectOpt.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+
+        Project project = projectOpt.get();
+        if (!"SUPER_ADMIN".equals(role) && !project.getTenant().getId().toString().equals(tenantId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Unauthorized");
+        }
+
+        // Only tenant admin or super admin can create tasks
+        if (!"SUPER_ADMIN".equals(role) && !"TENANT_ADMIN".equals(role)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Unauthorized");
+        }
+
+        // The body is read while the response streams, so nothing is buffered on either side
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+        StreamingResponseBody body = out -> taskImportService.importTasks(project, UUID.fromString(userId),
+                new InputStreamReader(request.getInputStream(), charset), atomic, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     // List project tasks
     @GetMapping("/projects/{projectId}/tasks")
-    public ResponseEntity<?> listTasks(@PathVariable String projectId,
+    public ResponseEntity<?> listTasks(@PathVariable UUID projectId,
             @RequestAttribute("tenantId") String tenantId,
             @RequestAttribute("role") String role,
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "50") int limit) {
-        Optional<Project> projectOpt = projectRepository.findById(projectId);
-        if (projectOpt.isEmpty()) {
+            @RequestParam(defaultValue = "50") int limit,
+            WebRequest webRequest) {
+        // Existence, ownership and ETag come from one stamp lookup; no entities are loaded for a 304
+        Optional<ChangeStampService.Stamp> stamp = changeStampService.projectStamp(projectId);
+        if (stamp.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
-        Project project = projectOpt.get();
-        if (!"SUPER_ADMIN".equals(role) && !project.getTenant().getId().equals(tenantId)) {
+        if (!"SUPER_ADMIN".equals(role) && !stamp.get().tenantId().toString().equals(tenantId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
+        // Buffered status changes are not in the stamp yet, so skip revalidation until they flush
+        if (!statusWriteBehind.hasPending(projectId) && webRequest.checkNotModified(stamp.get().etag())) {
+            return null;
+        }
+
         Pageable pageable = PageRequest.of(page - 1, Math.min(limit, 100));
         Page<Task> tasks = "SUPER_ADMIN".equals(role)
                 ? taskRepository.findByProjectId(projectId, pageable)
-                : taskRepository.findByProjectIdAndTenantId(projectId, tenantId, pageable);
+                : taskRepository.findByProjectIdAndTenantId(projectId, UUID.fromString(tenantId), pageable);
 
         List<Map<String, Object>> taskList = tasks.getContent().stream()
                 .map(this::buildTaskResponse)
@@ -119,22 +292,24 @@ public ResponseEntity<?> listTasks(@PathVariable String projectId,
         pagination.put("limit", limit);
         response.put("pagination", pagination);
 
-        return ResponseEntity.ok(ApiResponse.ok(response));
+        return ResponseEntity.ok().cacheControl(Etags.REVALIDATE).body(ApiResponse.ok(response));
     }
 
     // Update task
     @PutMapping("/tasks/{taskId}")
-    public ResponseEntity<?> updateTask(@PathVariable String taskId,
+    public ResponseEntity<?> updateTask(@PathVariable UUID taskId,
             @RequestBody UpdateTaskRequest request,
             @RequestAttribute("tenantId") String tenantId,
-            @RequestAttribute("role") String role) {
+            @RequestAttribute("role") String role,
+            WebRequest webRequest) {
+        statusWriteBehind.flush(List.of(taskId));
         Optional<Task> taskOpt = taskRepository.findById(taskId);
-        if (taskOpt.isEmpty()) {
+        if (taskOpt.isEmpty() || taskOpt.get().getProject().getDeletionRequestedAt() != null) {
             return ResponseEntity.notFound().build();
         }
 
         Task task = taskOpt.get();
-        if (!"SUPER_ADMIN".equals(role) && !task.getTenant().getId().equals(tenantId)) {
+        if (!"SUPER_ADMIN".equals(role) && !task.getTenant().getId().toString().equals(tenantId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
@@ -143,6 +318,16 @@ public ResponseEntity<?> updateTask(@PathVariable String taskId,
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
+        // If-Match carries the task version as its ETag; a mismatch answers 412
+        if (webRequest.checkNotModified(Etags.of(task.getVersion()))) {
+            return null;
+        }
+
+        if (request.version != null && !request.version.equals(task.getVersion())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error("Task was modified by another request"));
+        }
+
+        DashboardCounters.TaskState before = DashboardCounters.TaskState.of(task);
         if (request.title != null)
             task.setTitle(request.title);
         if (request.description != null)
@@ -156,7 +341,7 @@ public ResponseEntity<?> updateTask(@PathVariable String taskId,
 
         if (request.assignedTo != null) {
             Optional<User> userOpt = userRepository.findById(request.assignedTo);
-            String targetTenantId = task.getTenant().getId();
+            UUID targetTenantId = task.getTenant().getId();
             if (userOpt.isPresent() && userOpt.get().getTenant().getId().equals(targetTenantId)) {
                 task.setAssignedTo(userOpt.get());
             }
@@ -165,42 +350,93 @@ public ResponseEntity<?> updateTask(@PathVariable String taskId,
         }
 
         Task updated = taskRepository.save(task);
-        return ResponseEntity.ok(ApiResponse.ok("Task updated", buildTaskResponse(updated)));
+        auditService.record("UPDATE", "TASK", taskId, task.getTenant().getId());
+        dashboardCounters.taskChanged(before, DashboardCounters.TaskState.of(updated));
+        throughputRollup.taskChanged(before, DashboardCounters.TaskState.of(updated));
+        dueDateReminders.taskChanged(taskId, before, DashboardCounters.TaskState.of(updated));
+        Map<String, Object> data = buildTaskResponse(updated);
+        changeStream.publish(task.getTenant().getId(), "task.updated", data);
+        return ResponseEntity.ok().eTag(Etags.of(updated.getVersion()))
+                .body(ApiResponse.ok("Task updated", data));
     }
 
     // Update task status only
     @PatchMapping("/tasks/{taskId}/status")
-    public ResponseEntity<?> updateTaskStatus(@PathVariable String taskId,
+    public ResponseEntity<?> updateTaskStatus(@PathVariable UUID taskId,
             @RequestBody UpdateTaskStatusRequest request,
             @RequestAttribute("tenantId") String tenantId,
             @RequestAttribute("role") String role) {
+        Task.TaskStatus status;
+        try {
+            status = Task.TaskStatus.valueOf(request.status);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Invalid status"));
+        }
+
+        UUID scopeTenantId = "SUPER_ADMIN".equals(role) ? null : UUID.fromString(tenantId);
+
+        // Write-behind: acknowledge now and let the next flush write the latest value.
+        // Versioned updates need compare-and-set semantics, so they always go straight to the database
+        if (statusWriteBehind.isEnabled() && request.version == null) {
+            Optional<TaskStatusWriteBehind.Owner> owner = statusWriteBehind.owner(taskId);
+            if (owner.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (scopeTenantId != null && !owner.get().tenantId().equals(scopeTenantId)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
+            }
+            statusWriteBehind.submit(taskId, owner.get(), status);
+            auditService.record("UPDATE_STATUS", "TASK", taskId, owner.get().tenantId());
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("id", taskId);
+            data.put("projectId", owner.get().projectId());
+            data.put("status", status);
+            data.put("pending", true);
+            changeStream.publish(owner.get().tenantId(), "task.updated", data);
+            return ResponseEntity.accepted().body(ApiResponse.ok("Task status accepted", data));
+        }
+
+        // Single conditional UPDATE ... RETURNING; tenant and version are part of the WHERE clause
+        statusWriteBehind.flush(List.of(taskId));
+        Optional<TaskRepositoryCustom.StatusUpdate> updated = taskRepository.updateStatus(taskId, scopeTenantId, status, request.version);
+        if (updated.isPresent()) {
+            Task task = updated.get().task();
+            auditService.record("UPDATE_STATUS", "TASK", taskId, task.getTenant().getId());
+            DashboardCounters.TaskState after = DashboardCounters.TaskState.of(task);
+            DashboardCounters.TaskState before = after.withStatus(updated.get().previousStatus());
+            dashboardCounters.taskChanged(before, after);
+            throughputRollup.taskChanged(before, after);
+            dueDateReminders.taskChanged(taskId, before, after);
+            Map<String, Object> data = buildTaskResponse(task);
+            changeStream.publish(task.getTenant().getId(), "task.updated", data);
+            return ResponseEntity.ok(ApiResponse.ok(data));
+        }
+
+        // Nothing matched: find out whether the task is missing, foreign or stale
         Optional<Task> taskOpt = taskRepository.findById(taskId);
-        if (taskOpt.isEmpty()) {
+        if (taskOpt.isEmpty() || taskOpt.get().getProject().getDeletionRequestedAt() != null) {
             return ResponseEntity.notFound().build();
         }
-
-        Task task = taskOpt.get();
-        if (!"SUPER_ADMIN".equals(role) && !task.getTenant().getId().equals(tenantId)) {
+        if (scopeTenantId != null && !taskOpt.get().getTenant().getId().equals(scopeTenantId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
-
-        task.setStatus(Task.TaskStatus.valueOf(request.status));
-        Task updated = taskRepository.save(task);
-        return ResponseEntity.ok(ApiResponse.ok(buildTaskResponse(updated)));
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error("Task was modified by another request"));
     }
 
     // Delete task
     @DeleteMapping("/tasks/{taskId}")
-    public ResponseEntity<?> deleteTask(@PathVariable String taskId,
+    public ResponseEntity<?> deleteTask(@PathVariable UUID taskId,
             @RequestAttribute("tenantId") String tenantId,
-            @RequestAttribute("role") String role) {
+            @RequestAttribute("role") String role,
+            WebRequest webRequest) {
         Optional<Task> taskOpt = taskRepository.findById(taskId);
-        if (taskOpt.isEmpty()) {
+        if (taskOpt.isEmpty() || taskOpt.get().getProject().getDeletionRequestedAt() != null) {
             return ResponseEntity.notFound().build();
         }
 
         Task task = taskOpt.get();
-        if (!"SUPER_ADMIN".equals(role) && !task.getTenant().getId().equals(tenantId)) {
+        if (!"SUPER_ADMIN".equals(role) && !task.getTenant().getId().toString().equals(tenantId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
@@ -209,17 +445,38 @@ public ResponseEntity<?> deleteTask(@PathVariable String taskId,
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
+        if (webRequest.checkNotModified(Etags.of(task.getVersion()))) {
+            return null;
+        }
+
+        statusWriteBehind.discard(taskId);
+        DashboardCounters.TaskState before = DashboardCounters.TaskState.of(task);
         taskRepository.delete(task);
+        auditService.record("DELETE", "TASK", taskId, task.getTenant().getId());
+        dashboardCounters.taskChanged(before, null);
+        throughputRollup.taskChanged(before, null);
+        dueDateReminders.taskChanged(taskId, before, null);
+        changeStream.publish(task.getTenant().getId(), "task.deleted",
+                Map.of("id", taskId, "projectId", task.getProject().getId()));
         return ResponseEntity.ok(ApiResponse.ok("Task deleted", null));
     }
 
+    // One event per bulk request rather than per task; subscribers reload the project's tasks
+    private void publishBulk(Project project, String action, TaskBulkService.BulkResult result) {
+        List<UUID> ids = result.succeededIds();
+        if (!ids.isEmpty()) {
+            changeStream.publish(project.getTenant().getId(), "tasks.bulk",
+                    Map.of("projectId", project.getId(), "action", action, "count", ids.size()));
+        }
+    }
+
     private Map<String, Object> buildTaskResponse(Task task) {
         Map<String, Object> data = new HashMap<>();
         data.put("id", task.getId());
         data.put("projectId", task.getProject().getId());
         data.put("title", task.getTitle());
         data.put("description", task.getDescription());
-        data.put("status", task.getStatus());
+        data.put("status", statusWriteBehind.pendingStatus(task.getId()).orElse(task.getStatus()));
         data.put("priority", task.getPriority());
         data.put("dueDate", task.getDueDate() != null ? task.getDueDate().toString() : null);
 
@@ -233,6 +490,7 @@ private Map<String, Object> buildTaskResponse(Task task) {
 
         data.put("createdAt", task.getCreatedAt());
         data.put("updatedAt", task.getUpdatedAt());
+        data.put("version", task.getVersion());
 
         return data;
     }
@@ -240,14 +498,14 @@ private Map<String, Object> buildTaskResponse(Task task) {
     public static class CreateTaskRequest {
         private String title;
         private String description;
-        private String assignedTo;
+        private UUID assignedTo;
         private String priority;
         private String dueDate;
 
         public CreateTaskRequest() {
         }
 
-        public CreateTaskRequest(String title, String description, String assignedTo, String priority, String dueDate) {
+        public CreateTaskRequest(String title, String description, UUID assignedTo, String priority, String dueDate) {
             this.title = title;
             this.description = description;
             this.assignedTo = assignedTo;
@@ -271,11 +529,11 @@ public void setDescription(String description) {
             this.description = description;
         }
 
-        public String getAssignedTo() {
+        public UUID getAssignedTo() {
             return assignedTo;
         }
 
-        public void setAssignedTo(String assignedTo) {
+        public void setAssignedTo(UUID assignedTo) {
             this.assignedTo = assignedTo;
         }
 
@@ -301,13 +559,14 @@ public static class UpdateTaskRequest {
         private String description;
         private String status;
         private String priority;
-        private String assignedTo;
+        private UUID assignedTo;
         private String dueDate;
+        private Long version;
 
         public UpdateTaskRequest() {
         }
 
-        public UpdateTaskRequest(String title, String description, String status, String priority, String assignedTo,
+        public UpdateTaskRequest(String title, String description, String status, String priority, UUID assignedTo,
                 String dueDate) {
             this.title = title;
             this.description = description;
@@ -349,11 +608,11 @@ public void setPriority(String priority) {
             this.priority = priority;
         }
 
-        public String getAssignedTo() {
+        public UUID getAssignedTo() {
             return assignedTo;
         }
 
-        public void setAssignedTo(String assignedTo) {
+        public void setAssignedTo(UUID assignedTo) {
             this.assignedTo = assignedTo;
         }
 
@@ -364,10 +623,19 @@ public String getDueDate() {
         public void setDueDate(String dueDate) {
             this.dueDate = dueDate;
         }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public void setVersion(Long version) {
+            this.version = version;
+        }
     }
 
     public static class UpdateTaskStatusRequest {
         private String status;
+        private Long version;
 
         public UpdateTaskStatusRequest() {
         }
@@ -383,13 +651,84 @@ public String getStatus() {
         public void setStatus(String status) {
             this.status = status;
         }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public void setVersion(Long version) {
+            this.version = version;
+        }
+    }
+
+    public static class BulkCreateTasksRequest {
+        private boolean atomic = true;
+        private List<CreateTaskRequest> tasks;
+
+        public BulkCreateTasksRequest() {
+        }
+
+        public boolean isAtomic() {
+            return atomic;
+        }
+
+        public void setAtomic(boolean atomic) {
+            this.atomic = atomic;
+        }
+
+        public List<CreateTaskRequest> getTasks() {
+            return tasks;
+        }
+
+        public void setTasks(List<CreateTaskRequest> tasks) {
+            this.tasks = tasks;
+        }
+    }
+
+    public static class BulkUpdateTaskItem extends UpdateTaskRequest {
+        private UUID id;
+
+        public BulkUpdateTaskItem() {
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public void setId(UUID id) {
+            this.id = id;
+        }
+    }
+
+    public static class BulkUpdateTasksRequest {
+        private boolean atomic = true;
+        private List<BulkUpdateTaskItem> tasks;
+
+        public BulkUpdateTasksRequest() {
+        }
+
+        public boolean isAtomic() {
+            return atomic;
+        }
+
+        public void setAtomic(boolean atomic) {
+            this.atomic = atomic;
+        }
+
+        public List<BulkUpdateTaskItem> getTasks() {
+            return tasks;
+        }
+
+        public void setTasks(List<BulkUpdateTaskItem> tasks) {
+            this.tasks = tasks;
+        }
     }
 
     // List tasks across tenants (super admin only)
     @GetMapping("/tasks")
     public ResponseEntity<?> listAllTasks(@RequestAttribute("role") String role,
-            @RequestParam(required = false) String tenantId,
-            @RequestParam(required = false) String projectId,
+            @RequestParam(required = false) UUID tenantId,
+            @RequestParam(required = false) UUID projectId,
             @RequestParam(required = false) String status,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "50") int limit) {
@@ -400,12 +739,12 @@ public ResponseEntity<?> listAllTasks(@RequestAttribute("role") String role,
         Pageable pageable = PageRequest.of(page - 1, Math.min(limit, 100));
 
         Page<Task> tasks;
-        if (projectId != null && !projectId.isBlank()) {
-            tasks = taskRepository.findByProjectId(projectId, pageable);
-        } else if (tenantId != null && !tenantId.isBlank()) {
-            tasks = taskRepository.findByTenantId(tenantId, pageable);
+        if (projectId != null) {
+            tasks = taskRepository.findByProjectIdAndProjectDeletionRequestedAtIsNull(projectId, pageable);
+        } else if (tenantId != null) {
+            tasks = taskRepository.findByTenantIdAndProjectDeletionRequestedAtIsNull(tenantId, pageable);
         } else {
-            tasks = taskRepository.findAll(pageable);
+            tasks = taskRepository.findByProjectDeletionRequestedAtIsNull(pageable);
         }
 
         List<Map<String, Object>> taskList = tasks.getContent().stream()
@@ -7,16 +7,29 @@
 import com.example.saas.repository.TaskRepository;
 import com.example.saas.repository.TenantRepository;
 import com.example.saas.repository.UserRepository;
+import com.example.saas.service.ApiMetrics;
+import com.example.saas.service.AuditService;
+import com.example.saas.service.ChangeStampService;
+import com.example.saas.service.DashboardCounters;
+import com.example.saas.service.DeletionJobService;
+import com.example.saas.service.TenantExportService;
 import com.example.saas.util.ApiResponse;
+import com.example.saas.util.Etags;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -28,25 +41,40 @@ public class TenantController {
     private final UserRepository userRepository;
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
+    private final ChangeStampService changeStampService;
+    private final AuditService auditService;
+    private final DashboardCounters dashboardCounters;
+    private final TenantExportService tenantExportService;
+    private final DeletionJobService deletionJobService;
+    private final ApiMetrics apiMetrics;
 
     public TenantController(TenantRepository tenantRepository, UserRepository userRepository,
-                           ProjectRepository projectRepository, TaskRepository taskRepository) {
+                           ProjectRepository projectRepository, TaskRepository taskRepository,
+                           ChangeStampService changeStampService, AuditService auditService,
+                           DashboardCounters dashboardCounters, TenantExportService tenantExportService,
+                           DeletionJobService deletionJobService, ApiMetrics apiMetrics) {
         this.tenantRepository = tenantRepository;
         this.userRepository = userRepository;
         this.projectRepository = projectRepository;
         this.taskRepository = taskRepository;
+        this.changeStampService = changeStampService;
+        this.auditService = auditService;
+        this.dashboardCounters = dashboardCounters;
+        this.tenantExportService = tenantExportService;
+        this.deletionJobService = deletionJobService;
+        this.apiMetrics = apiMetrics;
     }
 
     // Get tenant details
     @GetMapping("/{tenantId}")
-    public ResponseEntity<?> getTenant(@PathVariable String tenantId,
+    public ResponseEntity<?> getTenant(@PathVariable UUID tenantId,
                                       @RequestAttribute("tenantId") String userTenantId,
                                       @RequestAttribute("role") String role) {
-        if (!role.equals("SUPER_ADMIN") && !tenantId.equals(userTenantId)) {
+        if (!role.equals("SUPER_ADMIN") && !tenantId.toString().equals(userTenantId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
-        Optional<Tenant> tenantOpt = tenantRepository.findById(tenantId);
+        Optional<Tenant> tenantOpt = tenantRepository.findByIdAndDeletionRequestedAtIsNull(tenantId);
         if (tenantOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
@@ -58,15 +86,15 @@ public ResponseEntity<?> getTenant(@PathVariable String tenantId,
 
     // Update tenant
     @PutMapping("/{tenantId}")
-    public ResponseEntity<?> updateTenant(@PathVariable String tenantId,
+    public ResponseEntity<?> updateTenant(@PathVariable UUID tenantId,
                                          @RequestBody UpdateTenantRequest request,
                                          @RequestAttribute("tenantId") String userTenantId,
                                          @RequestAttribute("role") String role) {
-        if (!role.equals("SUPER_ADMIN") && !tenantId.equals(userTenantId)) {
+        if (!role.equals("SUPER_ADMIN") && !tenantId.toString().equals(userTenantId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
-        Optional<Tenant> tenantOpt = tenantRepository.findById(tenantId);
+        Optional<Tenant> tenantOpt = tenantRepository.findByIdAndDeletionRequestedAtIsNull(tenantId);
         if (tenantOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
@@ -92,6 +120,7 @@ public ResponseEntity<?> updateTenant(@PathVariable String tenantId,
         }
 
         Tenant updated = tenantRepository.save(tenant);
+        auditService.record("UPDATE", "TENANT", tenantId, tenantId);
         return ResponseEntity.ok(ApiResponse.ok("Tenant updated", buildTenantResponse(updated)));
     }
 
@@ -105,7 +134,7 @@ public ResponseEntity<?> listTenants(@RequestAttribute("role") String role,
         }
 
         Pageable pageable = PageRequest.of(page - 1, Math.min(limit, 100));
-        Page<Tenant> tenants = tenantRepository.findAll(pageable);
+        Page<Tenant> tenants = tenantRepository.findByDeletionRequestedAtIsNull(pageable);
 
         List<Map<String, Object>> tenantList = tenants.getContent().stream()
                 .map(this::buildTenantResponse)
@@ -123,17 +152,40 @@ public ResponseEntity<?> listTenants(@RequestAttribute("role") String role,
         return ResponseEntity.ok(ApiResponse.ok(response));
     }
 
+    // Delete tenant (super admin only): hidden at once, its data is purged in the background
+    @DeleteMapping("/{tenantId}")
+    public ResponseEntity<?> deleteTenant(@PathVariable UUID tenantId,
+                                          @RequestAttribute("userId") String userId,
+                                          @RequestAttribute("role") String role) {
+        if (!role.equals("SUPER_ADMIN")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
+        }
+
+        Optional<Tenant> tenantOpt = tenantRepository.findByIdAndDeletionRequestedAtIsNull(tenantId);
+        if (tenantOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        DeletionJobService.Job job = deletionJobService.requestTenantDeletion(tenantId, UUID.fromString(userId));
+        // Recorded as a platform event; the tenant's own audit trail is part of what gets deleted
+        auditService.record("DELETE", "TENANT", tenantId, null, UUID.fromString(userId));
+        dashboardCounters.tenantDeleted(tenantId);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/deletion-jobs/" + job.id()))
+                .body(ApiResponse.ok("Tenant deletion scheduled", job.toMap()));
+    }
+
     // Add user to tenant
     @PostMapping("/{tenantId}/users")
-    public ResponseEntity<?> addUser(@PathVariable String tenantId,
+    public ResponseEntity<?> addUser(@PathVariable UUID tenantId,
                                     @RequestBody AddUserRequest request,
                                     @RequestAttribute("tenantId") String userTenantId,
                                     @RequestAttribute("role") String role) {
-        if (!(role.equals("TENANT_ADMIN") && tenantId.equals(userTenantId)) && !role.equals("SUPER_ADMIN")) {
+        if (!(role.equals("TENANT_ADMIN") && tenantId.toString().equals(userTenantId)) && !role.equals("SUPER_ADMIN")) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
-        Optional<Tenant> tenantOpt = tenantRepository.findById(tenantId);
+        Optional<Tenant> tenantOpt = tenantRepository.findByIdAndDeletionRequestedAtIsNull(tenantId);
         if (tenantOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
@@ -143,6 +195,7 @@ public ResponseEntity<?> addUser(@PathVariable String tenantId,
         // Check user limit
         long userCount = userRepository.countByTenantId(tenantId);
         if (userCount >= tenant.getMaxUsers()) {
+            apiMetrics.quotaRejected("users", tenantId);
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("User limit reached"));
         }
 
@@ -160,21 +213,28 @@ public ResponseEntity<?> addUser(@PathVariable String tenantId,
         user.setIsActive(true);
 
         User saved = userRepository.save(user);
+        auditService.record("CREATE", "USER", saved.getId(), tenantId);
+        dashboardCounters.userCreated(tenantId);
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.ok("User created", buildUserResponse(saved)));
     }
 
     // List tenant users
     @GetMapping("/{tenantId}/users")
-    public ResponseEntity<?> listUsers(@PathVariable String tenantId,
+    public ResponseEntity<?> listUsers(@PathVariable UUID tenantId,
                                       @RequestAttribute("tenantId") String userTenantId,
                                       @RequestAttribute("role") String role,
                                       @RequestParam(required = false) String search,
                                       @RequestParam(defaultValue = "1") int page,
-                                      @RequestParam(defaultValue = "50") int limit) {
-        if (!role.equals("SUPER_ADMIN") && !tenantId.equals(userTenantId)) {
+                                      @RequestParam(defaultValue = "50") int limit,
+                                      WebRequest webRequest) {
+        if (!role.equals("SUPER_ADMIN") && !tenantId.toString().equals(userTenantId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
+        if (webRequest.checkNotModified(changeStampService.tenantEtag(tenantId))) {
+            return null;
+        }
+
         Pageable pageable = PageRequest.of(page - 1, Math.min(limit, 100));
         Page<User> users;
 
@@ -189,7 +249,63 @@ public ResponseEntity<?> listUsers(@PathVariable String tenantId,
                 .map(this::buildUserResponse)
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(ApiResponse.ok(userList));
+        return ResponseEntity.ok().cacheControl(Etags.REVALIDATE).body(ApiResponse.ok(userList));
+    }
+
+    // Export every project, task and user of a tenant, streamed straight from the database
+    @GetMapping("/{tenantId}/export")
+    public ResponseEntity<StreamingResponseBody> exportTenant(@PathVariable UUID tenantId,
+                                          @RequestAttribute("tenantId") String userTenantId,
+                                          @RequestAttribute("role") String role,
+                                          @RequestParam(defaultValue = "ndjson") String format,
+                                          @RequestParam(required = false) String entities,
+                                          @RequestParam(defaultValue = "false") boolean gzip) {
+        boolean ownTenantAdmin = role.equals("TENANT_ADMIN") && tenantId.toString().equals(userTenantId);
+        if (!role.equals("SUPER_ADMIN") && !ownTenantAdmin) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Unauthorized");
+        }
+
+        Optional<Tenant> tenantOpt = tenantRepository.findByIdAndDeletionRequestedAtIsNull(tenantId);
+        if (tenantOpt.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+
+        TenantExportService.Format exportFormat;
+        List<TenantExportService.Entity> exportEntities;
+        try {
+            exportFormat = TenantExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+            exportEntities = entities == null || entities.isBlank()
+                    ? List.of(TenantExportService.Entity.values())
+                    : Arrays.stream(entities.split(",")).map(TenantExportService.Entity::parse).distinct().toList();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "format must be ndjson or csv; entities a list of projects, tasks, users");
+        }
+
+        // Several CSVs go out as one zip; anything else is a single file, optionally gzipped
+        boolean zip = exportFormat == TenantExportService.Format.CSV && exportEntities.size() > 1;
+        String fileName = "tenant-" + tenantOpt.get().getSubdomain() + "-export";
+        MediaType contentType;
+        if (zip) {
+            fileName += ".zip";
+            contentType = MediaType.parseMediaType("application/zip");
+        } else {
+            fileName += exportFormat == TenantExportService.Format.CSV ? ".csv" : ".ndjson";
+            contentType = exportFormat == TenantExportService.Format.CSV
+                    ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                    : MediaType.parseMediaType("application/x-ndjson");
+            if (gzip) {
+                fileName += ".gz";
+                contentType = MediaType.parseMediaType("application/gzip");
+            }
+        }
+
+        auditService.record("EXPORT", "TENANT", tenantId, tenantId);
+        StreamingResponseBody body = out -> tenantExportService.export(tenantId, exportEntities, exportFormat, gzip, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
     }
 
     private Map<String, Object> buildTenantResponse(Tenant tenant) {
@@ -205,7 +321,7 @@ private Map<String, Object> buildTenantResponse(Tenant tenant) {
 
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalUsers", userRepository.countByTenantId(tenant.getId()));
-        stats.put("totalProjects", projectRepository.countByTenantId(tenant.getId()));
+        stats.put("totalProjects", projectRepository.countByTenantIdAndDeletionRequestedAtIsNull(tenant.getId()));
         data.put("stats", stats);
 
         return data;
@@ -1,8 +1,13 @@
 package com.example.saas.controller;
 
 import com.example.saas.model.User;
+import com.example.saas.repository.TenantRepository;
 import com.example.saas.repository.UserRepository;
+import com.example.saas.service.AuditService;
+import com.example.saas.service.ChangeStampService;
+import com.example.saas.service.DashboardCounters;
 import com.example.saas.util.ApiResponse;
+import com.example.saas.util.Etags;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -10,6 +15,7 @@
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.*;
 
@@ -18,26 +24,45 @@
 public class UserController {
 
     private final UserRepository userRepository;
+    private final TenantRepository tenantRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ChangeStampService changeStampService;
+    private final AuditService auditService;
+    private final DashboardCounters dashboardCounters;
 
-    public UserController(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserController(UserRepository userRepository, TenantRepository tenantRepository,
+                          PasswordEncoder passwordEncoder, ChangeStampService changeStampService,
+                          AuditService auditService, DashboardCounters dashboardCounters) {
         this.userRepository = userRepository;
+        this.tenantRepository = tenantRepository;
         this.passwordEncoder = passwordEncoder;
+        this.changeStampService = changeStampService;
+        this.auditService = auditService;
+        this.dashboardCounters = dashboardCounters;
     }
 
     // List users (super admin only, optional tenant filter)
     @GetMapping
     public ResponseEntity<?> listUsers(@RequestAttribute("role") String role,
-                                       @RequestParam(required = false) String tenantId,
+                                       @RequestParam(required = false) UUID tenantId,
                                        @RequestParam(required = false) String search,
                                        @RequestParam(defaultValue = "1") int page,
-                                       @RequestParam(defaultValue = "50") int limit) {
+                                       @RequestParam(defaultValue = "50") int limit,
+                                       WebRequest webRequest) {
         if (!"SUPER_ADMIN".equals(role)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
+        if (tenantId != null && tenantRepository.findByIdAndDeletionRequestedAtIsNull(tenantId).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("Tenant not found"));
+        }
+
+        if (tenantId != null && webRequest.checkNotModified(changeStampService.tenantEtag(tenantId))) {
+            return null;
+        }
+
         List<User> users;
-        if (tenantId != null && !tenantId.isBlank()) {
+        if (tenantId != null) {
             if (search != null && !search.isBlank()) {
                 users = userRepository
                         .findByTenantIdAndFullNameIgnoreCaseContainingOrTenantIdAndEmailIgnoreCaseContaining(
@@ -48,7 +73,7 @@ public ResponseEntity<?> listUsers(@RequestAttribute("role") String role,
             }
         } else {
             // No tenant filter: search across all users
-            List<User> pageContent = userRepository.findAll(PageRequest.of(page - 1, Math.min(limit, 100))).getContent();
+            List<User> pageContent = userRepository.findAllOutsideDeletedTenants(PageRequest.of(page - 1, Math.min(limit, 100))).getContent();
             if (search != null && !search.isBlank()) {
                 users = pageContent.stream()
                         .filter(u -> u.getFullName().toLowerCase().contains(search.toLowerCase())
@@ -63,41 +88,48 @@ public ResponseEntity<?> listUsers(@RequestAttribute("role") String role,
                 .map(this::buildUserResponse)
                 .toList();
 
+        if (tenantId != null) {
+            return ResponseEntity.ok().cacheControl(Etags.REVALIDATE).body(ApiResponse.ok(payload));
+        }
         return ResponseEntity.ok(ApiResponse.ok(payload));
     }
 
     // Get user profile
     @GetMapping("/{userId}")
-    public ResponseEntity<?> getUser(@PathVariable String userId,
+    public ResponseEntity<?> getUser(@PathVariable UUID userId,
                                     @RequestAttribute("tenantId") String tenantId,
                                     @RequestAttribute("userId") String currentUserId,
-                                    @RequestAttribute("role") String currentRole) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
+                                    @RequestAttribute("role") String currentRole,
+                                    WebRequest webRequest) {
+        Optional<ChangeStampService.Stamp> stamp = changeStampService.userStamp(userId);
+        if (stamp.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
-        User user = userOpt.get();
-        // Allow user to view own profile or tenant admin/super_admin to view any user in tenant
-        if (!currentUserId.equals(userId) && !currentRole.equals("SUPER_ADMIN") &&
-            !(currentRole.equals("TENANT_ADMIN") && user.getTenant().getId().equals(tenantId))) {
+        if (!canAccessUser(userId, stamp.get().tenantId(), tenantId, currentUserId, currentRole)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
-        if (!currentRole.equals("SUPER_ADMIN") && user.getTenant() != null && !user.getTenant().getId().equals(tenantId)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
+        if (webRequest.checkNotModified(stamp.get().etag())) {
+            return null;
+        }
+
+        Optional<User> userOpt = userRepository.findById(userId);
+        if (userOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
         }
 
-        return ResponseEntity.ok(ApiResponse.ok(buildUserResponse(user)));
+        return ResponseEntity.ok().cacheControl(Etags.REVALIDATE).body(ApiResponse.ok(buildUserResponse(userOpt.get())));
     }
 
     // Update user profile
     @PutMapping("/{userId}")
-    public ResponseEntity<?> updateUser(@PathVariable String userId,
+    public ResponseEntity<?> updateUser(@PathVariable UUID userId,
                                        @RequestBody UpdateUserRequest request,
                                        @RequestAttribute("tenantId") String tenantId,
                                        @RequestAttribute("userId") String currentUserId,
-                                       @RequestAttribute("role") String currentRole) {
+                                       @RequestAttribute("role") String currentRole,
+                                       WebRequest webRequest) {
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -107,24 +139,25 @@ public ResponseEntity<?> updateUser(@PathVariable String userId,
 
         // Authorization: user can update own profile, tenant_admin can update any user in tenant,
         // super_admin can update anyone
-        if (!currentUserId.equals(userId) && !currentRole.equals("SUPER_ADMIN") &&
-            !(currentRole.equals("TENANT_ADMIN") && user.getTenant().getId().equals(tenantId))) {
+        UUID userTenantId = user.getTenant() != null ? user.getTenant().getId() : null;
+        if (!canAccessUser(userId, userTenantId, tenantId, currentUserId, currentRole)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
-        if (!currentRole.equals("SUPER_ADMIN") && user.getTenant() != null && !user.getTenant().getId().equals(tenantId)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
+        if (ifMatchFailed(userId, webRequest)) {
+            return null;
         }
 
         // Regular users can only update their own display name
         if (currentRole.equals("USER")) {
-            if (!currentUserId.equals(userId)) {
+            if (!currentUserId.equals(userId.toString())) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
             }
             if (request.fullName != null) {
                 user.setFullName(request.fullName);
             }
             User updated = userRepository.save(user);
+        auditService.record("UPDATE", "USER", userId, userTenantId);
             return ResponseEntity.ok(ApiResponse.ok("User updated", buildUserResponse(updated)));
         }
 
@@ -132,7 +165,8 @@ public ResponseEntity<?> updateUser(@PathVariable String userId,
         if (request.fullName != null) user.setFullName(request.fullName);
         if (request.email != null) {
             // Check email uniqueness within tenant
-            String targetTenantId = user.getTenant() != null ? user.getTenant().getId() : tenantId;
+            UUID targetTenantId = user.getTenant() != null ? user.getTenant().getId()
+                    : (tenantId.isBlank() ? null : UUID.fromString(tenantId));
             Optional<User> existingUser = userRepository.findByEmailAndTenantId(request.email, targetTenantId);
             if (existingUser.isPresent() && !existingUser.get().getId().equals(userId)) {
                 return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error("Email already in use"));
@@ -150,15 +184,17 @@ public ResponseEntity<?> updateUser(@PathVariable String userId,
         }
 
         User updated = userRepository.save(user);
+        auditService.record("UPDATE", "USER", userId, userTenantId);
         return ResponseEntity.ok(ApiResponse.ok("User updated", buildUserResponse(updated)));
     }
 
     // Delete user
     @DeleteMapping("/{userId}")
-    public ResponseEntity<?> deleteUser(@PathVariable String userId,
+    public ResponseEntity<?> deleteUser(@PathVariable UUID userId,
                                        @RequestAttribute("tenantId") String tenantId,
                                        @RequestAttribute("userId") String currentUserId,
-                                       @RequestAttribute("role") String role) {
+                                       @RequestAttribute("role") String role,
+                                       WebRequest webRequest) {
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -167,23 +203,51 @@ public ResponseEntity<?> deleteUser(@PathVariable String userId,
         User user = userOpt.get();
 
         // Authorization: only tenant_admin and super_admin can delete users
-        if (!role.equals("SUPER_ADMIN") && !(role.equals("TENANT_ADMIN") && user.getTenant().getId().equals(tenantId))) {
+        if (!role.equals("SUPER_ADMIN") && !(role.equals("TENANT_ADMIN") && user.getTenant().getId().toString().equals(tenantId))) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
         // Tenant admin cannot delete themselves
-        if (role.equals("TENANT_ADMIN") && user.getId().equals(currentUserId)) {
+        if (role.equals("TENANT_ADMIN") && user.getId().toString().equals(currentUserId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Cannot delete own account"));
         }
 
-        if (!role.equals("SUPER_ADMIN") && user.getTenant() != null && !user.getTenant().getId().equals(tenantId)) {
+        if (!role.equals("SUPER_ADMIN") && user.getTenant() != null && !user.getTenant().getId().toString().equals(tenantId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Unauthorized"));
         }
 
+        if (ifMatchFailed(userId, webRequest)) {
+            return null;
+        }
+
         userRepository.delete(user);
+        auditService.record("DELETE", "USER", userId, user.getTenant() != null ? user.getTenant().getId() : null);
+        dashboardCounters.userDeleted(user.getTenant() != null ? user.getTenant().getId() : null);
         return ResponseEntity.ok(ApiResponse.ok("User deleted", null));
     }
 
+    // Own profile, any user for super admin, or a user of the same tenant for tenant admin
+    private boolean canAccessUser(UUID userId, UUID userTenantId, String tenantId,
+                                  String currentUserId, String currentRole) {
+        if (currentRole.equals("SUPER_ADMIN")) {
+            return true;
+        }
+        if (userTenantId != null && !userTenantId.toString().equals(tenantId)) {
+            return false;
+        }
+        return currentUserId.equals(userId.toString())
+                || (currentRole.equals("TENANT_ADMIN") && userTenantId != null);
+    }
+
+    // Compares If-Match against the stored row, since updated_at is rounded by the database
+    private boolean ifMatchFailed(UUID userId, WebRequest webRequest) {
+        if (!Etags.isConditional(webRequest)) {
+            return false;
+        }
+        String etag = changeStampService.userStamp(userId).map(ChangeStampService.Stamp::etag).orElse("");
+        return webRequest.checkNotModified(etag);
+    }
+
     private Map<String, Object> buildUserResponse(User user) {
         Map<String, Object> data = new HashMap<>();
         data.put("id", user.getId());
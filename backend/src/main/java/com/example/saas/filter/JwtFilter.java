@@ -1,5 +1,7 @@
 package com.example.saas.filter;
 
+import com.example.saas.service.ApiMetrics;
+import com.example.saas.service.DeletionJobService;
 import com.example.saas.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -12,6 +14,7 @@
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.UUID;
 
 /**
  * JWT authentication filter that extracts and validates JWT tokens
@@ -21,9 +24,13 @@
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final ApiMetrics apiMetrics;
+    private final DeletionJobService deletionJobService;
 
-    public JwtFilter(JwtUtil jwtUtil) {
+    public JwtFilter(JwtUtil jwtUtil, ApiMetrics apiMetrics, DeletionJobService deletionJobService) {
         this.jwtUtil = jwtUtil;
+        this.apiMetrics = apiMetrics;
+        this.deletionJobService = deletionJobService;
     }
 
     @Override
@@ -38,6 +45,13 @@ protected void doFilterInternal(HttpServletRequest request, HttpServletResponse
                 String tenantId = jwtUtil.getTenantIdFromToken(token);
                 String role = jwtUtil.getRoleFromToken(token);
 
+                // Tokens outlive a tenant deletion request, so they are refused here rather than only at login
+                if (tenantId != null && deletionJobService.isTenantDeleted(UUID.fromString(tenantId))) {
+                    apiMetrics.authFailure("tenant_deleted");
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+
                 // Ensure request attributes are always present so controllers using
                 // @RequestAttribute do not fail when tenantId is null (e.g., super admin)
                 request.setAttribute("userId", userId);
@@ -48,6 +62,8 @@ protected void doFilterInternal(HttpServletRequest request, HttpServletResponse
                 UsernamePasswordAuthenticationToken auth = 
                     new UsernamePasswordAuthenticationToken(userId, null, new ArrayList<>());
                 SecurityContextHolder.getContext().setAuthentication(auth);
+            } else {
+                apiMetrics.authFailure("invalid_token");
             }
         }
 
@@ -0,0 +1,206 @@
+package com.example.saas.filter;
+
+import com.example.saas.util.RequestSqlStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements behind each request and, when enabled, reports them in a Server-Timing
+ * header (db with the statement count, serialization, total). The header is off by default because
+ * it hands any caller the database time of the request. It has to be set before the
+ * response commits, so the wrapped response adds it just before the first flush or the write
+ * that would fill the container's buffer; for bodies larger than the buffer, serialization and
+ * total cover the part written up to that point. Requests over their query budget are logged
+ * with the statement they repeated most, which is how N+1s show up.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private final int defaultBudget;
+    private final int repeatThreshold;
+    private final boolean header;
+
+    /**
+     * @param header whether to send Server-Timing; off, the counts are only used for logging
+     */
+    public ServerTimingFilter(int defaultBudget, int repeatThreshold, boolean header) {
+        this.defaultBudget = defaultBudget;
+        this.repeatThreshold = repeatThreshold;
+        this.header = header;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestSqlStats stats = RequestSqlStats.begin(defaultBudget);
+        request.setAttribute(RequestSqlStats.REQUEST_ATTRIBUTE, stats);
+        TimingResponse timed = header ? new TimingResponse(response, stats, start) : null;
+        try {
+            filterChain.doFilter(request, timed != null ? timed : response);
+        } finally {
+            RequestSqlStats.end();
+            if (timed != null) {
+                timed.addServerTiming();
+            }
+            report(request, stats, start);
+        }
+    }
+
+    private void report(HttpServletRequest request, RequestSqlStats stats, long start) {
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        boolean repeats = repeated != null && repeated.getValue() >= repeatThreshold;
+        if (!stats.overBudget() && !repeats) {
+            return;
+        }
+        log.warn("{} {} ran {} SQL statements (budget {}) in {} ms, {} ms of it in the database; most repeated ({}x): {}",
+                request.getMethod(), request.getRequestURI(), stats.statements(), stats.budget(),
+                (System.nanoTime() - start) / 1_000_000, stats.dbNanos() / 1_000_000,
+                repeated != null ? repeated.getValue() : 0, repeated != null ? repeated.getKey() : "-");
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Sets Server-Timing once, right before anything can commit the response
+     */
+    private static final class TimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestSqlStats stats;
+        private final long start;
+        private long serializationStart;
+        private boolean timingAdded;
+        private ServletOutputStream outputStream;
+
+        TimingResponse(HttpServletResponse response, RequestSqlStats stats, long start) {
+            super(response);
+            this.stats = stats;
+            this.start = start;
+        }
+
+        // Message converters ask for the stream just before they start serializing the body
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                serializationStart = System.nanoTime();
+                outputStream = new TimingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+
+        void addServerTiming() {
+            if (timingAdded || isCommitted()) {
+                timingAdded = true;
+                return;
+            }
+            timingAdded = true;
+            long now = System.nanoTime();
+            StringBuilder header = new StringBuilder()
+                    .append("db;dur=").append(millis(stats.dbNanos()))
+                    .append(";desc=\"").append(stats.statements()).append(" queries\"");
+            if (serializationStart > 0) {
+                header.append(", serialization;dur=").append(millis(now - serializationStart));
+            }
+            header.append(", total;dur=").append(millis(now - start));
+            setHeader("Server-Timing", header.toString());
+        }
+
+        private final class TimingOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream target;
+            private long written;
+
+            TimingOutputStream(ServletOutputStream target) {
+                this.target = target;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                beforeWrite(1);
+                target.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                beforeWrite(len);
+                target.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                addServerTiming();
+                target.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                addServerTiming();
+                target.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return target.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                target.setWriteListener(writeListener);
+            }
+
+            // The container commits once its buffer fills
+            private void beforeWrite(int len) {
+                written += len;
+                if (!timingAdded && written >= getBufferSize()) {
+                    addServerTiming();
+                }
+            }
+        }
+    }
+}
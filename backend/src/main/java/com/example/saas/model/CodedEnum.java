@@ -0,0 +1,10 @@
+package com.example.saas.model;
+
+/**
+ * Enum with a stable numeric code used for database storage
+ * Codes are part of the schema: never renumber or reuse one, only append
+ */
+public interface CodedEnum {
+
+    short getCode();
+}
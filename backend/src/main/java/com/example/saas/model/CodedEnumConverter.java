@@ -0,0 +1,50 @@
+package com.example.saas.model;
+
+import jakarta.persistence.AttributeConverter;
+
+import java.lang.reflect.Array;
+
+/**
+ * Stores a {@link CodedEnum} as its smallint code
+ * The lookup table is indexed by code, so reads never scan the enum constants
+ *
+ * @param <E> The enum being converted
+ */
+public abstract class CodedEnumConverter<E extends Enum<E> & CodedEnum> implements AttributeConverter<E, Short> {
+
+    private final Class<E> type;
+    private final E[] byCode;
+
+    @SuppressWarnings("unchecked")
+    protected CodedEnumConverter(Class<E> type) {
+        this.type = type;
+        E[] constants = type.getEnumConstants();
+        int max = 0;
+        for (E constant : constants) {
+            max = Math.max(max, constant.getCode());
+        }
+        this.byCode = (E[]) Array.newInstance(type, max + 1);
+        for (E constant : constants) {
+            if (byCode[constant.getCode()] != null) {
+                throw new IllegalStateException("Duplicate code " + constant.getCode() + " in " + type.getSimpleName());
+            }
+            byCode[constant.getCode()] = constant;
+        }
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(E attribute) {
+        return attribute == null ? null : attribute.getCode();
+    }
+
+    @Override
+    public E convertToEntityAttribute(Short code) {
+        if (code == null) {
+            return null;
+        }
+        if (code < 0 || code >= byCode.length || byCode[code] == null) {
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " code: " + code);
+        }
+        return byCode[code];
+    }
+}
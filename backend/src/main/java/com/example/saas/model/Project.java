@@ -2,6 +2,7 @@
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * Project entity with tenant isolation
@@ -14,8 +15,8 @@
 public class Project {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @GeneratedUuidV7
+    private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tenant_id", nullable = false)
@@ -27,7 +28,7 @@ public class Project {
     @Column(columnDefinition = "TEXT")
     private String description;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = ProjectStatusConverter.class)
     @Column(nullable = false)
     private ProjectStatus status = ProjectStatus.ACTIVE;
 
@@ -41,8 +42,32 @@ public class Project {
     @Column(nullable = false)
     private LocalDateTime updatedAt = LocalDateTime.now();
 
-    public enum ProjectStatus {
-        ACTIVE, ARCHIVED, COMPLETED
+    // Set only by DeletionJobService; the project is hidden from reads from then on
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime deletionRequestedAt;
+
+    public enum ProjectStatus implements CodedEnum {
+        ACTIVE(1),
+        ARCHIVED(2),
+        COMPLETED(3);
+
+        private final short code;
+
+        ProjectStatus(int code) {
+            this.code = (short) code;
+        }
+
+        @Override
+        public short getCode() {
+            return code;
+        }
+    }
+
+    @Converter
+    public static class ProjectStatusConverter extends CodedEnumConverter<ProjectStatus> {
+        public ProjectStatusConverter() {
+            super(ProjectStatus.class);
+        }
     }
 
     public Project() {
@@ -53,11 +78,11 @@ public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
     }
 
-    public String getId() {
+    public UUID getId() {
         return id;
     }
 
-    public void setId(String id) {
+    public void setId(UUID id) {
         this.id = id;
     }
 
@@ -116,4 +141,8 @@ public LocalDateTime getUpdatedAt() {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public LocalDateTime getDeletionRequestedAt() {
+        return deletionRequestedAt;
+    }
 }
@@ -1,22 +1,27 @@
 package com.example.saas.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * Task entity with project and tenant associations
  * Supports priority levels, status tracking, and user assignment
+ * Versioned for optimistic locking; updates only write the columns that changed
  */
 @Entity
+@DynamicUpdate
 @Table(name = "tasks", indexes = {
     @Index(name = "idx_tenant_project", columnList = "tenant_id, project_id")
 })
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @GeneratedUuidV7
+    private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
@@ -32,11 +37,11 @@ public class Task {
     @Column(columnDefinition = "TEXT")
     private String description;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = TaskStatusConverter.class)
     @Column(nullable = false)
     private TaskStatus status = TaskStatus.TODO;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = TaskPriorityConverter.class)
     @Column(nullable = false)
     private TaskPriority priority = TaskPriority.MEDIUM;
 
@@ -53,12 +58,56 @@ public class Task {
     @Column(nullable = false)
     private LocalDateTime updatedAt = LocalDateTime.now();
 
-    public enum TaskStatus {
-        TODO, IN_PROGRESS, COMPLETED
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    public enum TaskStatus implements CodedEnum {
+        TODO(1),
+        IN_PROGRESS(2),
+        COMPLETED(3);
+
+        private final short code;
+
+        TaskStatus(int code) {
+            this.code = (short) code;
+        }
+
+        @Override
+        public short getCode() {
+            return code;
+        }
+    }
+
+    @Converter
+    public static class TaskStatusConverter extends CodedEnumConverter<TaskStatus> {
+        public TaskStatusConverter() {
+            super(TaskStatus.class);
+        }
     }
 
-    public enum TaskPriority {
-        LOW, MEDIUM, HIGH
+    public enum TaskPriority implements CodedEnum {
+        LOW(1),
+        MEDIUM(2),
+        HIGH(3);
+
+        private final short code;
+
+        TaskPriority(int code) {
+            this.code = (short) code;
+        }
+
+        @Override
+        public short getCode() {
+            return code;
+        }
+    }
+
+    @Converter
+    public static class TaskPriorityConverter extends CodedEnumConverter<TaskPriority> {
+        public TaskPriorityConverter() {
+            super(TaskPriority.class);
+        }
     }
 
     public Task() {}
@@ -68,8 +117,8 @@ public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
     }
 
-    public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
 
     public Project getProject() { return project; }
     public void setProject(Project project) { this.project = project; }
@@ -100,4 +149,7 @@ public void preUpdate() {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
@@ -2,6 +2,7 @@
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * Tenant entity for multi-tenant isolation
@@ -12,8 +13,8 @@
 public class Tenant {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @GeneratedUuidV7
+    private UUID id;
 
     @Column(nullable = false)
     private String name;
@@ -21,11 +22,11 @@ public class Tenant {
     @Column(nullable = false, unique = true)
     private String subdomain;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = TenantStatusConverter.class)
     @Column(nullable = false)
     private TenantStatus status = TenantStatus.ACTIVE;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = SubscriptionPlanConverter.class)
     @Column(nullable = false)
     private SubscriptionPlan subscriptionPlan = SubscriptionPlan.FREE;
 
@@ -41,12 +42,56 @@ public class Tenant {
     @Column(nullable = false)
     private LocalDateTime updatedAt = LocalDateTime.now();
 
-    public enum TenantStatus {
-        ACTIVE, SUSPENDED, TRIAL
+    // Set only by DeletionJobService; the tenant is hidden from reads from then on
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime deletionRequestedAt;
+
+    public enum TenantStatus implements CodedEnum {
+        ACTIVE(1),
+        SUSPENDED(2),
+        TRIAL(3);
+
+        private final short code;
+
+        TenantStatus(int code) {
+            this.code = (short) code;
+        }
+
+        @Override
+        public short getCode() {
+            return code;
+        }
+    }
+
+    @Converter
+    public static class TenantStatusConverter extends CodedEnumConverter<TenantStatus> {
+        public TenantStatusConverter() {
+            super(TenantStatus.class);
+        }
     }
 
-    public enum SubscriptionPlan {
-        FREE, PRO, ENTERPRISE
+    public enum SubscriptionPlan implements CodedEnum {
+        FREE(1),
+        PRO(2),
+        ENTERPRISE(3);
+
+        private final short code;
+
+        SubscriptionPlan(int code) {
+            this.code = (short) code;
+        }
+
+        @Override
+        public short getCode() {
+            return code;
+        }
+    }
+
+    @Converter
+    public static class SubscriptionPlanConverter extends CodedEnumConverter<SubscriptionPlan> {
+        public SubscriptionPlanConverter() {
+            super(SubscriptionPlan.class);
+        }
     }
 
     public Tenant() {}
@@ -56,8 +101,8 @@ public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
     }
 
-    public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
 
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
@@ -82,4 +127,6 @@ public void preUpdate() {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getDeletionRequestedAt() { return deletionRequestedAt; }
 }
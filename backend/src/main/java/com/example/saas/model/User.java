@@ -2,6 +2,7 @@
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * User entity representing platform users with tenant association
@@ -14,8 +15,8 @@
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @GeneratedUuidV7
+    private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tenant_id")
@@ -30,7 +31,7 @@ public class User {
     @Column(nullable = false)
     private String fullName;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = UserRoleConverter.class)
     @Column(nullable = false)
     private UserRole role;
 
@@ -43,8 +44,28 @@ public class User {
     @Column(nullable = false)
     private LocalDateTime updatedAt = LocalDateTime.now();
 
-    public enum UserRole {
-        SUPER_ADMIN, TENANT_ADMIN, USER
+    public enum UserRole implements CodedEnum {
+        SUPER_ADMIN(1),
+        TENANT_ADMIN(2),
+        USER(3);
+
+        private final short code;
+
+        UserRole(int code) {
+            this.code = (short) code;
+        }
+
+        @Override
+        public short getCode() {
+            return code;
+        }
+    }
+
+    @Converter
+    public static class UserRoleConverter extends CodedEnumConverter<UserRole> {
+        public UserRoleConverter() {
+            super(UserRole.class);
+        }
     }
 
     public User() {}
@@ -54,8 +75,8 @@ public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
     }
 
-    public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
 
     public Tenant getTenant() { return tenant; }
     public void setTenant(Tenant tenant) { this.tenant = tenant; }
@@ -6,8 +6,14 @@
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+import java.util.UUID;
+
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, String> {
-    Page<Project> findByTenantId(String tenantId, Pageable pageable);
-    long countByTenantId(String tenantId);
+public interface ProjectRepository extends JpaRepository<Project, UUID> {
+    // Projects awaiting deletion (see DeletionJobService) are hidden from these
+    Optional<Project> findByIdAndDeletionRequestedAtIsNull(UUID id);
+    Page<Project> findByTenantIdAndDeletionRequestedAtIsNull(UUID tenantId, Pageable pageable);
+    Page<Project> findByDeletionRequestedAtIsNull(Pageable pageable);
+    long countByTenantIdAndDeletionRequestedAtIsNull(UUID tenantId);
 }
@@ -0,0 +1,203 @@
+package com.example.saas.repository;
+
+import com.example.saas.model.Project;
+import com.example.saas.model.Task;
+import com.example.saas.model.User;
+import com.example.saas.service.ChangeStampService;
+import com.example.saas.util.Etags;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Read-only queries for the non-blocking read path (/api/reactive/**), over R2DBC
+ * Rows are mapped straight to the same response maps the MVC controllers build, so a
+ * row can be written out as soon as it arrives. Related names and task counts come from
+ * joins in the same statement instead of lazy loads.
+ */
+@Repository
+@ConditionalOnProperty(name = "reactive.reads.enabled", havingValue = "true")
+public class ReactiveReadRepository {
+
+    private static final Task.TaskStatusConverter TASK_STATUS = new Task.TaskStatusConverter();
+    private static final Task.TaskPriorityConverter TASK_PRIORITY = new Task.TaskPriorityConverter();
+    private static final Project.ProjectStatusConverter PROJECT_STATUS = new Project.ProjectStatusConverter();
+    private static final User.UserRoleConverter USER_ROLE = new User.UserRoleConverter();
+
+    private static final String PROJECT_COLUMNS = "SELECT p.id, p.tenant_id, p.name, p.description, p.status, "
+            + "p.created_at, u.id AS creator_id, u.full_name AS creator_name, "
+            + "(SELECT count(*) FROM tasks t WHERE t.project_id = p.id) AS task_count "
+            + "FROM projects p LEFT JOIN users u ON u.id = p.created_by";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Same ETag as {@link ChangeStampService#tenantEtag(UUID)}
+     */
+    public Mono<String> tenantEtag(UUID tenantId) {
+        return databaseClient.sql("SELECT stamp FROM change_stamps WHERE scope_id = :tenantId")
+                .bind("tenantId", tenantId)
+                .map(row -> row.get("stamp", Long.class))
+                .first()
+                .defaultIfEmpty(0L)
+                .map(Etags::of);
+    }
+
+    /**
+     * Same stamp as {@link ChangeStampService#projectStamp(UUID)}
+     *
+     * @return Empty when the project does not exist or is awaiting deletion
+     */
+    public Mono<ChangeStampService.Stamp> projectStamp(UUID projectId) {
+        return databaseClient.sql("SELECT p.tenant_id, COALESCE(s.stamp, 0) AS stamp FROM projects p "
+                        + "LEFT JOIN change_stamps s ON s.scope_id = p.id "
+                        + "WHERE p.id = :projectId AND p.deletion_requested_at IS NULL")
+                .bind("projectId", projectId)
+                .map(row -> new ChangeStampService.Stamp(row.get("tenant_id", UUID.class),
+                        Etags.of(row.get("stamp", Long.class))))
+                .first();
+    }
+
+    /**
+     * @param tenantId Tenant to list, or null for every tenant
+     */
+    public Flux<Map<String, Object>> findProjects(UUID tenantId, long offset, int limit) {
+        String where = " WHERE p.deletion_requested_at IS NULL" + (tenantId != null ? " AND p.tenant_id = :tenantId" : "");
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(PROJECT_COLUMNS + where
+                        + " ORDER BY p.created_at DESC, p.id LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset);
+        if (tenantId != null) {
+            spec = spec.bind("tenantId", tenantId);
+        }
+        return spec.map(ReactiveReadRepository::mapProject).all();
+    }
+
+    public Mono<Map<String, Object>> findProject(UUID projectId) {
+        return databaseClient.sql(PROJECT_COLUMNS + " WHERE p.id = :projectId AND p.deletion_requested_at IS NULL")
+                .bind("projectId", projectId)
+                .map(ReactiveReadRepository::mapProject)
+                .first();
+    }
+
+    public Flux<Map<String, Object>> findTasks(UUID projectId, long offset, int limit) {
+        return databaseClient.sql("SELECT t.id, t.project_id, t.title, t.description, t.status, t.priority, "
+                        + "t.due_date, t.created_at, t.updated_at, t.version, "
+                        + "u.id AS assignee_id, u.full_name AS assignee_name, u.email AS assignee_email "
+                        + "FROM tasks t LEFT JOIN users u ON u.id = t.assigned_to "
+                        + "WHERE t.project_id = :projectId ORDER BY t.created_at DESC, t.id "
+                        + "LIMIT :limit OFFSET :offset")
+                .bind("projectId", projectId)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveReadRepository::mapTask)
+                .all();
+    }
+
+    public Mono<Long> countTasks(UUID projectId) {
+        return databaseClient.sql("SELECT count(*) AS total FROM tasks WHERE project_id = :projectId")
+                .bind("projectId", projectId)
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    /**
+     * @param tenantId Tenant to list, or null for every tenant
+     * @param search   Case-insensitive match on name or email, or null
+     */
+    public Flux<Map<String, Object>> findUsers(UUID tenantId, String search, long offset, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT id, tenant_id, email, full_name, role, is_active, "
+                + "created_at, updated_at FROM users WHERE (tenant_id IS NULL "
+                + "OR tenant_id IN (SELECT id FROM tenants WHERE deletion_requested_at IS NULL))");
+        if (tenantId != null) {
+            sql.append(" AND tenant_id = :tenantId");
+        }
+        if (search != null) {
+            sql.append(" AND (full_name ILIKE :search OR email ILIKE :search)");
+        }
+        sql.append(" ORDER BY created_at DESC, id LIMIT :limit OFFSET :offset");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("limit", limit)
+                .bind("offset", offset);
+        if (tenantId != null) {
+            spec = spec.bind("tenantId", tenantId);
+        }
+        if (search != null) {
+            spec = spec.bind("search", "%" + search.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+        }
+        return spec.map(ReactiveReadRepository::mapUser).all();
+    }
+
+    private static Map<String, Object> mapProject(Readable row) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", row.get("id", UUID.class));
+        data.put("tenantId", row.get("tenant_id", UUID.class));
+        data.put("name", row.get("name", String.class));
+        data.put("description", row.get("description", String.class));
+        data.put("status", PROJECT_STATUS.convertToEntityAttribute(row.get("status", Short.class)));
+        UUID creatorId = row.get("creator_id", UUID.class);
+        if (creatorId != null) {
+            Map<String, Object> creator = new HashMap<>();
+            creator.put("id", creatorId);
+            creator.put("fullName", row.get("creator_name", String.class));
+            data.put("createdBy", creator);
+        }
+        data.put("taskCount", row.get("task_count", Long.class));
+        data.put("createdAt", row.get("created_at", LocalDateTime.class));
+        return data;
+    }
+
+    private static Map<String, Object> mapTask(Readable row) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", row.get("id", UUID.class));
+        data.put("projectId", row.get("project_id", UUID.class));
+        data.put("title", row.get("title", String.class));
+        data.put("description", row.get("description", String.class));
+        data.put("status", TASK_STATUS.convertToEntityAttribute(row.get("status", Short.class)));
+        data.put("priority", TASK_PRIORITY.convertToEntityAttribute(row.get("priority", Short.class)));
+        LocalDate dueDate = row.get("due_date", LocalDate.class);
+        data.put("dueDate", dueDate != null ? dueDate.toString() : null);
+        UUID assigneeId = row.get("assignee_id", UUID.class);
+        if (assigneeId != null) {
+            Map<String, Object> assignee = new HashMap<>();
+            assignee.put("id", assigneeId);
+            assignee.put("fullName", row.get("assignee_name", String.class));
+            assignee.put("email", row.get("assignee_email", String.class));
+            data.put("assignedTo", assignee);
+        }
+        data.put("createdAt", row.get("created_at", LocalDateTime.class));
+        data.put("updatedAt", row.get("updated_at", LocalDateTime.class));
+        data.put("version", row.get("version", Long.class));
+        return data;
+    }
+
+    private static Map<String, Object> mapUser(Readable row) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", row.get("id", UUID.class));
+        data.put("email", row.get("email", String.class));
+        data.put("fullName", row.get("full_name", String.class));
+        data.put("role", USER_ROLE.convertToEntityAttribute(row.get("role", Short.class)));
+        data.put("isActive", row.get("is_active", Boolean.class));
+        UUID tenantId = row.get("tenant_id", UUID.class);
+        if (tenantId != null) {
+            data.put("tenantId", tenantId);
+        }
+        data.put("createdAt", row.get("created_at", LocalDateTime.class));
+        data.put("updatedAt", row.get("updated_at", LocalDateTime.class));
+        return data;
+    }
+}
@@ -4,12 +4,34 @@
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, String> {
-    Page<Task> findByProjectIdAndTenantId(String projectId, String tenantId, Pageable pageable);
-    Page<Task> findByProjectId(String projectId, Pageable pageable);
-    Page<Task> findByTenantId(String tenantId, Pageable pageable);
-    long countByProjectId(String projectId);
+public interface TaskRepository extends JpaRepository<Task, UUID>, TaskRepositoryCustom {
+    Page<Task> findByProjectIdAndTenantId(UUID projectId, UUID tenantId, Pageable pageable);
+    Page<Task> findByProjectId(UUID projectId, Pageable pageable);
+    long countByProjectId(UUID projectId);
+    // Task counts of a page of projects in one query; projects without tasks are absent. The tenant ids
+    // change nothing, as tasks share their project's tenant, but let the scan use idx_tasks_tenant_project
+    @Query("SELECT t.project.id AS projectId, COUNT(t) AS taskCount FROM Task t "
+            + "WHERE t.tenant.id IN :tenantIds AND t.project.id IN :projectIds GROUP BY t.project.id")
+    List<ProjectTaskCount> countByProjects(@Param("tenantIds") Collection<UUID> tenantIds,
+            @Param("projectIds") Collection<UUID> projectIds);
+    List<Task> findByIdInAndProjectId(Collection<UUID> ids, UUID projectId);
+
+    // Tasks of projects awaiting deletion are hidden from these
+    Page<Task> findByProjectIdAndProjectDeletionRequestedAtIsNull(UUID projectId, Pageable pageable);
+    Page<Task> findByTenantIdAndProjectDeletionRequestedAtIsNull(UUID tenantId, Pageable pageable);
+    Page<Task> findByProjectDeletionRequestedAtIsNull(Pageable pageable);
+
+    interface ProjectTaskCount {
+        UUID getProjectId();
+        long getTaskCount();
+    }
 }
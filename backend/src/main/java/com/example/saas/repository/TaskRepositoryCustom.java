@@ -0,0 +1,23 @@
+package com.example.saas.repository;
+
+import com.example.saas.model.Task;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Set a task's status with one conditional UPDATE ... RETURNING, locking the row to read its previous status
+     *
+     * @param taskId          Task to update
+     * @param tenantId        Tenant the task must belong to, or null for no tenant restriction
+     * @param status          New status
+     * @param expectedVersion Version the caller last saw, or null to skip the optimistic check
+     * @return The updated task and its previous status, or empty when no row matched the id, tenant and version
+     */
+    Optional<StatusUpdate> updateStatus(UUID taskId, UUID tenantId, Task.TaskStatus status, Long expectedVersion);
+
+    record StatusUpdate(Task task, Task.TaskStatus previousStatus) {
+    }
+}
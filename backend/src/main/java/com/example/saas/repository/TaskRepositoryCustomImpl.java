@@ -0,0 +1,61 @@
+package com.example.saas.repository;
+
+import com.example.saas.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final Task.TaskStatusConverter STATUS_CONVERTER = new Task.TaskStatusConverter();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public Optional<StatusUpdate> updateStatus(UUID taskId, UUID tenantId, Task.TaskStatus status, Long expectedVersion) {
+        // The previous status comes from a locking read in the same statement. A self-join on tasks would
+        // not do: under READ COMMITTED only the updated row is re-read after waiting on a concurrent
+        // writer, so the joined copy could still show the status from before that writer's change
+        StringBuilder sql = new StringBuilder("WITH old AS (SELECT t.id, t.status FROM tasks t WHERE t.id = :id "
+                + "AND NOT EXISTS (SELECT 1 FROM projects p WHERE p.id = t.project_id AND p.deletion_requested_at IS NOT NULL)");
+        if (tenantId != null) {
+            sql.append(" AND t.tenant_id = :tenantId");
+        }
+        if (expectedVersion != null) {
+            sql.append(" AND t.version = :version");
+        }
+        sql.append(" FOR UPDATE OF t) "
+                + "UPDATE tasks t SET status = :status, updated_at = now(), version = t.version + 1 "
+                + "FROM old WHERE t.id = old.id RETURNING t.*, old.status AS previous_status");
+
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql.toString())
+                .unwrap(NativeQuery.class)
+                .addEntity("t", Task.class)
+                .addScalar("previous_status", StandardBasicTypes.SHORT);
+        query.setParameter("status", status.getCode())
+                .setParameter("id", taskId);
+        if (tenantId != null) {
+            query.setParameter("tenantId", tenantId);
+        }
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().findFirst().map(row -> {
+            Task task = (Task) row[0];
+            // addEntity hands back an instance already in the persistence context without the RETURNING values
+            entityManager.refresh(task);
+            return new StatusUpdate(task, STATUS_CONVERTER.convertToEntityAttribute((Short) row[1]));
+        });
+    }
+}
@@ -1,12 +1,20 @@
 package com.example.saas.repository;
 
 import com.example.saas.model.Tenant;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public interface TenantRepository extends JpaRepository<Tenant, String> {
+public interface TenantRepository extends JpaRepository<Tenant, UUID> {
     Optional<Tenant> findBySubdomain(String subdomain);
+
+    // Tenants awaiting deletion (see DeletionJobService) are hidden from these
+    Optional<Tenant> findByIdAndDeletionRequestedAtIsNull(UUID id);
+    Optional<Tenant> findBySubdomainAndDeletionRequestedAtIsNull(String subdomain);
+    Page<Tenant> findByDeletionRequestedAtIsNull(Pageable pageable);
 }
@@ -4,15 +4,23 @@
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
-    Optional<User> findByEmailAndTenantId(String email, String tenantId);
+public interface UserRepository extends JpaRepository<User, UUID> {
+    Optional<User> findByEmailAndTenantId(String email, UUID tenantId);
     Optional<User> findByEmail(String email);
-    Page<User> findByTenantId(String tenantId, Pageable pageable);
-    Page<User> findByTenantIdAndFullNameIgnoreCaseContainingOrTenantIdAndEmailIgnoreCaseContaining(String tenantId1, String name, String tenantId2, String email, Pageable pageable);
-    long countByTenantId(String tenantId);
+    Page<User> findByTenantId(UUID tenantId, Pageable pageable);
+    Page<User> findByTenantIdAndFullNameIgnoreCaseContainingOrTenantIdAndEmailIgnoreCaseContaining(UUID tenantId1, String name, UUID tenantId2, String email, Pageable pageable);
+    // Super admins and users of tenants not pending deletion
+    @Query("SELECT u FROM User u LEFT JOIN u.tenant t WHERE t IS NULL OR t.deletionRequestedAt IS NULL")
+    Page<User> findAllOutsideDeletedTenants(Pageable pageable);
+    long countByTenantId(UUID tenantId);
+    List<User> findByIdInAndTenantId(Collection<UUID> ids, UUID tenantId);
 }
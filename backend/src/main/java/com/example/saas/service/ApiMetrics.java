@@ -0,0 +1,61 @@
+package com.example.saas.service;
+
+import com.example.saas.util.TenantTagGuard;
+import com.example.saas.util.WarmupRequests;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.UUID;
+
+/**
+ * Counters for rejected requests that http.server.requests cannot tell apart by status alone
+ * Tenant tags go through the same {@link TenantTagGuard} as the request timers.
+ */
+@Service
+public class ApiMetrics {
+
+    private final MeterRegistry registry;
+    private final TenantTagGuard tenantTagGuard;
+    private final WarmupRequests warmupRequests;
+
+    public ApiMetrics(MeterRegistry registry, TenantTagGuard tenantTagGuard, WarmupRequests warmupRequests) {
+        this.registry = registry;
+        this.tenantTagGuard = tenantTagGuard;
+        this.warmupRequests = warmupRequests;
+    }
+
+    /**
+     * A failed login, an invalid bearer token or a token of a deleted tenant
+     *
+     * @param reason invalid_credentials, account_inactive, tenant_inactive, tenant_not_found, invalid_token or tenant_deleted
+     */
+    public void authFailure(String reason) {
+        // StartupWarmup's synthetic logins and tokens
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && warmupRequests.isWarmupRequest(attributes.getRequest())) {
+            return;
+        }
+        Counter.builder("auth.failures")
+                .description("Failed logins and rejected bearer tokens")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * A create refused because the tenant is at its plan limit
+     *
+     * @param resource users or projects
+     */
+    public void quotaRejected(String resource, UUID tenantId) {
+        Counter.builder("quota.rejections")
+                .description("Creates refused by a tenant's plan limits")
+                .tag("resource", resource)
+                .tag("tenant", tenantTagGuard.tag(tenantId.toString()))
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.saas.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Keeps the audit_logs partitions (see V011) ahead of the clock and drops expired ones
+ * Both database functions take an advisory lock, so several instances can run this safely.
+ */
+@Service
+public class AuditPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditPartitionMaintenance.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final boolean retentionEnabled;
+
+    public AuditPartitionMaintenance(JdbcTemplate jdbcTemplate,
+            @Value("${audit.partitions.months-ahead:2}") int monthsAhead,
+            @Value("${audit.retention.enabled:true}") boolean retentionEnabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionEnabled = retentionEnabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensurePartitions();
+    }
+
+    @Scheduled(cron = "${audit.partitions.cron:0 15 3 * * *}")
+    public void maintain() {
+        ensurePartitions();
+        if (retentionEnabled) {
+            applyRetention();
+        }
+    }
+
+    public void ensurePartitions() {
+        Integer created = jdbcTemplate.queryForObject("SELECT audit_logs_ensure_partitions(?)", Integer.class, monthsAhead);
+        if (created != null && created > 0) {
+            log.info("Created {} audit_logs month partitions", created);
+        }
+    }
+
+    public List<String> applyRetention() {
+        List<String> dropped = jdbcTemplate.queryForList("SELECT audit_logs_apply_retention()", String.class);
+        if (!dropped.isEmpty()) {
+            log.info("Dropped expired audit_logs partitions {}", dropped);
+        }
+        return dropped;
+    }
+}
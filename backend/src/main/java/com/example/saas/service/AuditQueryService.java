@@ -0,0 +1,190 @@
+package com.example.saas.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Read side of the audit trail: keyset-paginated queries and NDJSON export
+ * Both order by (created_at, id) descending, which the partitioned table serves from
+ * idx_audit_logs_tenant_created_at, and time-range filters prune whole partitions.
+ */
+@Service
+public class AuditQueryService {
+
+    private static final String COLUMNS = "id, tenant_id, user_id, action, entity_type, entity_id, "
+            + "ip_address, user_agent, created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final int exportFetchSize;
+
+    public AuditQueryService(JdbcTemplate jdbcTemplate, DataSource dataSource, ObjectMapper objectMapper,
+            @Value("${audit.export.fetch-size:1000}") int exportFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    /**
+     * One page of entries older than the cursor
+     *
+     * @param cursor Opaque value from a previous page's nextCursor, or null for the newest entries
+     * @throws IllegalArgumentException if the cursor cannot be decoded
+     */
+    public Page query(Filter filter, String cursor, int limit) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM audit_logs");
+        appendWhere(sql, params, filter);
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor position = Cursor.decode(cursor);
+            sql.append(params.isEmpty() ? " WHERE" : " AND").append(" (created_at, id) < (?, ?)");
+            params.add(Timestamp.valueOf(position.createdAt()));
+            params.add(position.id());
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        params.add(limit + 1);
+
+        List<Map<String, Object>> rows = jdbcTemplate.query(sql.toString(), ROW_MAPPER, params.toArray());
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            Map<String, Object> last = rows.get(limit - 1);
+            nextCursor = new Cursor((LocalDateTime) last.get("createdAt"), (UUID) last.get("id")).encode();
+        }
+        return new Page(rows, nextCursor);
+    }
+
+    /**
+     * Streams every matching entry as one JSON object per line
+     * Rows come from a server-side cursor (autocommit off plus a fixed fetch size), so heap use
+     * stays constant regardless of how many rows match.
+     */
+    public void export(Filter filter, OutputStream out) throws IOException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM audit_logs");
+        appendWhere(sql, params, filter);
+        sql.append(" ORDER BY created_at DESC, id DESC");
+
+        try (Connection con = dataSource.getConnection()) {
+            con.setAutoCommit(false);
+            con.setReadOnly(true);
+            try (PreparedStatement ps = con.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(exportFetchSize);
+                for (int i = 0; i < params.size(); i++) {
+                    ps.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = ps.executeQuery();
+                        JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                    json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                    // Lines are ended below; the default root separator would start each one with a space
+                    json.setRootValueSeparator(null);
+                    int rowNum = 0;
+                    while (rs.next()) {
+                        json.writeObject(ROW_MAPPER.mapRow(rs, rowNum++));
+                        json.writeRaw('\n');
+                    }
+                    json.flush();
+                }
+            } finally {
+                con.rollback();
+            }
+        } catch (SQLException e) {
+            throw new IOException("Audit export failed", e);
+        }
+    }
+
+    private static void appendWhere(StringBuilder sql, List<Object> params, Filter filter) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.tenantId() != null) {
+            conditions.add("tenant_id = ?");
+            params.add(filter.tenantId());
+        }
+        if (filter.entityType() != null) {
+            conditions.add("entity_type = ?");
+            params.add(filter.entityType());
+        }
+        if (filter.entityId() != null) {
+            conditions.add("entity_id = ?");
+            params.add(filter.entityId());
+        }
+        if (filter.userId() != null) {
+            conditions.add("user_id = ?");
+            params.add(filter.userId());
+        }
+        if (filter.from() != null) {
+            conditions.add("created_at >= ?");
+            params.add(Timestamp.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            conditions.add("created_at < ?");
+            params.add(Timestamp.valueOf(filter.to()));
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+    }
+
+    private static final RowMapper<Map<String, Object>> ROW_MAPPER = (rs, rowNum) -> {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", rs.getObject("id", UUID.class));
+        data.put("tenantId", rs.getObject("tenant_id", UUID.class));
+        data.put("userId", rs.getObject("user_id", UUID.class));
+        data.put("action", rs.getString("action"));
+        data.put("entityType", rs.getString("entity_type"));
+        data.put("entityId", rs.getObject("entity_id", UUID.class));
+        data.put("ipAddress", rs.getString("ip_address"));
+        data.put("userAgent", rs.getString("user_agent"));
+        data.put("createdAt", rs.getObject("created_at", LocalDateTime.class));
+        return data;
+    };
+
+    /**
+     * @param tenantId Null only for super admins querying across tenants
+     * @param to       Exclusive upper bound
+     */
+    public record Filter(UUID tenantId, String entityType, UUID entityId, UUID userId,
+            LocalDateTime from, LocalDateTime to) {
+    }
+
+    public record Page(List<Map<String, Object>> items, String nextCursor) {
+    }
+
+    // Position of the last row of a page, encoded as base64url("<created_at>|<id>")
+    private record Cursor(LocalDateTime createdAt, UUID id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String value) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        UUID.fromString(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package com.example.saas.service;
+
+import com.example.saas.util.BoundedRingBuffer;
+import com.example.saas.util.UuidV7;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Asynchronous audit trail
+ * Request threads only build an event and offer it to a lock-free ring; a single
+ * background writer drains the ring in JDBC batches. When the ring is full the
+ * configured overflow policy decides between waiting, dropping or spilling the event
+ * to a local file that the writer replays once it has caught up.
+ */
+@Service
+public class AuditService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs "
+            + "(id, tenant_id, user_id, action, entity_type, entity_id, ip_address, user_agent, created_at, retention_plan) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            // A replay that stopped between inserting a batch and recording its offset sends the batch again
+            + "ON CONFLICT (id, created_at, retention_plan) DO NOTHING";
+
+    private static final String NULL_FIELD = "\\N";
+
+    public enum OverflowPolicy {
+        BLOCK, DROP, SPILL
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final BoundedRingBuffer<AuditEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final Path spillFile;
+    private final Path replayFile;
+    // Lines of the replay file already written, so an interrupted replay resumes instead of starting over
+    private final Path replayOffsetFile;
+
+    // Spill I/O runs on request threads under the SPILL policy; a lock avoids pinning virtual threads
+    private final ReentrantLock spillLock = new ReentrantLock();
+    private volatile boolean running;
+    private Thread writer;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+
+    public AuditService(JdbcTemplate jdbcTemplate,
+            @Value("${audit.enabled:true}") boolean enabled,
+            @Value("${audit.buffer-capacity:8192}") int bufferCapacity,
+            @Value("${audit.batch-size:500}") int batchSize,
+            @Value("${audit.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${audit.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+            @Value("${audit.block-timeout-ms:1000}") long blockTimeoutMs,
+            @Value("${audit.spill-dir:${java.io.tmpdir}/workstack-audit}") String spillDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.buffer = new BoundedRingBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+        this.spillFile = Paths.get(spillDir, "audit-spill.tsv");
+        this.replayFile = Paths.get(spillDir, "audit-replay.tsv");
+        this.replayOffsetFile = Paths.get(spillDir, "audit-replay.offset");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Record a mutation by the current request's user
+     *
+     * @param tenantId Tenant the entity belongs to, null for platform-level entities
+     */
+    public void record(String action, String entityType, UUID entityId, UUID tenantId) {
+        record(action, entityType, entityId, tenantId, null);
+    }
+
+    /**
+     * Record a mutation with an explicit actor, for requests made before authentication
+     */
+    public void record(String action, String entityType, UUID entityId, UUID tenantId, UUID userId) {
+        if (!enabled) {
+            return;
+        }
+        String ipAddress = null;
+        String userAgent = null;
+        HttpServletRequest request = currentRequest();
+        if (request != null) {
+            if (userId == null && request.getAttribute("userId") instanceof String current && !current.isBlank()) {
+                userId = UUID.fromString(current);
+            }
+            ipAddress = clientAddress(request);
+            userAgent = truncate(request.getHeader("User-Agent"), 255);
+        }
+        enqueue(new AuditEvent(UuidV7.next(), tenantId, userId, action, entityType, entityId,
+                ipAddress, userAgent, LocalDateTime.now()));
+    }
+
+    /**
+     * Buffer depth, throughput counters and writer lag (event creation to commit)
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("overflowPolicy", overflowPolicy);
+        data.put("capacity", buffer.capacity());
+        data.put("depth", buffer.size());
+        data.put("enqueued", enqueued.get());
+        data.put("written", written.get());
+        data.put("dropped", dropped.get());
+        data.put("spilled", spilled.get());
+        data.put("failed", failed.get());
+        data.put("batches", batches.get());
+        data.put("lastLagMs", lastLagMillis.get());
+        data.put("maxLagMs", maxLagMillis.get());
+        return data;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (buffer.offer(event)) {
+            enqueued.incrementAndGet();
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                long deadline = System.nanoTime() + blockTimeoutNanos;
+                while (System.nanoTime() < deadline) {
+                    LockSupport.parkNanos(50_000);
+                    if (buffer.offer(event)) {
+                        enqueued.incrementAndGet();
+                        return;
+                    }
+                }
+                dropped.incrementAndGet();
+            }
+            case SPILL -> spill(event);
+            default -> dropped.incrementAndGet();
+        }
+    }
+
+    private void runWriter() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                int drained = buffer.drainTo(batch, batchSize);
+                if (drained > 0) {
+                    write(batch);
+                    batch.clear();
+                }
+                if (drained < batchSize) {
+                    if (buffer.size() == 0 && overflowPolicy == OverflowPolicy.SPILL) {
+                        replaySpill();
+                    }
+                    LockSupport.parkNanos(flushIntervalNanos);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Audit writer failed to write {} events", batch.size(), e);
+                failed.addAndGet(batch.size());
+                batch.clear();
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+
+        // Final drain on shutdown
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                failed.addAndGet(batch.size());
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        try {
+            insert(batch);
+        } catch (DataAccessException e) {
+            // One bad row (e.g. a tenant deleted in the meantime) must not lose the whole batch
+            for (AuditEvent event : batch) {
+                insertOne(event);
+            }
+        }
+        written.addAndGet(batch.size());
+        batches.incrementAndGet();
+
+        long lag = Duration.between(batch.get(0).createdAt(), LocalDateTime.now()).toMillis();
+        lastLagMillis.set(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+    }
+
+    private void insertOne(AuditEvent event) {
+        try {
+            insert(List.of(event));
+        } catch (DataAccessException e) {
+            try {
+                // Keep the event even if its tenant or actor no longer exists
+                insert(List.of(event.detached()));
+            } catch (DataAccessException retry) {
+                log.warn("Dropping audit event {} {} {}", event.action(), event.entityType(), event.entityId(), retry);
+                failed.incrementAndGet();
+                written.decrementAndGet();
+            }
+        }
+    }
+
+    private void insert(List<AuditEvent> events) {
+        Map<UUID, Short> plans = retentionPlans(events);
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                AuditEvent event = events.get(i);
+                ps.setObject(1, event.id());
+                ps.setObject(2, event.tenantId());
+                ps.setObject(3, event.userId());
+                ps.setString(4, event.action());
+                ps.setString(5, event.entityType());
+                ps.setObject(6, event.entityId());
+                ps.setString(7, event.ipAddress());
+                ps.setString(8, event.userAgent());
+                ps.setTimestamp(9, Timestamp.valueOf(event.createdAt()));
+                ps.setShort(10, event.tenantId() != null ? plans.getOrDefault(event.tenantId(), (short) 0) : 0);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return events.size();
+            }
+        });
+    }
+
+    // Partition key for retention (see V011): the tenant's current plan code, 0 without a tenant
+    private Map<UUID, Short> retentionPlans(List<AuditEvent> events) {
+        UUID[] tenantIds = events.stream()
+                .map(AuditEvent::tenantId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray(UUID[]::new);
+        Map<UUID, Short> plans = new HashMap<>();
+        if (tenantIds.length == 0) {
+            return plans;
+        }
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT id, subscription_plan FROM tenants WHERE id = ANY(?)");
+            ps.setArray(1, con.createArrayOf("uuid", tenantIds));
+            return ps;
+        }, rs -> {
+            plans.put(rs.getObject(1, UUID.class), rs.getShort(2));
+        });
+        return plans;
+    }
+
+    private void spill(AuditEvent event) {
+        spillLock.lock();
+        try {
+            Files.createDirectories(spillFile.getParent());
+            try (BufferedWriter out = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                out.write(event.toLine());
+                out.newLine();
+            }
+            spilled.incrementAndGet();
+        } catch (IOException e) {
+            log.warn("Could not spill audit event to {}", spillFile, e);
+            dropped.incrementAndGet();
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    // Runs on the writer thread once the ring is empty
+    private void replaySpill() {
+        spillLock.lock();
+        try {
+            if (!Files.exists(replayFile)) {
+                if (!Files.exists(spillFile) || Files.size(spillFile) == 0) {
+                    return;
+                }
+                Files.deleteIfExists(replayOffsetFile);
+                Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            log.warn("Could not rotate audit spill file {}", spillFile, e);
+            return;
+        } finally {
+            spillLock.unlock();
+        }
+
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        try (BufferedReader in = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            long offset = Files.exists(replayOffsetFile)
+                    ? Long.parseLong(Files.readString(replayOffsetFile, StandardCharsets.UTF_8).trim()) : 0;
+            long lineNumber = 0;
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (lineNumber++ < offset) {
+                    continue;
+                }
+                batch.add(AuditEvent.fromLine(line));
+                if (batch.size() == batchSize) {
+                    write(batch);
+                    batch.clear();
+                    saveReplayOffset(lineNumber);
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+            Files.delete(replayFile);
+            Files.deleteIfExists(replayOffsetFile);
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Could not replay audit spill file {}", replayFile, e);
+        }
+    }
+
+    // Written next to the file and moved over the old offset, so a crash never leaves it half written
+    private void saveReplayOffset(long lines) throws IOException {
+        Path next = replayOffsetFile.resolveSibling(replayOffsetFile.getFileName() + ".tmp");
+        Files.writeString(next, Long.toString(lines), StandardCharsets.UTF_8);
+        Files.move(next, replayOffsetFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static HttpServletRequest currentRequest() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest();
+        }
+        return null;
+    }
+
+    private static String clientAddress(HttpServletRequest request) {
+        String forwarded = request.getHeader("X-Forwarded-For");
+        String address = forwarded != null && !forwarded.isBlank()
+                ? forwarded.split(",")[0].trim()
+                : request.getRemoteAddr();
+        return truncate(address, 45);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    public record AuditEvent(UUID id, UUID tenantId, UUID userId, String action, String entityType,
+            UUID entityId, String ipAddress, String userAgent, LocalDateTime createdAt) {
+
+        AuditEvent detached() {
+            return new AuditEvent(id, null, null, action, entityType, entityId, ipAddress, userAgent, createdAt);
+        }
+
+        // Tab-separated, \N for null; free-text fields have tabs and newlines flattened
+        String toLine() {
+            return String.join("\t", field(id), field(tenantId), field(userId), field(action), field(entityType),
+                    field(entityId), field(ipAddress), field(userAgent), field(createdAt));
+        }
+
+        static AuditEvent fromLine(String line) {
+            String[] f = line.split("\t", -1);
+            return new AuditEvent(uuid(f[0]), uuid(f[1]), uuid(f[2]), text(f[3]), text(f[4]), uuid(f[5]),
+                    text(f[6]), text(f[7]), LocalDateTime.parse(f[8]));
+        }
+
+        private static String field(Object value) {
+            return value == null ? NULL_FIELD : value.toString().replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+        }
+
+        private static String text(String value) {
+            return NULL_FIELD.equals(value) ? null : value;
+        }
+
+        private static UUID uuid(String value) {
+            return NULL_FIELD.equals(value) ? null : UUID.fromString(value);
+        }
+    }
+}
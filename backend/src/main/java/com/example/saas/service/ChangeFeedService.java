@@ -0,0 +1,327 @@
+package com.example.saas.service;
+
+import com.example.saas.model.Project;
+import com.example.saas.model.Task;
+import com.example.saas.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Delta sync over the per-tenant change sequence (V013, V017)
+ * Rows carry their transaction's change batch, and a batch gets its change_seq when the
+ * transaction commits. A page covers every batch with since < seq <= bound, where the bound
+ * stops before a transaction the page would end inside of. A transaction with more changes than
+ * fit in a page is paged through on its own, by (source, id), with a cursor pointing inside it.
+ * Every query is an index range scan, so a sync costs in proportion to the changes.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    private static final Task.TaskStatusConverter TASK_STATUS = new Task.TaskStatusConverter();
+    private static final Task.TaskPriorityConverter TASK_PRIORITY = new Task.TaskPriorityConverter();
+    private static final Project.ProjectStatusConverter PROJECT_STATUS = new Project.ProjectStatusConverter();
+    private static final User.UserRoleConverter USER_ROLE = new User.UserRoleConverter();
+
+    private static final String PRUNE_SQL = "WITH pruned AS ("
+            + "DELETE FROM change_tombstones WHERE deleted_at < now() - make_interval(days => ?) "
+            + "RETURNING tenant_id, change_batch) "
+            + "UPDATE tenant_change_seq s SET pruned_through = greatest(s.pruned_through, p.max_seq) "
+            + "FROM (SELECT b.tenant_id, max(b.seq) AS max_seq FROM pruned "
+            + "JOIN change_batches b ON b.tenant_id = pruned.tenant_id AND b.batch = pruned.change_batch "
+            + "GROUP BY b.tenant_id) p "
+            + "WHERE s.tenant_id = p.tenant_id";
+
+    // Committed batches whose rows have all been rewritten by later ones or deleted
+    private static final String PRUNE_BATCHES_SQL = "DELETE FROM change_batches b WHERE b.seq IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM tasks x WHERE x.tenant_id = b.tenant_id AND x.change_batch = b.batch) "
+            + "AND NOT EXISTS (SELECT 1 FROM projects x WHERE x.tenant_id = b.tenant_id AND x.change_batch = b.batch) "
+            + "AND NOT EXISTS (SELECT 1 FROM users x WHERE x.tenant_id = b.tenant_id AND x.change_batch = b.batch) "
+            + "AND NOT EXISTS (SELECT 1 FROM change_tombstones x "
+            + "WHERE x.tenant_id = b.tenant_id AND x.change_batch = b.batch)";
+
+    // Joins a table aliased x to the batches in (since, bound]
+    private static final String IN_BATCHES = " FROM change_batches b JOIN %s x "
+            + "ON x.tenant_id = b.tenant_id AND x.change_batch = b.batch ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int tombstoneRetentionDays;
+
+    public ChangeFeedService(JdbcTemplate jdbcTemplate,
+            @Value("${changes.tombstone-retention-days:30}") int tombstoneRetentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tombstoneRetentionDays = tombstoneRetentionDays;
+    }
+
+    /**
+     * Latest committed sequence number for a tenant; fetch this before a full reload
+     */
+    public long currentCursor(UUID tenantId) {
+        return jdbcTemplate.query("SELECT seq FROM tenant_change_seq WHERE tenant_id = ?",
+                (rs, rowNum) -> rs.getLong(1), tenantId).stream().findFirst().orElse(0L);
+    }
+
+    /**
+     * Changes after a cursor
+     *
+     * @param since Cursor from {@link #currentCursor} or a previous page. 0 is not a full sync: rows
+     *              written before V013 carry no change batch and never appear in the feed
+     * @return Empty when tombstones the caller needs have been pruned and a full reload is required
+     */
+    public Optional<Page> changesSince(UUID tenantId, Cursor since, int limit) {
+        long prunedThrough = jdbcTemplate.query("SELECT pruned_through FROM tenant_change_seq WHERE tenant_id = ?",
+                (rs, rowNum) -> rs.getLong(1), tenantId).stream().findFirst().orElse(0L);
+        // Cursor 0 included: a tenant with no changes yet hands it out, and its holder has loaded rows
+        // whose tombstones may since have been pruned
+        if (since.seq() < prunedThrough) {
+            return Optional.empty();
+        }
+        if (since.isInsideBatch()) {
+            return Optional.of(batchPage(tenantId, since.seq(), since.source(), since.after(), limit));
+        }
+
+        List<Long> seqs = firstSeqs(tenantId, since.seq(), limit + 1);
+        if (seqs.size() > limit && seqs.get(0).equals(seqs.get(limit))) {
+            // One transaction alone fills the page (a bulk request or an import), so page through it
+            return Optional.of(batchPage(tenantId, seqs.get(0), 0, null, limit));
+        }
+        boolean hasMore = seqs.size() > limit;
+        // Stop before the transaction the page would end inside of; with no more, take everything
+        // committed so far, as tenant_change_seq is read after the rows it covers are visible
+        long bound = hasMore ? seqs.get(limit) - 1 : Math.max(since.seq(), currentCursor(tenantId));
+
+        List<List<Map<String, Object>>> rows = new ArrayList<>();
+        for (Source source : Source.values()) {
+            rows.add(jdbcTemplate.query(source.select + IN_BATCHES.formatted(source.table) + source.joins
+                            + "WHERE b.tenant_id = ? AND b.seq > ? AND b.seq <= ? " + source.filter
+                            + "ORDER BY b.seq, " + source.id,
+                    source.mapper(tenantId), tenantId, since.seq(), bound));
+        }
+        return Optional.of(new Page(Long.toString(bound), hasMore, rows));
+    }
+
+    // Drop old tombstones and remember how far each tenant was pruned
+    @Scheduled(cron = "${changes.prune-cron:0 45 3 * * *}")
+    public void pruneTombstones() {
+        int tenants = jdbcTemplate.update(PRUNE_SQL, tombstoneRetentionDays);
+        int batches = jdbcTemplate.update(PRUNE_BATCHES_SQL);
+        log.info("Pruned change tombstones older than {} days for {} tenants, and {} empty change batches",
+                tombstoneRetentionDays, tenants, batches);
+    }
+
+    // Sequence numbers of the first count changes after since, across all sources
+    private List<Long> firstSeqs(UUID tenantId, long since, int count) {
+        List<Object> params = new ArrayList<>();
+        StringJoiner sources = new StringJoiner(" UNION ALL ");
+        for (Source source : Source.values()) {
+            sources.add("(SELECT b.seq AS change_seq" + IN_BATCHES.formatted(source.table)
+                    + "WHERE b.tenant_id = ? AND b.seq > ? " + source.filter + "ORDER BY b.seq LIMIT ?)");
+            params.addAll(List.of(tenantId, since, count));
+        }
+        params.add(count);
+        return jdbcTemplate.queryForList("SELECT change_seq FROM (" + sources
+                + ") AS changes ORDER BY change_seq LIMIT ?", Long.class, params.toArray());
+    }
+
+    /**
+     * Part of one transaction's changes, continuing after (fromSource, after) in (source, id) order
+     * Each source is an index range scan on (tenant_id, change_batch, id), so paging through a
+     * million-row import costs the same per page as the first one.
+     */
+    private Page batchPage(UUID tenantId, long seq, int fromSource, UUID after, int limit) {
+        Optional<Long> batch = jdbcTemplate.query("SELECT batch FROM change_batches WHERE tenant_id = ? AND seq = ?",
+                (rs, rowNum) -> rs.getLong(1), tenantId, seq).stream().findFirst();
+        List<List<Map<String, Object>>> rows = new ArrayList<>();
+        int remaining = limit;
+        for (Source source : Source.values()) {
+            if (batch.isEmpty() || source.ordinal() < fromSource || remaining == 0) {
+                rows.add(List.of());
+                continue;
+            }
+            UUID from = source.ordinal() == fromSource ? after : null;
+            List<Object> params = new ArrayList<>(List.of(tenantId, batch.get()));
+            if (from != null) {
+                params.add(from);
+            }
+            params.add(remaining);
+            List<Map<String, Object>> found = jdbcTemplate.query(source.select + " FROM " + source.table + " x "
+                            + source.joins + "WHERE x.tenant_id = ? AND x.change_batch = ? " + source.filter
+                            + (from != null ? "AND " + source.id + " > ? " : "") + "ORDER BY " + source.id + " LIMIT ?",
+                    source.mapper(tenantId), params.toArray());
+            rows.add(found);
+            remaining -= found.size();
+            if (remaining == 0) {
+                UUID last = (UUID) found.get(found.size() - 1).get("id");
+                // Pad the sources after this one so the page always has all four lists
+                while (rows.size() < Source.values().length) {
+                    rows.add(List.of());
+                }
+                return new Page(new Cursor(seq, source.ordinal(), last).toString(), true, rows);
+            }
+        }
+        return new Page(Long.toString(seq), currentCursor(tenantId) > seq, rows);
+    }
+
+    private static Map<String, Object> mapTask(ResultSet rs) throws SQLException {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", rs.getObject("id", UUID.class));
+        data.put("projectId", rs.getObject("project_id", UUID.class));
+        data.put("title", rs.getString("title"));
+        data.put("description", rs.getString("description"));
+        data.put("status", TASK_STATUS.convertToEntityAttribute(rs.getShort("status")));
+        data.put("priority", TASK_PRIORITY.convertToEntityAttribute(rs.getShort("priority")));
+        LocalDate dueDate = rs.getObject("due_date", LocalDate.class);
+        data.put("dueDate", dueDate != null ? dueDate.toString() : null);
+        UUID assigneeId = rs.getObject("assignee_id", UUID.class);
+        if (assigneeId != null) {
+            Map<String, Object> assignee = new HashMap<>();
+            assignee.put("id", assigneeId);
+            assignee.put("fullName", rs.getString("assignee_name"));
+            assignee.put("email", rs.getString("assignee_email"));
+            data.put("assignedTo", assignee);
+        }
+        data.put("createdAt", rs.getObject("created_at", LocalDateTime.class));
+        data.put("updatedAt", rs.getObject("updated_at", LocalDateTime.class));
+        data.put("version", rs.getLong("version"));
+        return data;
+    }
+
+    private static Map<String, Object> mapProject(ResultSet rs, UUID tenantId) throws SQLException {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", rs.getObject("id", UUID.class));
+        data.put("tenantId", tenantId);
+        data.put("name", rs.getString("name"));
+        data.put("description", rs.getString("description"));
+        data.put("status", PROJECT_STATUS.convertToEntityAttribute(rs.getShort("status")));
+        UUID creatorId = rs.getObject("creator_id", UUID.class);
+        if (creatorId != null) {
+            Map<String, Object> creator = new HashMap<>();
+            creator.put("id", creatorId);
+            creator.put("fullName", rs.getString("creator_name"));
+            data.put("createdBy", creator);
+        }
+        data.put("createdAt", rs.getObject("created_at", LocalDateTime.class));
+        return data;
+    }
+
+    private static Map<String, Object> mapUser(ResultSet rs, UUID tenantId) throws SQLException {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", rs.getObject("id", UUID.class));
+        data.put("email", rs.getString("email"));
+        data.put("fullName", rs.getString("full_name"));
+        data.put("role", USER_ROLE.convertToEntityAttribute(rs.getShort("role")));
+        data.put("isActive", rs.getBoolean("is_active"));
+        data.put("tenantId", tenantId);
+        data.put("createdAt", rs.getObject("created_at", LocalDateTime.class));
+        data.put("updatedAt", rs.getObject("updated_at", LocalDateTime.class));
+        return data;
+    }
+
+    /**
+     * A position in the feed: every change through seq, or, inside seq's transaction, every change
+     * up to after in source order
+     */
+    public record Cursor(long seq, int source, UUID after) {
+
+        public static Cursor of(long seq) {
+            return new Cursor(seq, 0, null);
+        }
+
+        /**
+         * @throws IllegalArgumentException When the value is not a cursor this service handed out
+         */
+        public static Cursor parse(String value) {
+            String[] parts = value.split(":", -1);
+            long seq = Long.parseLong(parts[0]);
+            if (seq < 0 || (parts.length != 1 && parts.length != 3)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            if (parts.length == 1) {
+                return of(seq);
+            }
+            int source = Integer.parseInt(parts[1]);
+            if (source < 0 || source >= Source.values().length) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Cursor(seq, source, UUID.fromString(parts[2]));
+        }
+
+        public boolean isInsideBatch() {
+            return after != null;
+        }
+
+        @Override
+        public String toString() {
+            return isInsideBatch() ? seq + ":" + source + ":" + after : Long.toString(seq);
+        }
+    }
+
+    /**
+     * @param cursor  Pass back as since for the next call
+     * @param hasMore Whether more changes are already waiting past the cursor
+     */
+    public record Page(String cursor, boolean hasMore, List<Map<String, Object>> tasks,
+            List<Map<String, Object>> projects, List<Map<String, Object>> users,
+            List<Map<String, Object>> deleted) {
+
+        // Lists in Source order
+        Page(String cursor, boolean hasMore, List<List<Map<String, Object>>> rows) {
+            this(cursor, hasMore, rows.get(0), rows.get(1), rows.get(2), rows.get(3));
+        }
+    }
+
+    // What a page lists, in order; rows of one source are ordered by id
+    private enum Source {
+        TASKS("tasks", "x.id", "SELECT x.id, x.project_id, x.title, x.description, x.status, x.priority, "
+                + "x.due_date, x.created_at, x.updated_at, x.version, "
+                + "u.id AS assignee_id, u.full_name AS assignee_name, u.email AS assignee_email",
+                "LEFT JOIN users u ON u.id = x.assigned_to ", ""),
+        // A project awaiting deletion got its tombstone when deletion was requested (see DeletionJobService)
+        PROJECTS("projects", "x.id", "SELECT x.id, x.name, x.description, x.status, x.created_at, "
+                + "u.id AS creator_id, u.full_name AS creator_name",
+                "LEFT JOIN users u ON u.id = x.created_by ", "AND x.deletion_requested_at IS NULL "),
+        USERS("users", "x.id", "SELECT x.id, x.email, x.full_name, x.role, x.is_active, x.created_at, x.updated_at",
+                "", ""),
+        TOMBSTONES("change_tombstones", "x.entity_id", "SELECT x.entity_type, x.entity_id", "", "");
+
+        private final String table;
+        private final String id;
+        private final String select;
+        private final String joins;
+        private final String filter;
+
+        Source(String table, String id, String select, String joins, String filter) {
+            this.table = table;
+            this.id = id;
+            this.select = select;
+            this.joins = joins;
+            this.filter = filter;
+        }
+
+        RowMapper<Map<String, Object>> mapper(UUID tenantId) {
+            return switch (this) {
+                case TASKS -> (rs, rowNum) -> mapTask(rs);
+                case PROJECTS -> (rs, rowNum) -> mapProject(rs, tenantId);
+                case USERS -> (rs, rowNum) -> mapUser(rs, tenantId);
+                case TOMBSTONES -> (rs, rowNum) -> {
+                    Map<String, Object> tombstone = new LinkedHashMap<>();
+                    tombstone.put("type", rs.getString(1));
+                    tombstone.put("id", rs.getObject(2, UUID.class));
+                    return tombstone;
+                };
+            };
+        }
+    }
+}
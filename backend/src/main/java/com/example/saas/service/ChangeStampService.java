@@ -0,0 +1,64 @@
+package com.example.saas.service;
+
+import com.example.saas.util.Etags;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads the change stamps maintained by database triggers (see V010)
+ * Every lookup is a single primary-key probe and never loads entities, so
+ * conditional GETs can be answered with 304 before any real work is done
+ */
+@Service
+public class ChangeStampService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChangeStampService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * ETag for tenant-wide collections (projects, users)
+     */
+    public String tenantEtag(UUID tenantId) {
+        List<Long> stamps = jdbcTemplate.queryForList(
+                "SELECT stamp FROM change_stamps WHERE scope_id = ?", Long.class, tenantId);
+        return Etags.of(stamps.isEmpty() ? 0L : stamps.get(0));
+    }
+
+    /**
+     * Owning tenant and ETag of a project and its task list
+     *
+     * @return Empty when the project does not exist or is awaiting deletion
+     */
+    public Optional<Stamp> projectStamp(UUID projectId) {
+        return jdbcTemplate.query(
+                "SELECT p.tenant_id, COALESCE(s.stamp, 0) FROM projects p "
+                        + "LEFT JOIN change_stamps s ON s.scope_id = p.id "
+                        + "WHERE p.id = ? AND p.deletion_requested_at IS NULL",
+                (rs, rowNum) -> new Stamp(rs.getObject(1, UUID.class), Etags.of(rs.getLong(2))),
+                projectId).stream().findFirst();
+    }
+
+    /**
+     * Owning tenant and ETag of a single user, derived from its updated_at
+     *
+     * @return Empty when the user does not exist
+     */
+    public Optional<Stamp> userStamp(UUID userId) {
+        return jdbcTemplate.query(
+                "SELECT tenant_id, updated_at FROM users WHERE id = ?",
+                (rs, rowNum) -> new Stamp(rs.getObject(1, UUID.class),
+                        Etags.of(rs.getObject(2, LocalDateTime.class))),
+                userId).stream().findFirst();
+    }
+
+    public record Stamp(UUID tenantId, String etag) {
+    }
+}
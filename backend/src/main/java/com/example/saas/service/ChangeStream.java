@@ -0,0 +1,221 @@
+package com.example.saas.service;
+
+import com.example.saas.util.Transactions;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events fan-out of task and project changes, one channel per tenant
+ * Connections are async servlet requests, so an idle subscriber holds a socket and a small
+ * queue but no thread. Each event is serialized once and handed to every subscriber's
+ * bounded queue; a few sender threads drain queues that have work. A subscriber whose queue
+ * overflows is disconnected instead of slowing down publishers or other subscribers.
+ */
+@Service
+public class ChangeStream {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeStream.class);
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final ExecutorService sender;
+
+    private final Map<UUID, Set<Subscriber>> channels = new ConcurrentHashMap<>();
+    // Super admins watching every tenant
+    private final Set<Subscriber> allTenants = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong eventId = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public ChangeStream(ObjectMapper objectMapper,
+            @Value("${stream.timeout-ms:1800000}") long timeoutMs,
+            @Value("${stream.buffer-size:256}") int bufferSize,
+            @Value("${stream.max-subscribers:50000}") int maxSubscribers,
+            @Value("${stream.sender-threads:4}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Open a stream for one tenant, or for every tenant when tenantId is null
+     *
+     * @throws IllegalStateException if this node already has the maximum number of subscribers
+     */
+    public SseEmitter subscribe(UUID tenantId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many open streams");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(tenantId, emitter);
+        if (tenantId == null) {
+            allTenants.add(subscriber);
+        } else {
+            channels.compute(tenantId, (id, subscribers) -> {
+                Set<Subscriber> joined = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+                joined.add(subscriber);
+                return joined;
+            });
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        // Tell the client it is connected and how long to wait before reconnecting
+        subscriber.offer(SseEmitter.event().name("connected").reconnectTime(3000).data("{}").build());
+        return emitter;
+    }
+
+    /**
+     * Publish a change to the tenant's subscribers once the current transaction commits
+     *
+     * @param type Event name, e.g. "task.updated"
+     * @param data Payload, serialized to JSON once for all subscribers
+     */
+    public void publish(UUID tenantId, String type, Object data) {
+        Transactions.afterCommit(() -> {
+            Set<Subscriber> tenantSubscribers = channels.get(tenantId);
+            if ((tenantSubscribers == null || tenantSubscribers.isEmpty()) && allTenants.isEmpty()) {
+                return;
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> frame;
+            try {
+                Map<String, Object> payload = new LinkedHashMap<>();
+                payload.put("tenantId", tenantId);
+                payload.put("data", data);
+                frame = SseEmitter.event()
+                        .id(Long.toString(eventId.incrementAndGet()))
+                        .name(type)
+                        .data(objectMapper.writeValueAsString(payload))
+                        .build();
+            } catch (JsonProcessingException e) {
+                log.warn("Failed to serialize {} event: {}", type, e.getMessage());
+                return;
+            }
+            published.incrementAndGet();
+            if (tenantSubscribers != null) {
+                tenantSubscribers.forEach(subscriber -> subscriber.offer(frame));
+            }
+            allTenants.forEach(subscriber -> subscriber.offer(frame));
+        });
+    }
+
+    // Comment frames keep proxies from closing idle connections and flush out dead clients
+    @Scheduled(fixedDelayString = "${stream.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event().comment("keepalive").build();
+        channels.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.offer(frame)));
+        allTenants.forEach(subscriber -> subscriber.offer(frame));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        channels.values().forEach(subscribers -> new ArrayList<>(subscribers).forEach(s -> s.emitter.complete()));
+        new ArrayList<>(allTenants).forEach(s -> s.emitter.complete());
+        sender.shutdown();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("subscribers", subscriberCount.get());
+        data.put("tenants", channels.size());
+        data.put("published", published.get());
+        data.put("delivered", delivered.get());
+        data.put("droppedSubscribers", dropped.get());
+        return data;
+    }
+
+    private final class Subscriber {
+        private final UUID tenantId;
+        private final SseEmitter emitter;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(UUID tenantId, SseEmitter emitter) {
+            this.tenantId = tenantId;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (queued.incrementAndGet() > bufferSize) {
+                dropped.incrementAndGet();
+                log.debug("Disconnecting slow stream subscriber for tenant {}", tenantId);
+                close();
+                emitter.complete();
+                return;
+            }
+            queue.add(frame);
+            if (scheduled.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                while (!closed.get() && (frame = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    emitter.send(frame);
+                    delivered.incrementAndGet();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container reports completion separately
+                close();
+            } finally {
+                scheduled.set(false);
+                // Pick up frames offered after the loop ended but before the flag was cleared
+                if (!queue.isEmpty() && !closed.get() && scheduled.compareAndSet(false, true)) {
+                    sender.execute(this::drain);
+                }
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                subscriberCount.decrementAndGet();
+                if (tenantId == null) {
+                    allTenants.remove(this);
+                } else {
+                    // Atomic with subscribe's compute, so a joining subscriber never lands in a discarded set
+                    channels.computeIfPresent(tenantId, (id, subscribers) -> {
+                        subscribers.remove(this);
+                        return subscribers.isEmpty() ? null : subscribers;
+                    });
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package com.example.saas.service;
+
+import com.example.saas.model.CodedEnum;
+import com.example.saas.model.Project;
+import com.example.saas.model.Task;
+import com.example.saas.util.Transactions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory dashboard counters per platform, tenant and project
+ * Write paths report deltas (applied after commit when a transaction is active) so reads
+ * never touch the database. A periodic reconcile rebuilds everything from grouped counts
+ * and swaps it in, which also corrects overdue totals as days roll over and any drift
+ * from rolled-back or external writes.
+ *
+ * The rebuild reads one REPEATABLE READ snapshot. Deltas that arrive from the moment the rebuild
+ * starts are applied to the live counters as usual and also buffered, then replayed onto the new
+ * counters when they are swapped in, so writes committed after the snapshot are not lost. A write
+ * that commits just before the snapshot but reports its delta just after it is counted twice
+ * until the next reconcile.
+ */
+@Service
+public class DashboardCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardCounters.class);
+
+    private static final Task.TaskStatusConverter TASK_STATUS = new Task.TaskStatusConverter();
+    private static final Task.TaskPriorityConverter TASK_PRIORITY = new Task.TaskPriorityConverter();
+    private static final Project.ProjectStatusConverter PROJECT_STATUS = new Project.ProjectStatusConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotRead;
+    private volatile Snapshot snapshot = new Snapshot();
+
+    // Deltas take the read lock; starting and finishing a rebuild take the write lock
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    // Deltas reported while a rebuild runs, replayed onto its result; null otherwise
+    private Queue<Consumer<Snapshot>> rebuildBuffer;
+
+    public DashboardCounters(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotRead = new TransactionTemplate(transactionManager);
+        snapshotRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotRead.setReadOnly(true);
+    }
+
+    /**
+     * Task created (before null), changed, or deleted (after null)
+     */
+    public void taskChanged(TaskState before, TaskState after) {
+        taskChanged(before, after, 1);
+    }
+
+    /**
+     * The same change made to count tasks at once, e.g. by an import
+     */
+    public void taskChanged(TaskState before, TaskState after, long count) {
+        LocalDate today = LocalDate.now();
+        afterCommit(s -> {
+            if (before != null) {
+                applyTask(s, before, -count, today);
+            }
+            if (after != null) {
+                applyTask(s, after, count, today);
+            }
+        });
+    }
+
+    public void projectCreated(UUID tenantId, UUID projectId, Project.ProjectStatus status) {
+        afterCommit(s -> {
+            for (Totals totals : List.of(s.platform, s.tenant(tenantId))) {
+                totals.projectsByStatus.incrementAndGet(status.getCode());
+            }
+            s.tenant(tenantId).project(projectId);
+        });
+    }
+
+    public void projectStatusChanged(UUID tenantId, Project.ProjectStatus before, Project.ProjectStatus after) {
+        if (before == after) {
+            return;
+        }
+        afterCommit(s -> {
+            for (Totals totals : List.of(s.platform, s.tenant(tenantId))) {
+                totals.projectsByStatus.decrementAndGet(before.getCode());
+                totals.projectsByStatus.incrementAndGet(after.getCode());
+            }
+        });
+    }
+
+    // The database cascades the delete to the project's tasks, so their counts go with it
+    public void projectDeleted(UUID tenantId, UUID projectId, Project.ProjectStatus status) {
+        afterCommit(s -> {
+            Totals tenant = s.tenant(tenantId);
+            Totals project = tenant.projects.remove(projectId);
+            for (Totals totals : List.of(s.platform, tenant)) {
+                totals.projectsByStatus.decrementAndGet(status.getCode());
+                if (project != null) {
+                    totals.subtractTasks(project);
+                }
+            }
+        });
+    }
+
+    // Projects, tasks and users of the tenant all go; the reconcile skips tenants awaiting deletion
+    public void tenantDeleted(UUID tenantId) {
+        afterCommit(s -> {
+            Totals tenant = s.tenants.remove(tenantId);
+            if (tenant != null) {
+                for (int i = 0; i < tenant.projectsByStatus.length(); i++) {
+                    s.platform.projectsByStatus.addAndGet(i, -tenant.projectsByStatus.get(i));
+                }
+                s.platform.subtractTasks(tenant);
+                s.platform.users.addAndGet(-tenant.users.get());
+            }
+        });
+    }
+
+    public void userCreated(UUID tenantId) {
+        afterCommit(s -> {
+            s.platform.users.incrementAndGet();
+            if (tenantId != null) {
+                s.tenant(tenantId).users.incrementAndGet();
+            }
+        });
+    }
+
+    public void userDeleted(UUID tenantId) {
+        afterCommit(s -> {
+            s.platform.users.decrementAndGet();
+            if (tenantId != null) {
+                s.tenant(tenantId).users.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Counts for one tenant, including a per-project task breakdown
+     */
+    public Map<String, Object> tenantSummary(UUID tenantId) {
+        Snapshot s = snapshot;
+        Totals tenant = s.tenants.getOrDefault(tenantId, new Totals());
+        Map<String, Object> data = tenant.toMap();
+
+        List<Map<String, Object>> projects = new ArrayList<>();
+        tenant.projects.forEach((projectId, totals) -> {
+            Map<String, Object> project = new HashMap<>();
+            project.put("projectId", projectId);
+            project.put("tasks", totals.tasksToMap());
+            projects.add(project);
+        });
+        data.put("byProject", projects);
+        data.put("reconciledAt", s.reconciledAt);
+        return data;
+    }
+
+    /**
+     * Platform-wide counts for super admins
+     */
+    public Map<String, Object> platformSummary() {
+        Snapshot s = snapshot;
+        Map<String, Object> data = s.platform.toMap();
+        data.put("tenants", Map.of("total", s.tenants.size()));
+        data.put("reconciledAt", s.reconciledAt);
+        return data;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reconcile();
+    }
+
+    /**
+     * Rebuild all counters from the database and swap them in
+     */
+    @Scheduled(fixedDelayString = "${dashboard.reconcile-interval-ms:300000}",
+            initialDelayString = "${dashboard.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            rebuild();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        Snapshot fresh = new Snapshot();
+        Queue<Consumer<Snapshot>> buffer = new ConcurrentLinkedQueue<>();
+        withRebuildLock(() -> rebuildBuffer = buffer);
+        try {
+            snapshotRead.executeWithoutResult(status -> load(fresh));
+            fresh.reconciledAt = LocalDateTime.now();
+            withRebuildLock(() -> {
+                buffer.forEach(delta -> delta.accept(fresh));
+                snapshot = fresh;
+            });
+        } finally {
+            withRebuildLock(() -> rebuildBuffer = null);
+        }
+        log.debug("Dashboard counters reconciled for {} tenants, {} deltas replayed", fresh.tenants.size(), buffer.size());
+    }
+
+    // The three queries share the caller's snapshot
+    private void load(Snapshot fresh) {
+        LocalDate today = LocalDate.now();
+
+        // Projects awaiting deletion (including every project of a tenant awaiting deletion) are left out
+        jdbcTemplate.query("SELECT tenant_id, id, status FROM projects WHERE deletion_requested_at IS NULL", rs -> {
+            UUID tenantId = rs.getObject(1, UUID.class);
+            int status = PROJECT_STATUS.convertToEntityAttribute(rs.getShort(3)).getCode();
+            fresh.platform.projectsByStatus.incrementAndGet(status);
+            Totals tenant = fresh.tenant(tenantId);
+            tenant.projectsByStatus.incrementAndGet(status);
+            tenant.project(rs.getObject(2, UUID.class));
+        });
+
+        jdbcTemplate.query("SELECT tenant_id, project_id, status, priority, count(*), "
+                + "count(*) FILTER (WHERE due_date < ? AND status <> ?) "
+                + "FROM tasks WHERE project_id IN (SELECT id FROM projects WHERE deletion_requested_at IS NULL) "
+                + "GROUP BY tenant_id, project_id, status, priority", rs -> {
+            Totals tenant = fresh.tenant(rs.getObject(1, UUID.class));
+            Totals project = tenant.project(rs.getObject(2, UUID.class));
+            int status = TASK_STATUS.convertToEntityAttribute(rs.getShort(3)).getCode();
+            int priority = TASK_PRIORITY.convertToEntityAttribute(rs.getShort(4)).getCode();
+            long count = rs.getLong(5);
+            long overdue = rs.getLong(6);
+            for (Totals totals : List.of(fresh.platform, tenant, project)) {
+                totals.tasksByStatus.addAndGet(status, count);
+                totals.tasksByPriority.addAndGet(priority, count);
+                totals.overdue.addAndGet(overdue);
+            }
+        }, Date.valueOf(today), Task.TaskStatus.COMPLETED.getCode());
+
+        jdbcTemplate.query("SELECT tenant_id, count(*) FROM users WHERE tenant_id IS NULL "
+                + "OR tenant_id IN (SELECT id FROM tenants WHERE deletion_requested_at IS NULL) GROUP BY tenant_id", rs -> {
+            UUID tenantId = rs.getObject(1, UUID.class);
+            long count = rs.getLong(2);
+            fresh.platform.users.addAndGet(count);
+            if (tenantId != null) {
+                fresh.tenant(tenantId).users.addAndGet(count);
+            }
+        });
+
+    }
+
+    /**
+     * Apply a delta to the live counters after the current transaction commits, and buffer it for
+     * the rebuild in progress, if any
+     */
+    private void afterCommit(Consumer<Snapshot> delta) {
+        Transactions.afterCommit(() -> {
+            rebuildLock.readLock().lock();
+            try {
+                if (rebuildBuffer != null) {
+                    rebuildBuffer.add(delta);
+                }
+                delta.accept(snapshot);
+            } finally {
+                rebuildLock.readLock().unlock();
+            }
+        });
+    }
+
+    private void withRebuildLock(Runnable action) {
+        rebuildLock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private static void applyTask(Snapshot s, TaskState state, long delta, LocalDate today) {
+        Totals tenant = s.tenant(state.tenantId());
+        long overdue = state.isOverdue(today) ? delta : 0;
+        for (Totals totals : List.of(s.platform, tenant, tenant.project(state.projectId()))) {
+            totals.tasksByStatus.addAndGet(state.status().getCode(), delta);
+            totals.tasksByPriority.addAndGet(state.priority().getCode(), delta);
+            totals.overdue.addAndGet(overdue);
+        }
+    }
+
+    /**
+     * The fields of a task that the counters depend on
+     */
+    public record TaskState(UUID tenantId, UUID projectId, Task.TaskStatus status,
+            Task.TaskPriority priority, LocalDate dueDate) {
+
+        public static TaskState of(Task task) {
+            return new TaskState(task.getTenant().getId(), task.getProject().getId(),
+                    task.getStatus(), task.getPriority(), task.getDueDate());
+        }
+
+        public TaskState withStatus(Task.TaskStatus newStatus) {
+            return new TaskState(tenantId, projectId, newStatus, priority, dueDate);
+        }
+
+        boolean isOverdue(LocalDate today) {
+            return dueDate != null && dueDate.isBefore(today) && status != Task.TaskStatus.COMPLETED;
+        }
+    }
+
+    private static final class Snapshot {
+        final Totals platform = new Totals();
+        final Map<UUID, Totals> tenants = new ConcurrentHashMap<>();
+        volatile LocalDateTime reconciledAt;
+
+        Totals tenant(UUID tenantId) {
+            return tenants.computeIfAbsent(tenantId, id -> new Totals());
+        }
+    }
+
+    private static final class Totals {
+        // Indexed by the stable CodedEnum code, not the ordinal, so reordering constants cannot move counts
+        final AtomicLongArray projectsByStatus = byCode(Project.ProjectStatus.values());
+        final AtomicLongArray tasksByStatus = byCode(Task.TaskStatus.values());
+        final AtomicLongArray tasksByPriority = byCode(Task.TaskPriority.values());
+        final AtomicLong overdue = new AtomicLong();
+        final AtomicLong users = new AtomicLong();
+        // Only populated on tenant totals
+        final Map<UUID, Totals> projects = new ConcurrentHashMap<>();
+
+        Totals project(UUID projectId) {
+            return projects.computeIfAbsent(projectId, id -> new Totals());
+        }
+
+        void subtractTasks(Totals other) {
+            for (int i = 0; i < tasksByStatus.length(); i++) {
+                tasksByStatus.addAndGet(i, -other.tasksByStatus.get(i));
+            }
+            for (int i = 0; i < tasksByPriority.length(); i++) {
+                tasksByPriority.addAndGet(i, -other.tasksByPriority.get(i));
+            }
+            overdue.addAndGet(-other.overdue.get());
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> projectData = new HashMap<>();
+            projectData.put("total", sum(projectsByStatus));
+            projectData.put("byStatus", byName(projectsByStatus, Project.ProjectStatus.values()));
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("projects", projectData);
+            data.put("tasks", tasksToMap());
+            data.put("users", Map.of("total", users.get()));
+            return data;
+        }
+
+        Map<String, Object> tasksToMap() {
+            Map<String, Object> data = new HashMap<>();
+            data.put("total", sum(tasksByStatus));
+            data.put("byStatus", byName(tasksByStatus, Task.TaskStatus.values()));
+            data.put("byPriority", byName(tasksByPriority, Task.TaskPriority.values()));
+            data.put("overdue", overdue.get());
+            return data;
+        }
+
+        private static long sum(AtomicLongArray counts) {
+            long total = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                total += counts.get(i);
+            }
+            return total;
+        }
+
+        private static AtomicLongArray byCode(CodedEnum[] keys) {
+            int max = 0;
+            for (CodedEnum key : keys) {
+                max = Math.max(max, key.getCode());
+            }
+            return new AtomicLongArray(max + 1);
+        }
+
+        private static <E extends Enum<E> & CodedEnum> Map<String, Long> byName(AtomicLongArray counts, E[] keys) {
+            Map<String, Long> data = new LinkedHashMap<>();
+            for (E key : keys) {
+                data.put(key.name(), counts.get(key.getCode()));
+            }
+            return data;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.saas.service;
+
+import com.example.saas.util.Transactions;
+import com.example.saas.util.UuidV7;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Asynchronous deletion of projects and tenants (V014)
+ * A request marks the entity as pending deletion, which hides it from every read, and queues a
+ * job. Each scheduler tick then deletes one bounded chunk of the entity's rows in its own short
+ * transaction, child tables first, so no statement cascades through a whole tenant and the pause
+ * between ticks lets WAL shipping, vacuum and other writers keep up. Progress is committed with
+ * each chunk, so jobs survive restarts and can be picked up by any instance.
+ */
+@Service
+public class DeletionJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeletionJobService.class);
+
+    private static final String JOB_COLUMNS = "SELECT id, entity_type, entity_id, tenant_id, phase, rows_deleted, "
+            + "created_at, updated_at, completed_at FROM deletion_jobs";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long pollIntervalMs;
+    // Skip the job lookup until then; requests on this instance clear it
+    private volatile long idleUntil;
+    // Tenants with a deletion request; only ever grows, as a deleted tenant is never restored
+    private final Set<UUID> deletedTenants = ConcurrentHashMap.newKeySet();
+
+    public DeletionJobService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            @Value("${deletion.chunk-size:1000}") int chunkSize,
+            @Value("${deletion.poll-interval-ms:10000}") long pollIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    /**
+     * Hide a project and queue the deletion of its tasks and the project itself
+     *
+     * @return The new job, or the existing one when deletion was already requested
+     */
+    @Transactional
+    public Job requestProjectDeletion(UUID tenantId, UUID projectId, UUID requestedBy) {
+        int marked = jdbcTemplate.update("UPDATE projects SET deletion_requested_at = now() "
+                + "WHERE id = ? AND deletion_requested_at IS NULL", projectId);
+        if (marked == 0) {
+            return findByEntity(projectId).orElseThrow();
+        }
+        // Delta sync hides pending projects, so clients learn of the delete now rather than once it is purged
+        jdbcTemplate.update("INSERT INTO change_tombstones (tenant_id, change_batch, entity_type, entity_id) "
+                + "VALUES (?, change_batch(?), 'PROJECT', ?)", tenantId, tenantId, projectId);
+        return enqueue(Kind.PROJECT, projectId, tenantId, requestedBy);
+    }
+
+    /**
+     * Hide a tenant and its projects and queue the deletion of everything it owns
+     *
+     * @return The new job, or the existing one when deletion was already requested
+     */
+    @Transactional
+    public Job requestTenantDeletion(UUID tenantId, UUID requestedBy) {
+        int marked = jdbcTemplate.update("UPDATE tenants SET deletion_requested_at = now() "
+                + "WHERE id = ? AND deletion_requested_at IS NULL", tenantId);
+        if (marked == 0) {
+            return findByEntity(tenantId).orElseThrow();
+        }
+        // Bounded by the plan's project limit; hiding the projects hides their tasks too
+        jdbcTemplate.update("UPDATE projects SET deletion_requested_at = now() "
+                + "WHERE tenant_id = ? AND deletion_requested_at IS NULL", tenantId);
+        Transactions.afterCommit(() -> deletedTenants.add(tenantId));
+        return enqueue(Kind.TENANT, tenantId, tenantId, requestedBy);
+    }
+
+    /**
+     * Whether deletion of the tenant was requested, so its users' tokens must no longer be honoured
+     * Requests on this instance count at once, requests on other instances after the next refresh.
+     */
+    public boolean isTenantDeleted(UUID tenantId) {
+        return deletedTenants.contains(tenantId);
+    }
+
+    // Job rows outlive the purge, so purged tenants stay in the set as well
+    @Scheduled(fixedDelayString = "${deletion.poll-interval-ms:10000}")
+    public void refreshDeletedTenants() {
+        try {
+            deletedTenants.addAll(jdbcTemplate.queryForList(
+                    "SELECT entity_id FROM deletion_jobs WHERE entity_type = 'TENANT'", UUID.class));
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh deleted tenants", e);
+        }
+    }
+
+    public Optional<Job> find(UUID jobId) {
+        return jdbcTemplate.query(JOB_COLUMNS + " WHERE id = ?", (rs, rowNum) -> mapJob(rs), jobId)
+                .stream().findFirst();
+    }
+
+    /**
+     * Delete the next chunk of the oldest open job not being worked on by another instance
+     * The fixed delay is the pause between chunks.
+     */
+    @Scheduled(fixedDelayString = "${deletion.chunk-pause-ms:250}")
+    public void purgeNextChunk() {
+        if (System.currentTimeMillis() < idleUntil) {
+            return;
+        }
+        Boolean worked = transactionTemplate.execute(status -> {
+            List<Job> jobs = jdbcTemplate.query(JOB_COLUMNS + " WHERE completed_at IS NULL "
+                    + "ORDER BY created_at LIMIT 1 FOR UPDATE SKIP LOCKED", (rs, rowNum) -> mapJob(rs));
+            if (jobs.isEmpty()) {
+                return false;
+            }
+            purgeChunk(jobs.get(0));
+            return true;
+        });
+        if (!Boolean.TRUE.equals(worked)) {
+            idleUntil = System.currentTimeMillis() + pollIntervalMs;
+        }
+    }
+
+    // Runs inside the transaction holding the job's row lock
+    private void purgeChunk(Job job) {
+        List<Phase> phases = job.kind().phases;
+        Phase phase = job.phase() != null ? Phase.valueOf(job.phase()) : phases.get(0);
+        int deleted = phase.purge(jdbcTemplate, job, chunkSize);
+
+        boolean phaseDone = phase.isFinal() || deleted < chunkSize;
+        int index = phases.indexOf(phase);
+        boolean jobDone = phaseDone && index == phases.size() - 1;
+        Phase next = phaseDone && !jobDone ? phases.get(index + 1) : phase;
+
+        jdbcTemplate.update("UPDATE deletion_jobs SET phase = ?, rows_deleted = rows_deleted + ?, updated_at = now(), "
+                        + "completed_at = CASE WHEN ? THEN now() END WHERE id = ?",
+                next.name(), deleted, jobDone, job.id());
+        if (jobDone) {
+            log.info("Deleted {} {} ({} rows)", job.kind().name().toLowerCase(Locale.ROOT), job.entityId(),
+                    job.rowsDeleted() + deleted);
+        }
+    }
+
+    private Job enqueue(Kind kind, UUID entityId, UUID tenantId, UUID requestedBy) {
+        UUID jobId = UuidV7.next();
+        jdbcTemplate.update("INSERT INTO deletion_jobs (id, entity_type, entity_id, tenant_id, requested_by) "
+                + "VALUES (?, ?, ?, ?, ?)", jobId, kind.name(), entityId, tenantId, requestedBy);
+        Transactions.afterCommit(() -> idleUntil = 0);
+        return find(jobId).orElseThrow();
+    }
+
+    private Optional<Job> findByEntity(UUID entityId) {
+        return jdbcTemplate.query(JOB_COLUMNS + " WHERE entity_id = ?", (rs, rowNum) -> mapJob(rs), entityId)
+                .stream().findFirst();
+    }
+
+    private static Job mapJob(ResultSet rs) throws SQLException {
+        return new Job(rs.getObject("id", UUID.class), Kind.valueOf(rs.getString("entity_type")),
+                rs.getObject("entity_id", UUID.class), rs.getObject("tenant_id", UUID.class),
+                rs.getString("phase"), rs.getLong("rows_deleted"),
+                rs.getObject("created_at", LocalDateTime.class), rs.getObject("updated_at", LocalDateTime.class),
+                rs.getObject("completed_at", LocalDateTime.class));
+    }
+
+    public enum Kind {
+        PROJECT(List.of(Phase.PROJECT_TASKS, Phase.PROJECT)),
+        // Audit logs go before users so their user_id SET NULL has nothing left to update;
+        // tombstones, change batches and tenant_change_seq go last because deletes above keep adding to them
+        TENANT(List.of(Phase.TASKS, Phase.PROJECTS, Phase.AUDIT_LOGS, Phase.USERS, Phase.CHANGE_TOMBSTONES,
+                Phase.CHANGE_BATCHES, Phase.TASK_DAILY_STATS, Phase.TENANT));
+
+        private final List<Phase> phases;
+
+        Kind(List<Phase> phases) {
+            this.phases = phases;
+        }
+    }
+
+    /**
+     * One step of a job; every step except the final one deletes at most limit rows per call
+     * and is repeated until it deletes fewer
+     */
+    enum Phase {
+        PROJECT_TASKS {
+            @Override
+            int purge(JdbcTemplate jdbc, Job job, int limit) {
+                // (tenant_id, project_id) is the indexed path to a project's tasks
+                return jdbc.update("DELETE FROM tasks WHERE id IN (SELECT id FROM tasks "
+                        + "WHERE tenant_id = ? AND project_id = ? LIMIT ?)", job.tenantId(), job.entityId(), limit);
+            }
+        },
+        PROJECT {
+            @Override
+            int purge(JdbcTemplate jdbc, Job job, int limit) {
+                int deleted = jdbc.update("DELETE FROM projects WHERE id = ?", job.entityId());
+                // The delete trigger bumped it one last time; nothing reads it any more
+                jdbc.update("DELETE FROM change_stamps WHERE scope_id = ?", job.entityId());
+                return deleted;
+            }
+        },
+        TASKS {
+            @Override
+            int purge(JdbcTemplate jdbc, Job job, int limit) {
+                return jdbc.update("DELETE FROM tasks WHERE id IN (SELECT id FROM tasks WHERE tenant_id = ? LIMIT ?)",
+                        job.tenantId(), limit);
+            }
+        },
+        PROJECTS {
+            @Override
+            int purge(JdbcTemplate jdbc, Job job, int limit) {
+                List<UUID> ids = jdbc.queryForList("SELECT id FROM projects WHERE tenant_id = ? LIMIT ?",
+                        UUID.class, job.tenantId(), limit);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                UUID[] array = ids.toArray(new UUID[0]);
+                int deleted = updateAny(jdbc, "DELETE FROM projects WHERE id = ANY(?)", array);
+                updateAny(jdbc, "DELETE FROM change_stamps WHERE scope_id = ANY(?)", array);
+                return deleted;
+            }
+        },
+        AUDIT_LOGS {
+            @Override
+            int purge(JdbcTemplate jdbc, Job job, int limit) {
+                return jdbc.update("DELETE FROM audit_logs WHERE (id, created_at, retention_plan) IN ("
+                        + "SELECT id, created_at, retention_plan FROM audit_logs WHERE tenant_id = ? LIMIT ?)",
+                        job.tenantId(), limit);
+            }
+        },
+        USERS {
+            @Override
+            int purge(JdbcTemplate jdbc, Job job, int limit) {
+                return jdbc.update("DELETE FROM users WHERE id IN (SELECT id FROM users WHERE tenant_id = ? LIMIT ?)",
+                        job.tenantId(), limit);
+            }
+        },
+        CHANGE_TOMBSTONES {
+            @Override
+            int purge(JdbcTemplate jdbc, Job job, int limit) {
+                return jdbc.update("DELETE FROM change_tombstones WHERE ctid = ANY(ARRAY("
+                        + "SELECT ctid FROM change_tombstones WHERE tenant_id = ? LIMIT ?))", job.tenantId(), limit);
+            }
+        },
+        CHANGE_BATCHES {
+            @Override
+            int purge(JdbcTemplate jdbc, Job job, int limit) {
+                // Committed ones only; their queued stamp scopes go with them
+                return jdbc.update("DELETE FROM change_batches WHERE (tenant_id, batch) IN (SELECT tenant_id, batch "
+                        + "FROM change_batches WHERE tenant_id = ? AND seq IS NOT NULL LIMIT ?)", job.tenantId(), limit);
+            }
+        },
+        TASK_DAILY_STATS {
+            @Override
+            int purge(JdbcTemplate jdbc, Job job, int limit) {
+                return jdbc.update("DELETE FROM task_daily_stats WHERE (tenant_id, project_id, day) IN ("
+                        + "SELECT tenant_id, project_id, day FROM task_daily_stats WHERE tenant_id = ? LIMIT ?)",
+                        job.tenantId(), limit);
+            }
+        },
+        TENANT {
+            @Override
+            int purge(JdbcTemplate jdbc, Job job, int limit) {
+                // Anything written to the tenant while the job ran still cascades from here
+                int deleted = jdbc.update("DELETE FROM tenants WHERE id = ?", job.tenantId());
+                jdbc.update("DELETE FROM change_stamps WHERE scope_id = ?", job.tenantId());
+                jdbc.update("DELETE FROM tenant_change_seq WHERE tenant_id = ?", job.tenantId());
+                // Batches committed since CHANGE_BATCHES ran; this transaction's own drops itself (V017)
+                jdbc.update("DELETE FROM change_batches WHERE tenant_id = ? AND seq IS NOT NULL", job.tenantId());
+                return deleted;
+            }
+        };
+
+        abstract int purge(JdbcTemplate jdbc, Job job, int limit);
+
+        private static int updateAny(JdbcTemplate jdbc, String sql, UUID[] ids) {
+            return jdbc.update(con -> {
+                PreparedStatement ps = con.prepareStatement(sql);
+                ps.setArray(1, con.createArrayOf("uuid", ids));
+                return ps;
+            });
+        }
+
+        boolean isFinal() {
+            return this == PROJECT || this == TENANT;
+        }
+    }
+
+    public record Job(UUID id, Kind kind, UUID entityId, UUID tenantId, String phase, long rowsDeleted,
+            LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime completedAt) {
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("id", id);
+            data.put("entityType", kind);
+            data.put("entityId", entityId);
+            data.put("tenantId", tenantId);
+            data.put("status", completedAt != null ? "COMPLETED" : phase != null ? "RUNNING" : "PENDING");
+            data.put("phase", completedAt != null ? null : phase);
+            data.put("rowsDeleted", rowsDeleted);
+            data.put("createdAt", createdAt);
+            data.put("updatedAt", updatedAt);
+            data.put("completedAt", completedAt);
+            return data;
+        }
+    }
+}
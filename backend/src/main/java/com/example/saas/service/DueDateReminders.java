@@ -0,0 +1,320 @@
+package com.example.saas.service;
+
+import com.example.saas.model.CodedEnum;
+import com.example.saas.model.Task;
+import com.example.saas.util.TimingWheel;
+import com.example.saas.util.Transactions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.Date;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Due-date reminders and overdue notices on a hierarchical timing wheel
+ * Incomplete tasks due within the horizon are loaded at startup and every hour through the
+ * partial due-date index (V015); task writes reschedule or cancel their entries after commit.
+ * Each task has up to two deadlines: a reminder reminder-lead-hours before its due date starts
+ * and an overdue notice when the due date ends. Fired entries are checked against the database
+ * in one batch, so entries left behind by writes on another instance never fire for a task
+ * that was completed, moved or deleted. Events go to the tenant's change stream on every
+ * instance whose wheel fired them, so each instance's own subscribers see them. Every instance
+ * loads the same due tasks, so notices are also claimed in due_notices (V016): only the instance
+ * that inserts the claim publishes the {@link DueEvent}, and each notice reaches application
+ * listeners once across the cluster.
+ */
+@Service
+public class DueDateReminders {
+
+    private static final Logger log = LoggerFactory.getLogger(DueDateReminders.class);
+
+    // The literal status matches the partial index predicate, which a bind parameter would not
+    private static final String HORIZON_SQL = "SELECT t.id, t.tenant_id, t.due_date FROM tasks t "
+            + "JOIN projects p ON p.id = t.project_id "
+            + "WHERE t.status <> 3 AND t.due_date BETWEEN ? AND ? AND p.deletion_requested_at IS NULL";
+
+    private static final String VERIFY_SQL = "SELECT t.id, t.tenant_id, t.project_id, t.title, t.due_date, t.assigned_to "
+            + "FROM tasks t JOIN projects p ON p.id = t.project_id "
+            + "WHERE t.id = ANY(?) AND t.status <> 3 AND p.deletion_requested_at IS NULL";
+
+    private static final String CLAIM_SQL = "INSERT INTO due_notices (task_id, kind, due_date) "
+            + "SELECT * FROM unnest(?, ?, ?) ON CONFLICT DO NOTHING RETURNING task_id, kind";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeStream changeStream;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Duration reminderLead;
+    private final int horizonDays;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // Guarded by itself; no I/O happens while it is held
+    private final TimingWheel<Key, LocalDate> wheel;
+    private final AtomicLong reminders = new AtomicLong();
+    private final AtomicLong overdueNotices = new AtomicLong();
+    private final AtomicLong stale = new AtomicLong();
+
+    public DueDateReminders(JdbcTemplate jdbcTemplate, ChangeStream changeStream,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${reminders.enabled:true}") boolean enabled,
+            @Value("${reminders.reminder-lead-hours:24}") int reminderLeadHours,
+            @Value("${reminders.horizon-days:7}") int horizonDays,
+            @Value("${reminders.tick-ms:1000}") long tickMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeStream = changeStream;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.reminderLead = Duration.ofHours(reminderLeadHours);
+        this.horizonDays = horizonDays;
+        // 60 slots per level: seconds, minutes, hours, then 2.5-day slots
+        this.wheel = new TimingWheel<>(tickMs, 60, System.currentTimeMillis());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * A task was created (before null), changed, or deleted (after null); applied after commit
+     * A task created, moved or reopened inside the reminder window gets its reminder right away.
+     */
+    public void taskChanged(UUID taskId, DashboardCounters.TaskState before, DashboardCounters.TaskState after) {
+        if (!enabled) {
+            return;
+        }
+        Transactions.afterCommit(() -> {
+            if (after == null || after.status() == Task.TaskStatus.COMPLETED || after.dueDate() == null) {
+                synchronized (wheel) {
+                    wheel.cancel(new Key(taskId, Kind.REMINDER));
+                    wheel.cancel(new Key(taskId, Kind.OVERDUE));
+                }
+            } else {
+                boolean newDeadline = before == null || before.status() == Task.TaskStatus.COMPLETED
+                        || !after.dueDate().equals(before.dueDate());
+                schedule(taskId, after.dueDate(), System.currentTimeMillis(), newDeadline);
+            }
+        });
+    }
+
+    /**
+     * Load the due tasks a CSV import created, which it does not report one by one; like other new
+     * tasks, those already inside the reminder window get their reminder right away
+     *
+     * @param importedAt created_at of the imported rows (the import transaction's timestamp)
+     */
+    public void tasksImported(UUID projectId, LocalDateTime importedAt) {
+        if (!enabled) {
+            return;
+        }
+        Transactions.afterCommit(() -> load(" AND t.project_id = ? AND t.created_at = ?", true, projectId, importedAt));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reload();
+    }
+
+    /**
+     * Load every incomplete task due within the horizon; the hourly run moves the horizon forward
+     * and picks up writes made on other instances
+     */
+    @Scheduled(cron = "${reminders.reload-cron:0 0 * * * *}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        int loaded = load("", false);
+        // Claims for due dates before yesterday can no longer fire; yesterday's overdue notices fire today
+        int pruned = jdbcTemplate.update("DELETE FROM due_notices WHERE due_date < ?",
+                Date.valueOf(LocalDate.now(zone).minusDays(1)));
+        log.debug("Loaded {} due tasks into the reminder wheel, pruned {} notice claims", loaded, pruned);
+    }
+
+    @Scheduled(fixedDelayString = "${reminders.tick-ms:1000}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        List<Fired> fired = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(System.currentTimeMillis(),
+                    (key, dueDate) -> fired.add(new Fired(key.kind(), key.taskId(), dueDate)));
+        }
+        if (fired.isEmpty()) {
+            return;
+        }
+
+        UUID[] ids = fired.stream().map(Fired::taskId).distinct().toArray(UUID[]::new);
+        Map<UUID, DueEvent> current = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(VERIFY_SQL);
+            ps.setArray(1, con.createArrayOf("uuid", ids));
+            return ps;
+        }, rs -> {
+            UUID taskId = rs.getObject(1, UUID.class);
+            current.put(taskId, new DueEvent(null, taskId, rs.getObject(2, UUID.class), rs.getObject(3, UUID.class),
+                    rs.getString(4), rs.getObject(5, LocalDate.class), rs.getObject(6, UUID.class)));
+        });
+
+        List<DueEvent> due = new ArrayList<>();
+        for (Fired entry : fired) {
+            DueEvent task = current.get(entry.taskId());
+            // Completed, deleted, or moved to another due date (which has its own entry)
+            if (task == null || !task.dueDate().equals(entry.dueDate())) {
+                stale.incrementAndGet();
+                continue;
+            }
+            due.add(new DueEvent(entry.kind(), task.taskId(), task.tenantId(), task.projectId(), task.title(),
+                    task.dueDate(), task.assignedTo()));
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Set<Key> claimed = claim(due);
+        for (DueEvent event : due) {
+            publish(event, claimed.contains(new Key(event.taskId(), event.kind())));
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (wheel) {
+            stats.put("scheduled", wheel.size());
+            stats.put("levels", wheel.levels());
+        }
+        stats.put("reminders", reminders.get());
+        stats.put("overdue", overdueNotices.get());
+        stats.put("stale", stale.get());
+        return stats;
+    }
+
+    private int load(String filter, boolean remindNow, Object... params) {
+        LocalDate today = LocalDate.now(zone);
+        List<Object> args = new ArrayList<>(List.of(Date.valueOf(today), Date.valueOf(today.plusDays(horizonDays))));
+        args.addAll(List.of(params));
+        long now = System.currentTimeMillis();
+        int[] loaded = {0};
+        jdbcTemplate.query(HORIZON_SQL + filter, rs -> {
+            schedule(rs.getObject(1, UUID.class), rs.getObject(3, LocalDate.class), now, remindNow);
+            loaded[0]++;
+        }, args.toArray());
+        return loaded[0];
+    }
+
+    /**
+     * Only deadlines still ahead are scheduled, so reloads never repeat an event that already fired
+     *
+     * @param remindNow The due date is new to the task: if the reminder time has passed but the task
+     *                  is not overdue yet, remind on the next tick instead of skipping the reminder
+     */
+    private void schedule(UUID taskId, LocalDate dueDate, long now, boolean remindNow) {
+        long dueStart = dueDate.atStartOfDay(zone).toInstant().toEpochMilli();
+        long reminderAt = dueStart - reminderLead.toMillis();
+        long overdueAt = dueDate.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        synchronized (wheel) {
+            Key reminder = new Key(taskId, Kind.REMINDER);
+            if (reminderAt > now) {
+                wheel.schedule(reminder, reminderAt, dueDate);
+            } else if (remindNow && overdueAt > now) {
+                wheel.schedule(reminder, now, dueDate);
+            } else {
+                wheel.cancel(reminder);
+            }
+            Key overdue = new Key(taskId, Kind.OVERDUE);
+            if (overdueAt > now) {
+                wheel.schedule(overdue, overdueAt, dueDate);
+            } else {
+                wheel.cancel(overdue);
+            }
+        }
+    }
+
+    // The notices this instance inserted the claim for; the others were claimed elsewhere first
+    private Set<Key> claim(List<DueEvent> due) {
+        UUID[] taskIds = new UUID[due.size()];
+        Short[] kinds = new Short[due.size()];
+        Date[] dueDates = new Date[due.size()];
+        for (int i = 0; i < due.size(); i++) {
+            taskIds[i] = due.get(i).taskId();
+            kinds[i] = due.get(i).kind().getCode();
+            dueDates[i] = Date.valueOf(due.get(i).dueDate());
+        }
+        Set<Key> claimed = new HashSet<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(CLAIM_SQL);
+            ps.setArray(1, con.createArrayOf("uuid", taskIds));
+            ps.setArray(2, con.createArrayOf("int2", kinds));
+            ps.setArray(3, con.createArrayOf("date", dueDates));
+            return ps;
+        }, rs -> {
+            claimed.add(new Key(rs.getObject(1, UUID.class), Kind.of(rs.getShort(2))));
+        });
+        return claimed;
+    }
+
+    private void publish(DueEvent event, boolean claimed) {
+        if (claimed) {
+            (event.kind() == Kind.REMINDER ? reminders : overdueNotices).incrementAndGet();
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", event.taskId());
+        data.put("projectId", event.projectId());
+        data.put("title", event.title());
+        data.put("dueDate", event.dueDate());
+        data.put("assignedTo", event.assignedTo());
+        changeStream.publish(event.tenantId(), event.kind() == Kind.REMINDER ? "task.due_soon" : "task.overdue", data);
+        if (claimed) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    public enum Kind implements CodedEnum {
+        REMINDER(1),
+        OVERDUE(2);
+
+        private final short code;
+
+        Kind(int code) {
+            this.code = (short) code;
+        }
+
+        @Override
+        public short getCode() {
+            return code;
+        }
+
+        static Kind of(short code) {
+            for (Kind kind : values()) {
+                if (kind.code == code) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Unknown reminder kind code: " + code);
+        }
+    }
+
+    private record Key(UUID taskId, Kind kind) {
+    }
+
+    private record Fired(Kind kind, UUID taskId, LocalDate dueDate) {
+    }
+
+    /**
+     * Published for notification senders, by exactly one instance per notice; listeners run on the
+     * scheduler thread, so hand off slow work
+     */
+    public record DueEvent(Kind kind, UUID taskId, UUID tenantId, UUID projectId, String title,
+            LocalDate dueDate, UUID assignedTo) {
+    }
+}
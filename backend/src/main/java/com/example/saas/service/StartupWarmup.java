@@ -0,0 +1,233 @@
+package com.example.saas.service;
+
+import com.example.saas.model.Task;
+import com.example.saas.util.ApiResponse;
+import com.example.saas.util.JwtUtil;
+import com.example.saas.util.WarmupRequests;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * JIT warm-up before the instance reports ready
+ * Boot only moves readiness to ACCEPTING_TRAFFIC after every ApplicationReadyEvent listener has
+ * returned, and /api/health answers 503 until then. This listener keeps the main thread in
+ * rounds of loopback requests (login, JwtFilter, list endpoints) plus token and Jackson work on
+ * synthetic data, until rounds stop adding more than settle-compile-ms of JIT compilation or
+ * max-duration-ms runs out. The requests use a random tenant, so every query is a read that
+ * matches nothing; the failed logins are not audited. Each request carries the per-process
+ * {@link WarmupRequests} token so metrics can leave it out.
+ */
+@Service
+public class StartupWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    // Compilation has settled after this many quiet rounds in a row
+    private static final int QUIET_ROUNDS = 2;
+
+    private final JwtUtil jwtUtil;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final WarmupRequests warmupRequests;
+    private final boolean enabled;
+    private final long maxDurationMs;
+    private final int roundIterations;
+    private final int minRounds;
+    private final long settleCompileMs;
+
+    private volatile Map<String, Object> result;
+
+    public StartupWarmup(JwtUtil jwtUtil, PasswordEncoder passwordEncoder, ObjectMapper objectMapper,
+            JdbcTemplate jdbcTemplate, WarmupRequests warmupRequests,
+            @Value("${warmup.enabled:true}") boolean enabled,
+            @Value("${warmup.max-duration-ms:60000}") long maxDurationMs,
+            @Value("${warmup.round-iterations:100}") int roundIterations,
+            @Value("${warmup.min-rounds:3}") int minRounds,
+            @Value("${warmup.settle-compile-ms:20}") long settleCompileMs) {
+        this.jwtUtil = jwtUtil;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.warmupRequests = warmupRequests;
+        this.enabled = enabled;
+        this.maxDurationMs = maxDurationMs;
+        this.roundIterations = roundIterations;
+        this.minRounds = minRounds;
+        this.settleCompileMs = settleCompileMs;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + Duration.ofMillis(maxDurationMs).toNanos();
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        boolean compileTimeKnown = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+        long compileStart = compileTimeKnown ? compiler.getTotalCompilationTime() : 0;
+
+        Round round = new Round(event);
+        int rounds = 0;
+        int quiet = 0;
+        boolean settled = false;
+        long lastCompile = compileStart;
+        try {
+            while (System.nanoTime() < deadline) {
+                round.run();
+                rounds++;
+                if (!compileTimeKnown) {
+                    settled = rounds >= minRounds;
+                } else {
+                    long compile = compiler.getTotalCompilationTime();
+                    quiet = compile - lastCompile <= settleCompileMs ? quiet + 1 : 0;
+                    lastCompile = compile;
+                    settled = rounds >= minRounds && quiet >= QUIET_ROUNDS;
+                }
+                if (settled) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            // Never hold readiness back because of the warm-up itself
+            log.warn("Warm-up stopped early: {}", e.getMessage());
+        }
+
+        long durationMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("durationMs", durationMs);
+        stats.put("rounds", rounds);
+        stats.put("requests", round.requests);
+        stats.put("database", round.database);
+        stats.put("settled", settled);
+        if (compileTimeKnown) {
+            stats.put("compileMs", lastCompile - compileStart);
+        }
+        result = stats;
+        log.info("Warm-up finished in {} ms: {} rounds, {} requests, {} ({})", durationMs, rounds, round.requests,
+                settled ? "JIT settled" : "time limit reached",
+                compileTimeKnown ? (lastCompile - compileStart) + " ms compiling" : "compile time not reported");
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = result;
+        return stats != null ? stats : Map.of("running", true);
+    }
+
+    /**
+     * One round: roundIterations passes over the in-memory paths and the loopback requests
+     */
+    private final class Round {
+
+        private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        private final String baseUrl;
+        private final String tenantAdminToken;
+        private final String superAdminToken;
+        private final UUID tenantId = UUID.randomUUID();
+        private final String passwordHash;
+        private final Object payload;
+        private final boolean database;
+        private long requests;
+
+        Round(ApplicationReadyEvent event) {
+            int port = event.getApplicationContext() instanceof WebServerApplicationContext web
+                    ? web.getWebServer().getPort() : -1;
+            this.baseUrl = port > 0 ? "http://127.0.0.1:" + port : null;
+            this.tenantAdminToken = jwtUtil.generateToken(UUID.randomUUID().toString(), tenantId.toString(), "TENANT_ADMIN");
+            this.superAdminToken = jwtUtil.generateToken(UUID.randomUUID().toString(), null, "SUPER_ADMIN");
+            this.passwordHash = passwordEncoder.encode("warm-up");
+            this.payload = ApiResponse.ok(syntheticTasks());
+            this.database = databaseReachable();
+        }
+
+        void run() throws Exception {
+            // BCrypt is slow on purpose; one check per round is enough to compile its inner loop
+            passwordEncoder.matches("warm-up", passwordHash);
+            for (int i = 0; i < roundIterations; i++) {
+                jwtUtil.parseToken(jwtUtil.generateToken(UUID.randomUUID().toString(), tenantId.toString(), "USER"));
+                objectMapper.writeValueAsBytes(payload);
+                // Without a database the endpoints would only exercise error handling
+                if (baseUrl != null && database) {
+                    post("/api/auth/login", "{\"email\":\"warmup-" + i + "@warmup.invalid\",\"password\":\"warm-up\"}");
+                    get("/api/projects", tenantAdminToken);
+                    get("/api/projects/" + UUID.randomUUID() + "/tasks", tenantAdminToken);
+                    get("/api/dashboard", tenantAdminToken);
+                    get("/api/tasks?tenantId=" + tenantId, superAdminToken);
+                    get("/api/users?tenantId=" + tenantId, superAdminToken);
+                }
+            }
+        }
+
+        private void get(String path, String token) throws Exception {
+            send(HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", "Bearer " + token).GET());
+        }
+
+        private void post(String path, String json) throws Exception {
+            send(HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json)));
+        }
+
+        private void send(HttpRequest.Builder request) throws Exception {
+            client.send(request.header(WarmupRequests.HEADER, warmupRequests.token())
+                            .timeout(Duration.ofSeconds(10)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            requests++;
+        }
+
+        private boolean databaseReachable() {
+            try {
+                jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                return true;
+            } catch (Exception e) {
+                log.warn("Database not reachable, warming up without the HTTP endpoints: {}", e.getMessage());
+                return false;
+            }
+        }
+
+        // A page of tasks shaped like the list responses
+        private List<Map<String, Object>> syntheticTasks() {
+            List<Map<String, Object>> tasks = new ArrayList<>();
+            UUID projectId = UUID.randomUUID();
+            for (int i = 0; i < 50; i++) {
+                Map<String, Object> task = new HashMap<>();
+                task.put("id", UUID.randomUUID());
+                task.put("projectId", projectId);
+                task.put("title", "Warm-up task " + i);
+                task.put("description", "Synthetic task used to warm up serialization");
+                task.put("status", Task.TaskStatus.values()[i % Task.TaskStatus.values().length]);
+                task.put("priority", Task.TaskPriority.values()[i % Task.TaskPriority.values().length]);
+                task.put("dueDate", LocalDate.now().plusDays(i).toString());
+                task.put("assignedTo", Map.of("id", UUID.randomUUID(), "fullName", "Warm Up", "email", "warmup@warmup.invalid"));
+                task.put("createdAt", LocalDateTime.now());
+                task.put("updatedAt", LocalDateTime.now());
+                task.put("version", (long) i);
+                tasks.add(task);
+            }
+            return tasks;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.example.saas.service;
+
+import com.example.saas.controller.TaskController.BulkUpdateTaskItem;
+import com.example.saas.controller.TaskController.CreateTaskRequest;
+import com.example.saas.model.Project;
+import com.example.saas.model.Task;
+import com.example.saas.model.Tenant;
+import com.example.saas.model.User;
+import com.example.saas.repository.TaskRepository;
+import com.example.saas.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bulk task writes for a single project
+ * Assignees and target tasks are resolved with one IN query each, and rows are
+ * flushed in chunks of hibernate.jdbc.batch_size so inserts/updates go out as JDBC batches
+ */
+@Service
+public class TaskBulkService {
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final DashboardCounters dashboardCounters;
+    private final TaskThroughputRollup throughputRollup;
+    private final DueDateReminders dueDateReminders;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TaskBulkService(TaskRepository taskRepository, UserRepository userRepository,
+            DashboardCounters dashboardCounters, TaskThroughputRollup throughputRollup,
+            DueDateReminders dueDateReminders,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.dashboardCounters = dashboardCounters;
+        this.throughputRollup = throughputRollup;
+        this.dueDateReminders = dueDateReminders;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Create tasks in the given project
+     *
+     * @param project Target project (already authorized by the caller)
+     * @param items   Task definitions, one result is returned per item in the same order
+     * @param atomic  When true, any invalid item rejects the whole request and nothing is written
+     * @return Bulk outcome with per-item results
+     */
+    @Transactional
+    public BulkResult createTasks(Project project, List<CreateTaskRequest> items, boolean atomic) {
+        UUID tenantId = project.getTenant().getId();
+        Map<UUID, User> assignees = loadAssignees(
+                items.stream().filter(Objects::nonNull).map(CreateTaskRequest::getAssignedTo), tenantId);
+
+        List<Map<String, Object>> results = new ArrayList<>(items.size());
+        List<Task> valid = new ArrayList<>(items.size());
+        List<Integer> validIndexes = new ArrayList<>(items.size());
+
+        for (int i = 0; i < items.size(); i++) {
+            CreateTaskRequest item = items.get(i);
+            try {
+                if (item == null || item.getTitle() == null || item.getTitle().isBlank()) {
+                    throw new IllegalArgumentException("Title is required");
+                }
+                Task task = new Task();
+                task.setProject(project);
+                task.setTenant(project.getTenant());
+                task.setTitle(item.getTitle());
+                task.setDescription(item.getDescription());
+                task.setStatus(Task.TaskStatus.TODO);
+                task.setPriority(parsePriority(item.getPriority() != null ? item.getPriority() : "MEDIUM"));
+                if (item.getAssignedTo() != null) {
+                    task.setAssignedTo(resolveAssignee(assignees, item.getAssignedTo()));
+                }
+                if (item.getDueDate() != null) {
+                    task.setDueDate(parseDueDate(item.getDueDate()));
+                }
+                valid.add(task);
+                validIndexes.add(i);
+                results.add(null);
+            } catch (IllegalArgumentException e) {
+                results.add(failure(i, null, e.getMessage()));
+            }
+        }
+
+        int failed = items.size() - valid.size();
+        if (atomic && failed > 0) {
+            return BulkResult.rejected(results, validIndexes);
+        }
+
+        UUID projectId = project.getId();
+        for (int n = 0; n < valid.size(); n++) {
+            Task task = valid.get(n);
+            // flushChunk's clear detaches the caller's project, its tenant and the assignees; bind by id
+            // to whatever the context holds now (the managed instance until the first clear, a proxy after)
+            task.setProject(entityManager.getReference(Project.class, projectId));
+            task.setTenant(entityManager.getReference(Tenant.class, tenantId));
+            if (task.getAssignedTo() != null) {
+                task.setAssignedTo(entityManager.getReference(User.class, task.getAssignedTo().getId()));
+            }
+            entityManager.persist(task);
+            dashboardCounters.taskChanged(null, DashboardCounters.TaskState.of(task));
+            throughputRollup.taskChanged(null, DashboardCounters.TaskState.of(task));
+            dueDateReminders.taskChanged(task.getId(), null, DashboardCounters.TaskState.of(task));
+            results.set(validIndexes.get(n), success(validIndexes.get(n), task.getId()));
+            flushChunk(n + 1);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        return new BulkResult(results, valid.size(), failed, false);
+    }
+
+    /**
+     * Patch tasks in the given project
+     *
+     * @param project Target project (already authorized by the caller)
+     * @param items   Partial updates keyed by task id, one result is returned per item in the same order
+     * @param atomic  When true, any invalid item rejects the whole request and nothing is written
+     * @return Bulk outcome with per-item results
+     */
+    @Transactional
+    public BulkResult updateTasks(Project project, List<BulkUpdateTaskItem> items, boolean atomic) {
+        UUID tenantId = project.getTenant().getId();
+        Map<UUID, User> assignees = loadAssignees(
+                items.stream().filter(Objects::nonNull).map(BulkUpdateTaskItem::getAssignedTo), tenantId);
+
+        Set<UUID> taskIds = items.stream()
+                .filter(Objects::nonNull)
+                .map(BulkUpdateTaskItem::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<UUID, Task> tasks = taskIds.isEmpty()
+                ? Collections.emptyMap()
+                : taskRepository.findByIdInAndProjectId(taskIds, project.getId()).stream()
+                        .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        // Validate everything before touching managed entities so an atomic rejection leaves nothing dirty
+        List<Map<String, Object>> results = new ArrayList<>(items.size());
+        List<Runnable> changes = new ArrayList<>(items.size());
+        List<Integer> validIndexes = new ArrayList<>(items.size());
+        Set<UUID> seen = new HashSet<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            BulkUpdateTaskItem item = items.get(i);
+            UUID id = item != null ? item.getId() : null;
+            try {
+                if (id == null) {
+                    throw new IllegalArgumentException("Task id is required");
+                }
+                if (!seen.add(id)) {
+                    throw new IllegalArgumentException("Duplicate task id");
+                }
+                Task task = tasks.get(id);
+                if (task == null) {
+                    throw new IllegalArgumentException("Task not found");
+                }
+                if (item.getVersion() != null && !item.getVersion().equals(task.getVersion())) {
+                    throw new IllegalArgumentException("Version conflict");
+                }
+                if (item.getTitle() != null && item.getTitle().isBlank()) {
+                    throw new IllegalArgumentException("Title must not be blank");
+                }
+                Task.TaskStatus status = item.getStatus() != null ? parseStatus(item.getStatus()) : null;
+                Task.TaskPriority priority = item.getPriority() != null ? parsePriority(item.getPriority()) : null;
+                LocalDate dueDate = item.getDueDate() != null ? parseDueDate(item.getDueDate()) : null;
+                User assignee = item.getAssignedTo() != null ? resolveAssignee(assignees, item.getAssignedTo()) : null;
+
+                changes.add(() -> {
+                    DashboardCounters.TaskState before = DashboardCounters.TaskState.of(task);
+                    if (item.getTitle() != null)
+                        task.setTitle(item.getTitle());
+                    if (item.getDescription() != null)
+                        task.setDescription(item.getDescription());
+                    if (status != null)
+                        task.setStatus(status);
+                    if (priority != null)
+                        task.setPriority(priority);
+                    if (dueDate != null)
+                        task.setDueDate(dueDate);
+                    if (assignee != null)
+                        task.setAssignedTo(assignee);
+                    dashboardCounters.taskChanged(before, DashboardCounters.TaskState.of(task));
+                    throughputRollup.taskChanged(before, DashboardCounters.TaskState.of(task));
+                    dueDateReminders.taskChanged(task.getId(), before, DashboardCounters.TaskState.of(task));
+                });
+                validIndexes.add(i);
+                results.add(success(i, id));
+            } catch (IllegalArgumentException e) {
+                results.add(failure(i, id, e.getMessage()));
+            }
+        }
+
+        int failed = items.size() - changes.size();
+        if (atomic && failed > 0) {
+            return BulkResult.rejected(results, validIndexes);
+        }
+
+        changes.forEach(Runnable::run);
+        entityManager.flush();
+        entityManager.clear();
+
+        return new BulkResult(results, changes.size(), failed, false);
+    }
+
+    private void flushChunk(int written) {
+        if (written % batchSize == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private Map<UUID, User> loadAssignees(Stream<UUID> ids, UUID tenantId) {
+        Set<UUID> distinct = ids.filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distinct.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return userRepository.findByIdInAndTenantId(distinct, tenantId).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private User resolveAssignee(Map<UUID, User> assignees, UUID userId) {
+        User user = assignees.get(userId);
+        if (user == null) {
+            throw new IllegalArgumentException("Invalid assigned user");
+        }
+        return user;
+    }
+
+    static Task.TaskPriority parsePriority(String value) {
+        try {
+            return Task.TaskPriority.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid priority: " + value);
+        }
+    }
+
+    static Task.TaskStatus parseStatus(String value) {
+        try {
+            return Task.TaskStatus.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status: " + value);
+        }
+    }
+
+    static LocalDate parseDueDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid due date: " + value);
+        }
+    }
+
+    private static Map<String, Object> success(int index, UUID id) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("index", index);
+        result.put("id", id);
+        result.put("success", true);
+        return result;
+    }
+
+    private static Map<String, Object> failure(int index, UUID id, String error) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("index", index);
+        result.put("id", id);
+        result.put("success", false);
+        result.put("error", error);
+        return result;
+    }
+
+    /**
+     * Outcome of a bulk call: per-item results plus totals
+     */
+    public static class BulkResult {
+        private final List<Map<String, Object>> results;
+        private final int succeeded;
+        private final int failed;
+        private final boolean rejected;
+
+        public BulkResult(List<Map<String, Object>> results, int succeeded, int failed, boolean rejected) {
+            this.results = results;
+            this.succeeded = succeeded;
+            this.failed = failed;
+            this.rejected = rejected;
+        }
+
+        static BulkResult rejected(List<Map<String, Object>> results, List<Integer> validIndexes) {
+            // Items that passed validation were not written either; say so explicitly
+            for (Integer index : validIndexes) {
+                Map<String, Object> result = results.get(index);
+                UUID id = result != null ? (UUID) result.get("id") : null;
+                results.set(index, failure(index, id, "Not applied: request rejected"));
+            }
+            return new BulkResult(results, 0, results.size(), true);
+        }
+
+        public List<Map<String, Object>> getResults() { return results; }
+        public int getSucceeded() { return succeeded; }
+        public int getFailed() { return failed; }
+        public boolean isRejected() { return rejected; }
+
+        public List<UUID> succeededIds() {
+            return results.stream()
+                    .filter(r -> Boolean.TRUE.equals(r.get("success")))
+                    .map(r -> (UUID) r.get("id"))
+                    .toList();
+        }
+
+        public Map<String, Object> toResponse() {
+            Map<String, Object> response = new HashMap<>();
+            response.put("results", results);
+            response.put("succeeded", succeeded);
+            response.put("failed", failed);
+            return response;
+        }
+    }
+}
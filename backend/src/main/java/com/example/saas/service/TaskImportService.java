@@ -0,0 +1,416 @@
+package com.example.saas.service;
+
+import com.example.saas.model.Project;
+import com.example.saas.model.Task;
+import com.example.saas.util.CsvReader;
+import com.example.saas.util.UuidV7;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * CSV task import for a single project
+ * The upload is parsed one record at a time and each valid row is written in COPY format to a
+ * local staging file, so neither the file nor the rows are held in memory. Only then is a
+ * transaction opened, to COPY the file into a temporary table and move the rows into tasks
+ * with one INSERT ... SELECT. Progress
+ * and per-row errors are written to the response as NDJSON events while the file is read.
+ */
+@Service
+public class TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+    private static final int MAX_FIELD_LENGTH = 100_000;
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    private static final String STAGING_SQL = "CREATE TEMP TABLE task_import ("
+            + "id uuid, line bigint, title text, description text, status smallint, priority smallint, "
+            + "assigned_to uuid, due_date date) ON COMMIT DROP";
+    private static final String COPY_SQL = "COPY task_import "
+            + "(id, line, title, description, status, priority, assigned_to, due_date) FROM STDIN";
+    private static final String INSERT_SQL = "INSERT INTO tasks "
+            + "(id, project_id, tenant_id, title, description, status, priority, assigned_to, due_date, "
+            + "created_at, updated_at, version) "
+            + "SELECT id, ?, ?, title, description, status, priority, assigned_to, due_date, now(), now(), 0 "
+            + "FROM task_import ORDER BY line";
+
+    private static final Task.TaskStatusConverter TASK_STATUS = new Task.TaskStatusConverter();
+    private static final Task.TaskPriorityConverter TASK_PRIORITY = new Task.TaskPriorityConverter();
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final DashboardCounters dashboardCounters;
+    private final TaskThroughputRollup throughputRollup;
+    private final DueDateReminders dueDateReminders;
+    private final ChangeStream changeStream;
+    private final AuditService auditService;
+    private final long maxRows;
+    private final int maxErrors;
+    private final int progressEvery;
+
+    public TaskImportService(DataSource dataSource, ObjectMapper objectMapper, DashboardCounters dashboardCounters,
+            TaskThroughputRollup throughputRollup, DueDateReminders dueDateReminders, ChangeStream changeStream,
+            AuditService auditService,
+            @Value("${tasks.import.max-rows:1000000}") long maxRows,
+            @Value("${tasks.import.max-errors:1000}") int maxErrors,
+            @Value("${tasks.import.progress-every:5000}") int progressEvery) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.dashboardCounters = dashboardCounters;
+        this.throughputRollup = throughputRollup;
+        this.dueDateReminders = dueDateReminders;
+        this.changeStream = changeStream;
+        this.auditService = auditService;
+        this.maxRows = maxRows;
+        this.maxErrors = maxErrors;
+        this.progressEvery = progressEvery;
+    }
+
+    /**
+     * Import tasks from CSV and report as NDJSON events:
+     * "progress" every few thousand rows, "error" per invalid row (up to tasks.import.max-errors),
+     * and always a final "result"
+     *
+     * @param project Target project (already authorized by the caller)
+     * @param csv     Upload with a header row; only the title column is required
+     * @param atomic  When true, any invalid row rejects the whole import and nothing is written
+     */
+    public void importTasks(Project project, UUID userId, Reader csv, boolean atomic, OutputStream out)
+            throws IOException {
+        UUID tenantId = project.getTenant().getId();
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            Events events = new Events(json);
+
+            CsvReader reader = new CsvReader(new BufferedReader(csv), MAX_FIELD_LENGTH);
+            Columns columns;
+            try {
+                columns = Columns.of(reader.next());
+            } catch (IllegalArgumentException | CsvReader.MalformedCsvException e) {
+                events.result(new Progress(), 0, e.getMessage());
+                return;
+            }
+
+            Progress progress = new Progress();
+            // Staged to a local file first: the upload runs at the client's pace, and a connection
+            // (and a DB limiter permit) held open in a transaction all that time would sit idle in it
+            Path staged = Files.createTempFile("task-import-", ".copy");
+            try {
+                Map<String, UUID> assignees;
+                try (Connection con = dataSource.getConnection()) {
+                    assignees = loadAssignees(con, tenantId);
+                }
+                stage(staged, reader, columns, assignees, events, progress);
+                if (progress.abortReason == null && atomic && progress.failed > 0) {
+                    progress.abortReason = progress.failed + " invalid rows in an atomic import";
+                }
+                if (progress.abortReason != null || progress.valid == 0) {
+                    events.result(progress, 0, progress.abortReason);
+                    return;
+                }
+
+                // The transaction only covers reading the staged file back and the INSERT
+                try (Connection con = dataSource.getConnection()) {
+                    con.setAutoCommit(false);
+                    try {
+                        try (Statement statement = con.createStatement()) {
+                            statement.execute(STAGING_SQL);
+                        }
+                        try (InputStream in = Files.newInputStream(staged)) {
+                            con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, in, 65536);
+                        }
+
+                        int created;
+                        LocalDateTime importedAt;
+                        // The transaction's timestamp, which now() in the INSERT stamps on every row
+                        try (Statement statement = con.createStatement();
+                                ResultSet rs = statement.executeQuery("SELECT localtimestamp")) {
+                            rs.next();
+                            importedAt = rs.getObject(1, LocalDateTime.class);
+                        }
+                        try (PreparedStatement insert = con.prepareStatement(INSERT_SQL)) {
+                            insert.setObject(1, project.getId());
+                            insert.setObject(2, tenantId);
+                            created = insert.executeUpdate();
+                        }
+                        con.commit();
+                        // Before the last event, so a client that has already gone away cannot skip it
+                        afterImport(project, tenantId, userId, progress, importedAt);
+                        events.result(progress, created, null);
+                    } finally {
+                        // No-op after a commit
+                        con.rollback();
+                    }
+                }
+            } catch (SQLException e) {
+                log.warn("Task import into project {} failed: {}", project.getId(), e.getMessage());
+                // The stream still ends with a result; nothing was written unless the commit went through
+                if (!events.resultWritten) {
+                    events.result(progress, 0, "database error");
+                }
+                throw new IOException("Task import failed", e);
+            } finally {
+                Files.deleteIfExists(staged);
+            }
+        }
+    }
+
+    // Parse rows into the staging file; returns once the upload is exhausted or the import has to stop
+    private void stage(Path staged, CsvReader reader, Columns columns, Map<String, UUID> assignees,
+            Events events, Progress progress) throws IOException {
+        try (Writer copy = Files.newBufferedWriter(staged, StandardCharsets.UTF_8)) {
+            List<String> record;
+            while (true) {
+                try {
+                    record = reader.next();
+                } catch (CsvReader.MalformedCsvException e) {
+                    // Whatever was staged so far is discarded with the file
+                    progress.abortReason = e.getMessage();
+                    break;
+                }
+                if (record == null) {
+                    break;
+                }
+                if (progress.read == maxRows) {
+                    progress.abortReason = "Too many rows, limit is " + maxRows;
+                    break;
+                }
+                progress.read++;
+                try {
+                    Row row = columns.parse(record, assignees);
+                    writeCopyLine(copy, UuidV7.next(), reader.recordNumber(), row);
+                    progress.valid++;
+                    progress.created.merge(new Created(row.status, row.priority, row.dueDate), 1, Integer::sum);
+                } catch (IllegalArgumentException e) {
+                    progress.failed++;
+                    if (progress.failed <= maxErrors) {
+                        events.error(reader.recordNumber(), e.getMessage());
+                    }
+                }
+                if (progress.read % progressEvery == 0) {
+                    events.progress(progress);
+                }
+            }
+        }
+    }
+
+    private void afterImport(Project project, UUID tenantId, UUID userId, Progress progress,
+            LocalDateTime importedAt) {
+        progress.created.forEach((created, count) -> {
+            DashboardCounters.TaskState state = new DashboardCounters.TaskState(tenantId, project.getId(),
+                    created.status(), created.priority(), created.dueDate());
+            dashboardCounters.taskChanged(null, state, count);
+            throughputRollup.taskChanged(null, state, count);
+        });
+        dueDateReminders.tasksImported(project.getId(), importedAt);
+        // One audit entry for the whole import rather than one per task
+        auditService.record("IMPORT", "PROJECT", project.getId(), tenantId, userId);
+        changeStream.publish(tenantId, "tasks.bulk",
+                Map.of("projectId", project.getId(), "action", "imported", "count", progress.valid));
+    }
+
+    // One cached lookup per import: every email in the tenant, lower-cased
+    private static Map<String, UUID> loadAssignees(Connection con, UUID tenantId) throws SQLException {
+        Map<String, UUID> assignees = new HashMap<>();
+        try (PreparedStatement ps = con.prepareStatement("SELECT lower(email), id FROM users WHERE tenant_id = ?")) {
+            ps.setObject(1, tenantId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    assignees.put(rs.getString(1), rs.getObject(2, UUID.class));
+                }
+            }
+        }
+        return assignees;
+    }
+
+    // COPY text format: tab-separated, \N for null, backslash escapes
+    private static void writeCopyLine(Writer copy, UUID id, long line, Row row) throws IOException {
+        copy.write(id.toString());
+        copy.write('\t');
+        copy.write(Long.toString(line));
+        copy.write('\t');
+        writeCopyField(copy, row.title);
+        copy.write('\t');
+        writeCopyField(copy, row.description);
+        copy.write('\t');
+        copy.write(TASK_STATUS.convertToDatabaseColumn(row.status).toString());
+        copy.write('\t');
+        copy.write(TASK_PRIORITY.convertToDatabaseColumn(row.priority).toString());
+        copy.write('\t');
+        writeCopyField(copy, row.assignedTo != null ? row.assignedTo.toString() : null);
+        copy.write('\t');
+        writeCopyField(copy, row.dueDate != null ? row.dueDate.toString() : null);
+        copy.write('\n');
+    }
+
+    private static void writeCopyField(Writer copy, String value) throws IOException {
+        if (value == null) {
+            copy.write("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> copy.write("\\\\");
+                case '\t' -> copy.write("\\t");
+                case '\n' -> copy.write("\\n");
+                case '\r' -> copy.write("\\r");
+                default -> copy.write(c);
+            }
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Positions of the known columns in the header; other columns are ignored
+     */
+    private record Columns(int title, int description, int status, int priority, int assignee, int dueDate) {
+
+        static Columns of(List<String> header) {
+            if (header == null) {
+                throw new IllegalArgumentException("The file is empty");
+            }
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                // "Due Date", "due_date" and "dueDate" all name the same column
+                positions.putIfAbsent(header.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z]", ""), i);
+            }
+            Integer title = positions.get("title");
+            if (title == null) {
+                throw new IllegalArgumentException("The header row has no title column");
+            }
+            int assignee = positions.getOrDefault("assignee",
+                    positions.getOrDefault("assigneeemail", positions.getOrDefault("assignedto", -1)));
+            return new Columns(title, positions.getOrDefault("description", -1), positions.getOrDefault("status", -1),
+                    positions.getOrDefault("priority", -1), assignee, positions.getOrDefault("duedate", -1));
+        }
+
+        Row parse(List<String> record, Map<String, UUID> assignees) {
+            String titleValue = blankToNull(get(record, title));
+            if (titleValue == null) {
+                throw new IllegalArgumentException("Title is required");
+            }
+            if (titleValue.length() > MAX_TITLE_LENGTH) {
+                throw new IllegalArgumentException("Title is longer than " + MAX_TITLE_LENGTH + " characters");
+            }
+            String descriptionValue = get(record, description);
+            if (titleValue.indexOf('\0') >= 0 || (descriptionValue != null && descriptionValue.indexOf('\0') >= 0)) {
+                throw new IllegalArgumentException("Text contains a NUL character");
+            }
+
+            String statusValue = blankToNull(get(record, status));
+            String priorityValue = blankToNull(get(record, priority));
+            String assigneeValue = blankToNull(get(record, assignee));
+            String dueDateValue = blankToNull(get(record, dueDate));
+
+            UUID assignedTo = null;
+            if (assigneeValue != null) {
+                assignedTo = assignees.get(assigneeValue.toLowerCase(Locale.ROOT));
+                if (assignedTo == null) {
+                    throw new IllegalArgumentException("Unknown assignee: " + assigneeValue);
+                }
+            }
+            return new Row(titleValue, blankToNull(descriptionValue) != null ? descriptionValue : null,
+                    statusValue != null ? TaskBulkService.parseStatus(statusValue.toUpperCase(Locale.ROOT))
+                            : Task.TaskStatus.TODO,
+                    priorityValue != null ? TaskBulkService.parsePriority(priorityValue.toUpperCase(Locale.ROOT))
+                            : Task.TaskPriority.MEDIUM,
+                    assignedTo,
+                    dueDateValue != null ? TaskBulkService.parseDueDate(dueDateValue) : null);
+        }
+
+        private static String get(List<String> record, int position) {
+            return position >= 0 && position < record.size() ? record.get(position) : null;
+        }
+    }
+
+    private record Row(String title, String description, Task.TaskStatus status, Task.TaskPriority priority,
+            UUID assignedTo, LocalDate dueDate) {
+    }
+
+    // Dashboard and rollup state of created tasks, counted per distinct value instead of kept per row
+    private record Created(Task.TaskStatus status, Task.TaskPriority priority, LocalDate dueDate) {
+    }
+
+    private static final class Progress {
+        long read;
+        long valid;
+        long failed;
+        String abortReason;
+        final Map<Created, Integer> created = new HashMap<>();
+    }
+
+    private static final class Events {
+        private final JsonGenerator json;
+        boolean resultWritten;
+
+        Events(JsonGenerator json) {
+            this.json = json;
+        }
+
+        void progress(Progress progress) throws IOException {
+            Map<String, Object> event = counts("progress", progress);
+            write(event);
+        }
+
+        void error(long row, String message) throws IOException {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("type", "error");
+            event.put("row", row);
+            event.put("message", message);
+            write(event);
+        }
+
+        /**
+         * @param rejectedBecause Why nothing was written, or null when the import went through
+         */
+        void result(Progress progress, int created, String rejectedBecause) throws IOException {
+            Map<String, Object> event = counts("result", progress);
+            event.put("created", created);
+            event.put("rejected", rejectedBecause != null);
+            if (rejectedBecause != null) {
+                event.put("message", rejectedBecause);
+            }
+            resultWritten = true;
+            write(event);
+        }
+
+        private static Map<String, Object> counts(String type, Progress progress) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("type", type);
+            event.put("rowsRead", progress.read);
+            event.put("valid", progress.valid);
+            event.put("failed", progress.failed);
+            return event;
+        }
+
+        private void write(Map<String, Object> event) throws IOException {
+            json.writeObject(event);
+            json.writeRaw('\n');
+            json.flush();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.saas.service;
+
+import com.example.saas.model.Task;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Opt-in write-behind buffer for task status changes
+ * A status PATCH is acknowledged as soon as it is buffered; changes to the same task
+ * within one flush window collapse into a single value, and every window is written
+ * with one UPDATE over unnested arrays. Entries stay visible until their write has
+ * committed so reads always see the caller's latest status.
+ */
+@Service
+public class TaskStatusWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatusWriteBehind.class);
+
+    // "old" is a locking read of the pre-update rows, so the dashboard counters and rollups get exact deltas
+    // even when a concurrent writer changed a status first (a plain self-join would keep the earlier copy).
+    // Rows are locked in id order so two flushes cannot deadlock
+    private static final String FLUSH_SQL = "WITH v AS (SELECT * FROM unnest(?, ?) AS v(id, status)), "
+            + "old AS (SELECT t.id, t.status FROM tasks t JOIN v ON v.id = t.id WHERE t.status <> v.status "
+            + "ORDER BY t.id FOR UPDATE OF t) "
+            + "UPDATE tasks t SET status = v.status, updated_at = now(), version = t.version + 1 "
+            + "FROM old JOIN v ON v.id = old.id WHERE t.id = old.id "
+            + "RETURNING t.tenant_id, t.project_id, old.status, t.status, t.priority, t.due_date, t.id";
+
+    private static final Task.TaskStatusConverter STATUS_CONVERTER = new Task.TaskStatusConverter();
+    private static final Task.TaskPriorityConverter PRIORITY_CONVERTER = new Task.TaskPriorityConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DashboardCounters dashboardCounters;
+    private final TaskThroughputRollup throughputRollup;
+    private final DueDateReminders dueDateReminders;
+    private final boolean enabled;
+
+    private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+    // A lock rather than synchronized: writes block on JDBC, which would pin a virtual thread's carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+
+    public TaskStatusWriteBehind(JdbcTemplate jdbcTemplate, DashboardCounters dashboardCounters,
+            TaskThroughputRollup throughputRollup, DueDateReminders dueDateReminders,
+            @Value("${tasks.status.write-behind.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dashboardCounters = dashboardCounters;
+        this.throughputRollup = throughputRollup;
+        this.dueDateReminders = dueDateReminders;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Owning tenant and project of a task, from the buffer when possible
+     *
+     * @return Empty when the task does not exist or its project is being deleted
+     */
+    public Optional<Owner> owner(UUID taskId) {
+        Pending entry = pending.get(taskId);
+        if (entry != null) {
+            return Optional.of(entry.owner());
+        }
+        return jdbcTemplate.query("SELECT t.tenant_id, t.project_id FROM tasks t JOIN projects p ON p.id = t.project_id "
+                        + "WHERE t.id = ? AND p.deletion_requested_at IS NULL",
+                (rs, rowNum) -> new Owner(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class)),
+                taskId).stream().findFirst();
+    }
+
+    public void submit(UUID taskId, Owner owner, Task.TaskStatus status) {
+        pending.put(taskId, new Pending(owner, status));
+        received.incrementAndGet();
+    }
+
+    public Optional<Task.TaskStatus> pendingStatus(UUID taskId) {
+        Pending entry = pending.get(taskId);
+        return entry != null ? Optional.of(entry.status()) : Optional.empty();
+    }
+
+    public boolean hasPending(UUID projectId) {
+        if (pending.isEmpty()) {
+            return false;
+        }
+        return pending.values().stream().anyMatch(p -> p.owner().projectId().equals(projectId));
+    }
+
+    /**
+     * Writes buffered changes for the given tasks now, ahead of a synchronous write to them
+     */
+    public void flush(Collection<UUID> taskIds) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            Map<UUID, Pending> batch = new HashMap<>();
+            for (UUID id : taskIds) {
+                Pending entry = pending.get(id);
+                if (entry != null) {
+                    batch.put(id, entry);
+                }
+            }
+            write(batch);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Drop a buffered change for a task that is being deleted
+    public void discard(UUID taskId) {
+        pending.remove(taskId);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.status.write-behind.window-ms:500}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            write(new HashMap<>(pending));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Buffered versus written status changes; a ratio above 1 is the work saved by coalescing
+     */
+    public Map<String, Object> stats() {
+        long in = received.get();
+        long out = written.get();
+        Map<String, Object> data = new HashMap<>();
+        data.put("received", in);
+        data.put("written", out);
+        data.put("flushes", flushes.get());
+        data.put("pending", pending.size());
+        data.put("coalescingRatio", out == 0 ? null : Math.round(in * 100.0 / out) / 100.0);
+        return data;
+    }
+
+    // Callers hold writeLock so a snapshot can never be written after a newer synchronous write
+    private void write(Map<UUID, Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        UUID[] ids = new UUID[batch.size()];
+        Short[] codes = new Short[batch.size()];
+        int i = 0;
+        for (Map.Entry<UUID, Pending> entry : batch.entrySet()) {
+            ids[i] = entry.getKey();
+            codes[i] = entry.getValue().status().getCode();
+            i++;
+        }
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(FLUSH_SQL);
+            ps.setArray(1, con.createArrayOf("uuid", ids));
+            ps.setArray(2, con.createArrayOf("int2", codes));
+            return ps;
+        }, rs -> {
+            LocalDate dueDate = rs.getObject(6, LocalDate.class);
+            DashboardCounters.TaskState after = new DashboardCounters.TaskState(
+                    rs.getObject(1, UUID.class), rs.getObject(2, UUID.class),
+                    STATUS_CONVERTER.convertToEntityAttribute(rs.getShort(4)),
+                    PRIORITY_CONVERTER.convertToEntityAttribute(rs.getShort(5)), dueDate);
+            DashboardCounters.TaskState before = after.withStatus(STATUS_CONVERTER.convertToEntityAttribute(rs.getShort(3)));
+            dashboardCounters.taskChanged(before, after);
+            throughputRollup.taskChanged(before, after);
+            dueDateReminders.taskChanged(rs.getObject(7, UUID.class), before, after);
+        });
+
+        // Keep entries that were overwritten while this batch was in flight
+        batch.forEach(pending::remove);
+        written.addAndGet(batch.size());
+        flushes.incrementAndGet();
+        log.debug("Flushed {} buffered task status changes ({} received so far)", batch.size(), received.get());
+    }
+
+    public record Owner(UUID tenantId, UUID projectId) {
+    }
+
+    private record Pending(Owner owner, Task.TaskStatus status) {
+    }
+}
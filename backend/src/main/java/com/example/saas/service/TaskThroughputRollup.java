@@ -0,0 +1,296 @@
+package com.example.saas.service;
+
+import com.example.saas.model.Task;
+import com.example.saas.util.Transactions;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Daily task throughput per tenant and project, backing burndown and velocity charts
+ * Task write paths report before/after states; the resulting counts are merged in memory
+ * per (tenant, project, day) after commit and upserted into task_daily_stats in one
+ * statement per flush. Reads only ever touch the rollup table.
+ */
+@Service
+public class TaskThroughputRollup {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskThroughputRollup.class);
+
+    private static final String UPSERT_SQL = "INSERT INTO task_daily_stats "
+            + "(tenant_id, project_id, day, created, completed, reopened, status_changes, deleted_open) "
+            + "SELECT * FROM unnest(?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (tenant_id, project_id, day) DO UPDATE SET "
+            + "created = task_daily_stats.created + EXCLUDED.created, "
+            + "completed = task_daily_stats.completed + EXCLUDED.completed, "
+            + "reopened = task_daily_stats.reopened + EXCLUDED.reopened, "
+            + "status_changes = task_daily_stats.status_changes + EXCLUDED.status_changes, "
+            + "deleted_open = task_daily_stats.deleted_open + EXCLUDED.deleted_open";
+
+    private static final int MAX_BUCKETS = 400;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Key, Counts> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public TaskThroughputRollup(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Task created (before null), changed, or deleted (after null)
+     */
+    public void taskChanged(DashboardCounters.TaskState before, DashboardCounters.TaskState after) {
+        taskChanged(before, after, 1);
+    }
+
+    /**
+     * The same change made to count tasks at once, e.g. by an import
+     */
+    public void taskChanged(DashboardCounters.TaskState before, DashboardCounters.TaskState after, int count) {
+        Counts delta = Counts.of(before, after);
+        if (delta == null || count == 0) {
+            return;
+        }
+        if (count != 1) {
+            delta = delta.times(count);
+        }
+        DashboardCounters.TaskState owner = after != null ? after : before;
+        Counts recorded = delta;
+        Transactions.afterCommit(() -> record(owner.tenantId(), owner.projectId(), recorded));
+    }
+
+    /**
+     * Must run before the project is deleted: the database cascades the delete to its tasks,
+     * so their open count is captured here
+     */
+    public void beforeProjectDeleted(UUID tenantId, UUID projectId) {
+        Integer open = jdbcTemplate.queryForObject("SELECT count(*) FROM tasks WHERE project_id = ? AND status <> ?",
+                Integer.class, projectId, Task.TaskStatus.COMPLETED.getCode());
+        if (open != null && open > 0) {
+            Counts delta = new Counts(0, 0, 0, 0, open);
+            Transactions.afterCommit(() -> record(tenantId, projectId, delta));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.rollup.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        // remove() is atomic with merge(), so counts recorded while draining land in the next flush
+        Map<Key, Counts> batch = new HashMap<>();
+        for (Key key : new ArrayList<>(pending.keySet())) {
+            Counts counts = pending.remove(key);
+            if (counts != null) {
+                batch.put(key, counts);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        int size = batch.size();
+        UUID[] tenantIds = new UUID[size];
+        UUID[] projectIds = new UUID[size];
+        Date[] days = new Date[size];
+        Integer[][] columns = new Integer[5][size];
+        int i = 0;
+        for (Map.Entry<Key, Counts> entry : batch.entrySet()) {
+            Key key = entry.getKey();
+            Counts counts = entry.getValue();
+            tenantIds[i] = key.tenantId();
+            projectIds[i] = key.projectId();
+            days[i] = Date.valueOf(key.day());
+            columns[0][i] = counts.created();
+            columns[1][i] = counts.completed();
+            columns[2][i] = counts.reopened();
+            columns[3][i] = counts.statusChanges();
+            columns[4][i] = counts.deletedOpen();
+            i++;
+        }
+
+        try {
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(UPSERT_SQL);
+                ps.setArray(1, con.createArrayOf("uuid", tenantIds));
+                ps.setArray(2, con.createArrayOf("uuid", projectIds));
+                ps.setArray(3, con.createArrayOf("date", days));
+                for (int c = 0; c < columns.length; c++) {
+                    ps.setArray(4 + c, con.createArrayOf("int4", columns[c]));
+                }
+                return ps;
+            });
+            log.debug("Flushed {} task throughput rollup rows", size);
+        } catch (DataAccessException e) {
+            // Put the counts back so the next flush retries them
+            batch.forEach((key, counts) -> pending.merge(key, counts, Counts::plus));
+            log.warn("Failed to flush {} task throughput rollup rows: {}", size, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Throughput buckets between two dates, with the open task count at the end of each bucket
+     * Counts recorded within the last flush interval may not be visible yet.
+     *
+     * @param tenantId  Tenant to report on, or null for the whole platform
+     * @param projectId Project to report on, or null for every project in scope
+     * @param to        Exclusive upper bound
+     * @throws IllegalArgumentException if the range is empty or needs too many buckets
+     */
+    public List<Map<String, Object>> buckets(UUID tenantId, UUID projectId, LocalDate from, LocalDate to,
+            Granularity granularity) {
+        LocalDate start = granularity.truncate(from);
+        if (!start.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        List<LocalDate> periods = new ArrayList<>();
+        for (LocalDate period = start; period.isBefore(to); period = granularity.next(period)) {
+            if (periods.size() == MAX_BUCKETS) {
+                throw new IllegalArgumentException("Range too large; use a coarser granularity");
+            }
+            periods.add(period);
+        }
+
+        List<Object> params = new ArrayList<>();
+        // Tenants pending deletion drop out at once; their rows go with the purge
+        StringBuilder where = new StringBuilder(" WHERE day < ? "
+                + "AND tenant_id IN (SELECT id FROM tenants WHERE deletion_requested_at IS NULL)");
+        params.add(Date.valueOf(to));
+        if (tenantId != null) {
+            where.append(" AND tenant_id = ?");
+            params.add(tenantId);
+        }
+        if (projectId != null) {
+            where.append(" AND project_id = ?");
+            params.add(projectId);
+        }
+
+        // Open work carried into the range is the running sum of everything before it
+        List<Object> baselineParams = new ArrayList<>(params);
+        baselineParams.set(0, Date.valueOf(start));
+        Long baseline = jdbcTemplate.queryForObject(
+                "SELECT coalesce(sum(created - completed + reopened - deleted_open), 0) FROM task_daily_stats" + where,
+                Long.class, baselineParams.toArray());
+
+        Map<LocalDate, long[]> totals = new HashMap<>();
+        params.add(0, granularity.field);
+        params.add(Date.valueOf(start));
+        jdbcTemplate.query("SELECT date_trunc(?, day)::date, sum(created), sum(completed), sum(reopened), "
+                + "sum(status_changes), sum(deleted_open) FROM task_daily_stats" + where + " AND day >= ? "
+                + "GROUP BY 1", rs -> {
+            totals.put(rs.getObject(1, LocalDate.class), new long[] {
+                    rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5), rs.getLong(6) });
+        }, params.toArray());
+
+        List<Map<String, Object>> buckets = new ArrayList<>(periods.size());
+        long open = baseline != null ? baseline : 0;
+        for (LocalDate period : periods) {
+            long[] sums = totals.getOrDefault(period, new long[5]);
+            open += sums[0] - sums[1] + sums[2] - sums[4];
+            Map<String, Object> bucket = new LinkedHashMap<>();
+            bucket.put("period", period);
+            bucket.put("created", sums[0]);
+            bucket.put("completed", sums[1]);
+            bucket.put("reopened", sums[2]);
+            bucket.put("statusChanges", sums[3]);
+            bucket.put("deletedOpen", sums[4]);
+            bucket.put("open", open);
+            buckets.add(bucket);
+        }
+        return buckets;
+    }
+
+    private void record(UUID tenantId, UUID projectId, Counts delta) {
+        pending.merge(new Key(tenantId, projectId, LocalDate.now()), delta, Counts::plus);
+    }
+
+    public enum Granularity {
+        DAY("day"),
+        WEEK("week"),
+        MONTH("month");
+
+        private final String field;
+
+        Granularity(String field) {
+            this.field = field;
+        }
+
+        // Matches Postgres date_trunc, whose weeks start on Monday
+        LocalDate truncate(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(DayOfWeek.MONDAY);
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+
+        LocalDate next(LocalDate period) {
+            return switch (this) {
+                case DAY -> period.plusDays(1);
+                case WEEK -> period.plusWeeks(1);
+                case MONTH -> period.plusMonths(1);
+            };
+        }
+    }
+
+    private record Key(UUID tenantId, UUID projectId, LocalDate day) {
+    }
+
+    private record Counts(int created, int completed, int reopened, int statusChanges, int deletedOpen) {
+
+        static Counts of(DashboardCounters.TaskState before, DashboardCounters.TaskState after) {
+            if (before == null && after == null) {
+                return null;
+            }
+            if (before == null) {
+                return new Counts(1, after.status() == Task.TaskStatus.COMPLETED ? 1 : 0, 0, 0, 0);
+            }
+            if (after == null) {
+                return before.status() == Task.TaskStatus.COMPLETED ? null : new Counts(0, 0, 0, 0, 1);
+            }
+            if (before.status() == after.status()) {
+                return null;
+            }
+            return new Counts(0,
+                    after.status() == Task.TaskStatus.COMPLETED ? 1 : 0,
+                    before.status() == Task.TaskStatus.COMPLETED ? 1 : 0,
+                    1, 0);
+        }
+
+        Counts times(int n) {
+            return new Counts(created * n, completed * n, reopened * n, statusChanges * n, deletedOpen * n);
+        }
+
+        Counts plus(Counts other) {
+            return new Counts(created + other.created, completed + other.completed, reopened + other.reopened,
+                    statusChanges + other.statusChanges, deletedOpen + other.deletedOpen);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.saas.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental RFC 4180 reader: one record at a time, so input of any size is never held in memory
+ * Handles quoted fields with embedded commas, quotes and line breaks, CRLF or LF line
+ * endings, and a leading byte order mark. The caller should wrap the source in a buffered reader.
+ */
+public class CsvReader {
+
+    private final Reader reader;
+    private final int maxFieldLength;
+    private int peeked = -2;
+    private long record;
+
+    /**
+     * @param maxFieldLength Longest field accepted, to bound memory on malformed input
+     */
+    public CsvReader(Reader reader, int maxFieldLength) {
+        this.reader = reader;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /**
+     * Next record, or null at end of input; blank lines are skipped
+     *
+     * @throws MalformedCsvException if a quoted field is unterminated or a field is too long
+     * @throws IOException           if reading fails
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (record == 0 && c == '\uFEFF') {
+            c = read();
+        }
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        record++;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new MalformedCsvException("Unterminated quoted field in record " + record);
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        append(field, '"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    append(field, (char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                append(field, (char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Number of the record last returned, starting at 1
+     */
+    public long recordNumber() {
+        return record;
+    }
+
+    private void append(StringBuilder field, char c) throws IOException {
+        if (field.length() == maxFieldLength) {
+            throw new MalformedCsvException("Field longer than " + maxFieldLength + " characters in record " + record);
+        }
+        field.append(c);
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = reader.read();
+        }
+        return peeked;
+    }
+
+    public static class MalformedCsvException extends IOException {
+        public MalformedCsvException(String message) {
+            super(message);
+        }
+    }
+}
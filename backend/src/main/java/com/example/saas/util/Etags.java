@@ -0,0 +1,38 @@
+package com.example.saas.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Helpers for strong ETags and conditional requests
+ */
+public final class Etags {
+
+    /**
+     * Let the browser keep responses but revalidate them on every use
+     * (overrides Spring Security's default no-store)
+     */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private Etags() {}
+
+    public static String of(long value) {
+        return "\"" + Long.toHexString(value) + "\"";
+    }
+
+    // Microsecond precision, matching what Postgres stores for TIMESTAMP columns
+    public static String of(LocalDateTime timestamp) {
+        long micros = timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+        return of(micros);
+    }
+
+    /**
+     * Whether the request carries a precondition worth computing an ETag for
+     */
+    public static boolean isConditional(WebRequest request) {
+        return request.getHeader("If-Match") != null || request.getHeader("If-None-Match") != null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.saas.util;
+
+import java.lang.annotation.*;
+
+/**
+ * Most SQL statements a handler may run per request, replacing sql.query-budget.default
+ * Requests over it are logged; tests assert it with SqlStatsMatchers.withinQueryBudget().
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+
+    int value();
+}
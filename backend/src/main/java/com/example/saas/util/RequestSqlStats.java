@@ -0,0 +1,98 @@
+package com.example.saas.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statements run by the current request thread, with the time spent executing them
+ * ServerTimingFilter opens one per request; the counting DataSource records into it. Work done
+ * on other threads (async audit writes, streaming bodies, scheduled jobs) is not counted.
+ */
+public final class RequestSqlStats {
+
+    /**
+     * Request attribute holding the finished stats, read by tests once the request completes
+     */
+    public static final String REQUEST_ATTRIBUTE = RequestSqlStats.class.getName();
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    // Distinct statements tracked for repeat detection; later ones still count towards the total
+    private static final int MAX_DISTINCT = 256;
+
+    private int budget;
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statements;
+    private long dbNanos;
+
+    private RequestSqlStats(int budget) {
+        this.budget = budget;
+    }
+
+    public static RequestSqlStats begin(int budget) {
+        RequestSqlStats stats = new RequestSqlStats(budget);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * @return null outside a request
+     */
+    public static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Called before a statement runs
+     */
+    public void beforeExecute(String sql) {
+        statements++;
+        if (sql != null && (executions.size() < MAX_DISTINCT || executions.containsKey(sql))) {
+            executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public void afterExecute(long nanos) {
+        dbNanos += nanos;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long dbNanos() {
+        return dbNanos;
+    }
+
+    public int budget() {
+        return budget;
+    }
+
+    /**
+     * Replace the default budget with the handler's {@link QueryBudget}
+     */
+    public void setBudget(int budget) {
+        this.budget = budget;
+    }
+
+    public boolean overBudget() {
+        return statements > budget;
+    }
+
+    /**
+     * The statement run most often, the usual signature of an N+1
+     */
+    public Map.Entry<String, Integer> mostRepeated() {
+        Map.Entry<String, Integer> top = null;
+        for (Map.Entry<String, Integer> entry : executions.entrySet()) {
+            if (top == null || entry.getValue() > top.getValue()) {
+                top = entry;
+            }
+        }
+        return top;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.saas.util;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the number of distinct tenant values a metric tag can take
+ * A tenant gets its own value once it has been seen admitAfter times, while fewer than
+ * maxTenants tenants have one; every other tenant is reported as "other". Admitted tenants keep
+ * their value for the life of the process, so their series never flap into "other", and a tag
+ * never has more than maxTenants + 3 values ("other", "platform" for super admins, "none" for
+ * unauthenticated requests). The long tail never reaches the registry.
+ */
+public final class TenantTagGuard {
+
+    public static final String OTHER = "other";
+    public static final String PLATFORM = "platform";
+    public static final String NONE = "none";
+
+    private final int maxTenants;
+    private final long admitAfter;
+    private final Set<String> admitted = ConcurrentHashMap.newKeySet();
+    // Sightings of tenants not admitted yet; dropped once every slot is taken
+    private final Map<String, AtomicLong> candidates = new ConcurrentHashMap<>();
+    private volatile boolean full;
+
+    public TenantTagGuard(int maxTenants, long admitAfter) {
+        this.maxTenants = maxTenants;
+        this.admitAfter = Math.max(admitAfter, 1);
+        this.full = maxTenants <= 0;
+    }
+
+    /**
+     * Tag value for a tenant id as set by JwtFilter (null when unauthenticated, empty for super admins)
+     */
+    public String tag(String tenantId) {
+        if (tenantId == null) {
+            return NONE;
+        }
+        if (tenantId.isEmpty()) {
+            return PLATFORM;
+        }
+        if (admitted.contains(tenantId)) {
+            return tenantId;
+        }
+        if (full) {
+            return OTHER;
+        }
+        if (candidates.computeIfAbsent(tenantId, id -> new AtomicLong()).incrementAndGet() < admitAfter) {
+            return OTHER;
+        }
+        return admit(tenantId) ? tenantId : OTHER;
+    }
+
+    public int admittedCount() {
+        return admitted.size();
+    }
+
+    private synchronized boolean admit(String tenantId) {
+        if (full) {
+            return false;
+        }
+        admitted.add(tenantId);
+        candidates.remove(tenantId);
+        if (admitted.size() >= maxTenants) {
+            full = true;
+            candidates.clear();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.saas.util;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Hierarchical timing wheel (Varghese and Lauck) keyed by K
+ * Level 0 has one slot per tick; each level above covers wheelSize slots of the level below.
+ * An entry sits in the lowest level whose window reaches its deadline and is cascaded one
+ * level down each time the level above reaches its slot. Scheduling and cancelling are O(1),
+ * and advancing costs O(1) per elapsed tick plus the entries that move or expire, however far
+ * ahead the other deadlines are. Levels are added as needed. Not thread-safe on its own.
+ */
+public final class TimingWheel<K, V> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Set<Entry<K, V>>[]> levels = new ArrayList<>();
+    private final Map<K, Entry<K, V>> entries = new HashMap<>();
+    // Deadlines at or before the current tick, handed out by the next advance
+    private final List<Entry<K, V>> overdue = new ArrayList<>();
+    private long currentTick;
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs < 1 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTick = startMs / tickMs;
+        addLevel();
+    }
+
+    /**
+     * Schedule or reschedule a key; a deadline in the past fires on the next advance
+     */
+    public void schedule(K key, long deadlineMs, V value) {
+        cancel(key);
+        Entry<K, V> entry = new Entry<>(key, value, Math.max(deadlineMs / tickMs, 0));
+        entries.put(key, entry);
+        place(entry);
+    }
+
+    /**
+     * @return false when the key was not scheduled
+     */
+    public boolean cancel(K key) {
+        Entry<K, V> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.slot != null) {
+            entry.slot.remove(entry);
+        } else {
+            overdue.remove(entry);
+        }
+        return true;
+    }
+
+    /**
+     * Move the clock forward and pass every entry whose deadline has been reached to the consumer,
+     * in tick order
+     */
+    public void advance(long nowMs, BiConsumer<K, V> expired) {
+        long targetTick = nowMs / tickMs;
+        drainOverdue(expired);
+        while (currentTick < targetTick) {
+            if (entries.isEmpty()) {
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+            // Highest level first, so entries cascading down can land in a slot cascaded in this same tick
+            for (int level = levels.size() - 1; level > 0; level--) {
+                long span = span(level);
+                if (currentTick % span == 0) {
+                    Set<Entry<K, V>> slot = levels.get(level)[(int) ((currentTick / span) % wheelSize)];
+                    if (!slot.isEmpty()) {
+                        List<Entry<K, V>> moving = new ArrayList<>(slot);
+                        slot.clear();
+                        moving.forEach(this::place);
+                    }
+                }
+            }
+            Set<Entry<K, V>> slot = levels.get(0)[(int) (currentTick % wheelSize)];
+            for (Entry<K, V> entry : slot) {
+                overdue.add(entry);
+                entry.slot = null;
+            }
+            slot.clear();
+            drainOverdue(expired);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int levels() {
+        return levels.size();
+    }
+
+    // The lowest level whose window, counted in that level's slots from now, reaches the deadline
+    private void place(Entry<K, V> entry) {
+        if (entry.deadlineTick <= currentTick) {
+            entry.slot = null;
+            overdue.add(entry);
+            return;
+        }
+        int level = 0;
+        while (true) {
+            if (level == levels.size()) {
+                addLevel();
+            }
+            long span = span(level);
+            if (entry.deadlineTick / span - currentTick / span < wheelSize) {
+                Set<Entry<K, V>> slot = levels.get(level)[(int) ((entry.deadlineTick / span) % wheelSize)];
+                slot.add(entry);
+                entry.slot = slot;
+                return;
+            }
+            level++;
+        }
+    }
+
+    private void drainOverdue(BiConsumer<K, V> expired) {
+        if (overdue.isEmpty()) {
+            return;
+        }
+        List<Entry<K, V>> due = new ArrayList<>(overdue);
+        overdue.clear();
+        due.sort(Comparator.comparingLong(e -> e.deadlineTick));
+        for (Entry<K, V> entry : due) {
+            entries.remove(entry.key);
+            expired.accept(entry.key, entry.value);
+        }
+    }
+
+    private long span(int level) {
+        long span = 1;
+        for (int i = 0; i < level; i++) {
+            span *= wheelSize;
+        }
+        return span;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addLevel() {
+        Set<Entry<K, V>>[] slots = new Set[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new HashSet<>();
+        }
+        levels.add(slots);
+    }
+
+    private static final class Entry<K, V> {
+        final K key;
+        final V value;
+        final long deadlineTick;
+        Set<Entry<K, V>> slot;
+
+        Entry(K key, V value, long deadlineTick) {
+            this.key = key;
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.saas.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUID version 7 (RFC 9562) generator
+ * Layout: 48-bit unix millis | version | 12-bit sequence | variant | 62 random bits.
+ * The millis and sequence are advanced together with a single CAS so values are
+ * strictly increasing across threads; if the sequence overflows within a millisecond
+ * the timestamp is borrowed forward rather than blocking. The random bits come from
+ * a shared SecureRandom, as the previous v4 ids did, so ids in URLs stay unguessable.
+ */
+public final class UuidV7 {
+
+    private static final int SEQUENCE_BITS = 12;
+
+    // (unix millis << 12) | sequence of the last value handed out
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private UuidV7() {}
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long prev;
+        long candidate;
+        do {
+            prev = LAST.get();
+            candidate = Math.max(now, prev + 1);
+        } while (!LAST.compareAndSet(prev, candidate));
+
+        long millis = candidate >>> SEQUENCE_BITS;
+        long sequence = candidate & ((1L << SEQUENCE_BITS) - 1);
+
+        long msb = (millis << 16) | 0x7000L | sequence;
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Millisecond timestamp embedded in a version 7 UUID
+     */
+    public static long timestamp(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.saas.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+/**
+ * Recognises StartupWarmup's loopback requests by a per-process token in {@link #HEADER}
+ * Kept apart from StartupWarmup, which needs the security beans whose metrics consult this.
+ */
+public final class WarmupRequests {
+
+    public static final String HEADER = "X-Warmup-Token";
+
+    // Random per process, so outside callers cannot pass their requests off as warm-up traffic
+    private final String token;
+
+    public WarmupRequests() {
+        byte[] random = new byte[16];
+        new SecureRandom().nextBytes(random);
+        this.token = HexFormat.of().formatHex(random);
+    }
+
+    public String token() {
+        return token;
+    }
+
+    public boolean isWarmupRequest(HttpServletRequest request) {
+        String header = request.getHeader(HEADER);
+        return header != null && MessageDigest.isEqual(header.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,50 @@
+-- V007 - Store primary and foreign keys as native uuid instead of VARCHAR(36)
+-- Foreign keys have to be dropped while both sides change type; existing indexes
+-- (primary keys, idx_* and the users unique constraint) are rebuilt by ALTER TYPE
+
+ALTER TABLE users DROP CONSTRAINT fk_users_tenant;
+ALTER TABLE projects DROP CONSTRAINT fk_projects_tenant;
+ALTER TABLE projects DROP CONSTRAINT fk_projects_created_by;
+ALTER TABLE tasks DROP CONSTRAINT fk_tasks_project;
+ALTER TABLE tasks DROP CONSTRAINT fk_tasks_tenant;
+ALTER TABLE tasks DROP CONSTRAINT fk_tasks_assigned_to;
+ALTER TABLE audit_logs DROP CONSTRAINT fk_audit_logs_tenant;
+ALTER TABLE audit_logs DROP CONSTRAINT fk_audit_logs_user;
+
+ALTER TABLE tenants
+    ALTER COLUMN id TYPE uuid USING id::uuid;
+
+ALTER TABLE users
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN tenant_id TYPE uuid USING tenant_id::uuid;
+
+ALTER TABLE projects
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN tenant_id TYPE uuid USING tenant_id::uuid,
+    ALTER COLUMN created_by TYPE uuid USING created_by::uuid;
+
+ALTER TABLE tasks
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN project_id TYPE uuid USING project_id::uuid,
+    ALTER COLUMN tenant_id TYPE uuid USING tenant_id::uuid,
+    ALTER COLUMN assigned_to TYPE uuid USING assigned_to::uuid;
+
+ALTER TABLE audit_logs
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN tenant_id TYPE uuid USING tenant_id::uuid,
+    ALTER COLUMN user_id TYPE uuid USING user_id::uuid,
+    ALTER COLUMN entity_id TYPE uuid USING entity_id::uuid;
+
+ALTER TABLE users
+    ADD CONSTRAINT fk_users_tenant FOREIGN KEY (tenant_id) REFERENCES tenants(id) ON DELETE CASCADE;
+ALTER TABLE projects
+    ADD CONSTRAINT fk_projects_tenant FOREIGN KEY (tenant_id) REFERENCES tenants(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_projects_created_by FOREIGN KEY (created_by) REFERENCES users(id) ON DELETE SET NULL;
+ALTER TABLE tasks
+    ADD CONSTRAINT fk_tasks_project FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_tasks_tenant FOREIGN KEY (tenant_id) REFERENCES tenants(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_tasks_assigned_to FOREIGN KEY (assigned_to) REFERENCES users(id) ON DELETE SET NULL;
+ALTER TABLE audit_logs
+    ADD CONSTRAINT fk_audit_logs_tenant FOREIGN KEY (tenant_id) REFERENCES tenants(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_audit_logs_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL;
+
@@ -0,0 +1,38 @@
+-- V008 - Store status, priority, role and plan columns as smallint codes
+-- Codes mirror the CodedEnum constants in the model classes and must never be renumbered
+
+ALTER TABLE tenants
+    ALTER COLUMN status DROP DEFAULT,
+    ALTER COLUMN subscription_plan DROP DEFAULT;
+ALTER TABLE tenants
+    ALTER COLUMN status TYPE smallint USING CASE status
+        WHEN 'ACTIVE' THEN 1 WHEN 'SUSPENDED' THEN 2 WHEN 'TRIAL' THEN 3 END,
+    ALTER COLUMN subscription_plan TYPE smallint USING CASE subscription_plan
+        WHEN 'FREE' THEN 1 WHEN 'PRO' THEN 2 WHEN 'ENTERPRISE' THEN 3 END;
+ALTER TABLE tenants
+    ALTER COLUMN status SET DEFAULT 1,
+    ALTER COLUMN subscription_plan SET DEFAULT 1;
+
+ALTER TABLE users
+    ALTER COLUMN role TYPE smallint USING CASE role
+        WHEN 'SUPER_ADMIN' THEN 1 WHEN 'TENANT_ADMIN' THEN 2 WHEN 'USER' THEN 3 END;
+
+ALTER TABLE projects
+    ALTER COLUMN status DROP DEFAULT;
+ALTER TABLE projects
+    ALTER COLUMN status TYPE smallint USING CASE status
+        WHEN 'ACTIVE' THEN 1 WHEN 'ARCHIVED' THEN 2 WHEN 'COMPLETED' THEN 3 END;
+ALTER TABLE projects
+    ALTER COLUMN status SET DEFAULT 1;
+
+ALTER TABLE tasks
+    ALTER COLUMN status DROP DEFAULT,
+    ALTER COLUMN priority DROP DEFAULT;
+ALTER TABLE tasks
+    ALTER COLUMN status TYPE smallint USING CASE status
+        WHEN 'TODO' THEN 1 WHEN 'IN_PROGRESS' THEN 2 WHEN 'COMPLETED' THEN 3 END,
+    ALTER COLUMN priority TYPE smallint USING CASE priority
+        WHEN 'LOW' THEN 1 WHEN 'MEDIUM' THEN 2 WHEN 'HIGH' THEN 3 END;
+ALTER TABLE tasks
+    ALTER COLUMN status SET DEFAULT 1,
+    ALTER COLUMN priority SET DEFAULT 2;
@@ -0,0 +1,2 @@
+-- V009 - Optimistic locking version for tasks
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,104 @@
+-- V010 - Per-tenant and per-project change stamps backing ETags
+-- A stamp is bumped in the same transaction as the change, so a reader that sees the
+-- new data also sees the new stamp. Scopes are tenant ids and project ids:
+--   tenant  -> any project, task or user change in the tenant
+--   project -> the project row or any of its tasks (plus assignee/creator name changes)
+
+CREATE TABLE change_stamps (
+    scope_id UUID PRIMARY KEY,
+    stamp BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE FUNCTION bump_change_stamps(scope_ids UUID[]) RETURNS void AS $$
+    -- Sorted so concurrent writers lock stamp rows in the same order
+    INSERT INTO change_stamps (scope_id, stamp)
+    SELECT DISTINCT s, 1 FROM unnest(scope_ids) AS s WHERE s IS NOT NULL ORDER BY 1
+    ON CONFLICT (scope_id) DO UPDATE SET stamp = change_stamps.stamp + 1;
+$$ LANGUAGE sql;
+
+-- Statement-level triggers with transition tables: one upsert per scope per statement,
+-- so batched inserts of thousands of tasks touch each stamp row once per batch
+
+CREATE FUNCTION tasks_bump_change_stamps() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM bump_change_stamps(ARRAY(
+            SELECT tenant_id FROM new_rows UNION SELECT project_id FROM new_rows));
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM bump_change_stamps(ARRAY(
+            SELECT tenant_id FROM new_rows UNION SELECT project_id FROM new_rows
+            UNION SELECT tenant_id FROM old_rows UNION SELECT project_id FROM old_rows));
+    ELSE
+        PERFORM bump_change_stamps(ARRAY(
+            SELECT tenant_id FROM old_rows UNION SELECT project_id FROM old_rows));
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER tasks_change_stamps_insert AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION tasks_bump_change_stamps();
+CREATE TRIGGER tasks_change_stamps_update AFTER UPDATE ON tasks
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION tasks_bump_change_stamps();
+CREATE TRIGGER tasks_change_stamps_delete AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION tasks_bump_change_stamps();
+
+CREATE FUNCTION projects_bump_change_stamps() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM bump_change_stamps(ARRAY(
+            SELECT tenant_id FROM new_rows UNION SELECT id FROM new_rows));
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM bump_change_stamps(ARRAY(
+            SELECT tenant_id FROM new_rows UNION SELECT id FROM new_rows
+            UNION SELECT tenant_id FROM old_rows));
+    ELSE
+        PERFORM bump_change_stamps(ARRAY(
+            SELECT tenant_id FROM old_rows UNION SELECT id FROM old_rows));
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER projects_change_stamps_insert AFTER INSERT ON projects
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION projects_bump_change_stamps();
+CREATE TRIGGER projects_change_stamps_update AFTER UPDATE ON projects
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION projects_bump_change_stamps();
+CREATE TRIGGER projects_change_stamps_delete AFTER DELETE ON projects
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION projects_bump_change_stamps();
+
+CREATE FUNCTION users_bump_change_stamps() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM bump_change_stamps(ARRAY(SELECT tenant_id FROM new_rows));
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM bump_change_stamps(ARRAY(
+            SELECT tenant_id FROM new_rows UNION SELECT tenant_id FROM old_rows));
+        -- Project and task payloads embed user names and emails
+        PERFORM bump_change_stamps(ARRAY(
+            SELECT p.id FROM projects p
+            JOIN new_rows n ON n.tenant_id = p.tenant_id
+            JOIN old_rows o ON o.id = n.id
+            WHERE n.full_name IS DISTINCT FROM o.full_name OR n.email IS DISTINCT FROM o.email));
+    ELSE
+        PERFORM bump_change_stamps(ARRAY(SELECT tenant_id FROM old_rows));
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER users_change_stamps_insert AFTER INSERT ON users
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION users_bump_change_stamps();
+CREATE TRIGGER users_change_stamps_update AFTER UPDATE ON users
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION users_bump_change_stamps();
+CREATE TRIGGER users_change_stamps_delete AFTER DELETE ON users
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION users_bump_change_stamps();
@@ -0,0 +1,162 @@
+-- V011 - Monthly range partitions for audit_logs with per-plan retention
+-- Layout: audit_logs (RANGE created_at) -> audit_logs_YYYY_MM (LIST retention_plan) -> audit_logs_YYYY_MM_pN
+-- retention_plan is the tenant's subscription plan code when the event was written (0 = no tenant),
+-- so expiring a plan's month is a DETACH + DROP of one leaf table instead of a DELETE
+
+CREATE TABLE audit_retention (
+    retention_plan SMALLINT PRIMARY KEY,
+    months INTEGER NOT NULL CHECK (months > 0)
+);
+
+-- 0 = platform events, 1 = FREE, 2 = PRO, 3 = ENTERPRISE (see Tenant.SubscriptionPlan)
+INSERT INTO audit_retention (retention_plan, months) VALUES
+    (0, 12),
+    (1, 3),
+    (2, 12),
+    (3, 36);
+
+ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+ALTER INDEX audit_logs_pkey RENAME TO audit_logs_legacy_pkey;
+DROP INDEX idx_audit_logs_tenant;
+DROP INDEX idx_audit_logs_created_at;
+
+CREATE TABLE audit_logs (
+    id UUID NOT NULL,
+    tenant_id UUID,
+    user_id UUID,
+    action VARCHAR(255) NOT NULL,
+    entity_type VARCHAR(255) NOT NULL,
+    entity_id UUID NOT NULL,
+    ip_address VARCHAR(45),
+    details TEXT,
+    old_value TEXT,
+    new_value TEXT,
+    user_agent VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    retention_plan SMALLINT NOT NULL DEFAULT 0,
+    -- Unique constraints on partitioned tables must contain every partition key
+    CONSTRAINT audit_logs_pkey PRIMARY KEY (id, created_at, retention_plan),
+    CONSTRAINT fk_audit_logs_tenant FOREIGN KEY (tenant_id) REFERENCES tenants(id) ON DELETE CASCADE,
+    CONSTRAINT fk_audit_logs_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL
+) PARTITION BY RANGE (created_at);
+
+-- Rows are appended in time order, so a BRIN range summary replaces the B-tree for time scans
+CREATE INDEX idx_audit_logs_created_at ON audit_logs USING brin (created_at) WITH (pages_per_range = 32);
+CREATE INDEX idx_audit_logs_tenant_created_at ON audit_logs (tenant_id, created_at);
+
+-- Safety net for rows outside every monthly range; kept empty by creating months ahead of time
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+CREATE FUNCTION audit_logs_create_partition(month_start DATE) RETURNS boolean AS $$
+DECLARE
+    parent TEXT := 'audit_logs_' || to_char(month_start, 'YYYY_MM');
+    plan SMALLINT;
+BEGIN
+    IF to_regclass(parent) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+    EXECUTE format('CREATE TABLE %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L) PARTITION BY LIST (retention_plan)',
+        parent, month_start, (month_start + INTERVAL '1 month')::date);
+    FOR plan IN SELECT retention_plan FROM audit_retention ORDER BY retention_plan LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES IN (%s)', parent || '_p' || plan, parent, plan);
+    END LOOP;
+    -- Plans without a retention row land here and are kept for the longest configured period
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT', parent || '_pdefault', parent);
+    RETURN true;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Creates the current month and the next months_ahead months; returns how many were created
+CREATE FUNCTION audit_logs_ensure_partitions(months_ahead INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE;
+    created INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('audit_logs_partitions'));
+    FOR month_start IN
+        SELECT generate_series(date_trunc('month', now()),
+                               date_trunc('month', now()) + make_interval(months => months_ahead),
+                               INTERVAL '1 month')::date
+    LOOP
+        IF audit_logs_create_partition(month_start) THEN
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detaches and drops every leaf partition whose month is past its plan's retention,
+-- then drops month partitions left without leaves; returns the dropped table names
+CREATE FUNCTION audit_logs_apply_retention() RETURNS SETOF TEXT AS $$
+DECLARE
+    month_table TEXT;
+    leaf_table TEXT;
+    month_end DATE;
+    plan_suffix TEXT;
+    keep_months INTEGER;
+    max_months INTEGER;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('audit_logs_partitions'));
+    SELECT max(months) INTO max_months FROM audit_retention;
+
+    FOR month_table IN
+        SELECT c.relname FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'audit_logs'::regclass AND c.relname ~ '^audit_logs_\d{4}_\d{2}$'
+        ORDER BY c.relname
+    LOOP
+        month_end := (to_date(substring(month_table FROM 12), 'YYYY_MM') + INTERVAL '1 month')::date;
+
+        FOR leaf_table IN
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = month_table::regclass
+        LOOP
+            plan_suffix := substring(leaf_table FROM length(month_table) + 3);
+            IF plan_suffix = 'default' THEN
+                keep_months := max_months;
+            ELSE
+                SELECT months INTO keep_months FROM audit_retention WHERE retention_plan = plan_suffix::smallint;
+                keep_months := COALESCE(keep_months, max_months);
+            END IF;
+
+            IF month_end <= date_trunc('month', now()) - make_interval(months => keep_months) THEN
+                EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', month_table, leaf_table);
+                EXECUTE format('DROP TABLE %I', leaf_table);
+                RETURN NEXT leaf_table;
+            END IF;
+        END LOOP;
+
+        IF NOT EXISTS (SELECT 1 FROM pg_inherits WHERE inhparent = month_table::regclass) THEN
+            EXECUTE format('ALTER TABLE audit_logs DETACH PARTITION %I', month_table);
+            EXECUTE format('DROP TABLE %I', month_table);
+            RETURN NEXT month_table;
+        END IF;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions for existing rows, then the usual months ahead
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR month_start IN
+        SELECT generate_series(date_trunc('month', min(created_at)), date_trunc('month', now()), INTERVAL '1 month')::date
+        FROM audit_logs_legacy
+    LOOP
+        PERFORM audit_logs_create_partition(month_start);
+    END LOOP;
+END;
+$$;
+SELECT audit_logs_ensure_partitions(2);
+
+INSERT INTO audit_logs (id, tenant_id, user_id, action, entity_type, entity_id, ip_address,
+                        details, old_value, new_value, user_agent, created_at, retention_plan)
+SELECT l.id, l.tenant_id, l.user_id, l.action, l.entity_type, l.entity_id, l.ip_address,
+       l.details, l.old_value, l.new_value, l.user_agent, l.created_at, COALESCE(t.subscription_plan, 0)
+FROM audit_logs_legacy l
+LEFT JOIN tenants t ON t.id = l.tenant_id;
+
+DROP TABLE audit_logs_legacy;
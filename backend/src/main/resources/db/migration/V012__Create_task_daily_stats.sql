@@ -0,0 +1,34 @@
+-- V012 - Daily task throughput rollups per tenant and project
+-- One row per (tenant, project, day), upserted in batches by TaskThroughputRollup.
+-- There are no foreign keys: rows outlive deleted projects so tenant-level history stays intact.
+--   created        -> tasks created that day
+--   completed      -> transitions into COMPLETED (including tasks created as COMPLETED)
+--   reopened       -> transitions out of COMPLETED
+--   status_changes -> every status transition
+--   deleted_open   -> tasks deleted while not COMPLETED, directly or with their project
+-- Open work at the end of a day is the running sum of created - completed + reopened - deleted_open.
+
+CREATE TABLE task_daily_stats (
+    tenant_id UUID NOT NULL,
+    project_id UUID NOT NULL,
+    day DATE NOT NULL,
+    created INTEGER NOT NULL DEFAULT 0,
+    completed INTEGER NOT NULL DEFAULT 0,
+    reopened INTEGER NOT NULL DEFAULT 0,
+    status_changes INTEGER NOT NULL DEFAULT 0,
+    deleted_open INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (tenant_id, project_id, day)
+);
+
+CREATE INDEX idx_task_daily_stats_tenant_day ON task_daily_stats(tenant_id, day);
+
+-- Backfill from existing tasks so running totals start from the current open count.
+-- Completion dates are approximated by updated_at; earlier transitions are not recoverable.
+INSERT INTO task_daily_stats (tenant_id, project_id, day, created, completed)
+SELECT tenant_id, project_id, day, sum(created), sum(completed)
+FROM (
+    SELECT tenant_id, project_id, created_at::date AS day, 1 AS created, 0 AS completed FROM tasks
+    UNION ALL
+    SELECT tenant_id, project_id, updated_at::date, 0, 1 FROM tasks WHERE status = 3
+) AS events
+GROUP BY tenant_id, project_id, day;
@@ -0,0 +1,90 @@
+-- V013 - Per-tenant change sequence for delta sync (/api/changes)
+-- Every insert or update of a task, project or user stamps the row with the tenant's next
+-- change_seq; deletes leave a tombstone stamped the same way. A client holding cursor N asks
+-- for rows with change_seq > N, which is an index range scan per table.
+--
+-- The sequence is a counter row per tenant, taken once per transaction and held (row lock)
+-- until commit, and every row the transaction touches shares that value. Sequence numbers
+-- therefore become visible in order: once N is committed, nothing at or below N can still
+-- appear. This is the same per-tenant serialization the change_stamps triggers (V010)
+-- already impose on writers.
+
+CREATE TABLE tenant_change_seq (
+    tenant_id UUID PRIMARY KEY,
+    seq BIGINT NOT NULL DEFAULT 0,
+    -- Tombstones up to here have been pruned; older cursors must resync from scratch
+    pruned_through BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE FUNCTION next_change_seq(tenant UUID) RETURNS BIGINT AS $$
+DECLARE
+    setting_name TEXT := 'change_seq.t' || replace(tenant::text, '-', '');
+    current_value TEXT := current_setting(setting_name, true);
+    next_value BIGINT;
+BEGIN
+    IF current_value IS NOT NULL AND current_value <> '' THEN
+        RETURN current_value::BIGINT;
+    END IF;
+    INSERT INTO tenant_change_seq AS s (tenant_id, seq) VALUES (tenant, 1)
+    ON CONFLICT (tenant_id) DO UPDATE SET seq = s.seq + 1
+    RETURNING s.seq INTO next_value;
+    -- Transaction-local, so later rows in this transaction reuse the value without another update
+    PERFORM set_config(setting_name, next_value::text, true);
+    RETURN next_value;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE tasks ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projects ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_tasks_tenant_change_seq ON tasks(tenant_id, change_seq);
+CREATE INDEX idx_projects_tenant_change_seq ON projects(tenant_id, change_seq);
+CREATE INDEX idx_users_tenant_change_seq ON users(tenant_id, change_seq);
+
+CREATE TABLE change_tombstones (
+    tenant_id UUID NOT NULL,
+    change_seq BIGINT NOT NULL,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id UUID NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_change_tombstones_tenant_seq ON change_tombstones(tenant_id, change_seq);
+CREATE INDEX idx_change_tombstones_deleted_at ON change_tombstones USING BRIN (deleted_at);
+
+CREATE FUNCTION stamp_change_seq() RETURNS trigger AS $$
+BEGIN
+    -- Super admins have no tenant and are not part of any tenant's feed
+    IF NEW.tenant_id IS NOT NULL THEN
+        NEW.change_seq := next_change_seq(NEW.tenant_id);
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- TG_ARGV[0] is the entity type recorded in the tombstone
+CREATE FUNCTION record_change_tombstone() RETURNS trigger AS $$
+BEGIN
+    IF OLD.tenant_id IS NOT NULL THEN
+        INSERT INTO change_tombstones (tenant_id, change_seq, entity_type, entity_id)
+        VALUES (OLD.tenant_id, next_change_seq(OLD.tenant_id), TG_ARGV[0], OLD.id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER tasks_stamp_change_seq BEFORE INSERT OR UPDATE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION stamp_change_seq();
+CREATE TRIGGER tasks_change_tombstone AFTER DELETE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION record_change_tombstone('TASK');
+
+CREATE TRIGGER projects_stamp_change_seq BEFORE INSERT OR UPDATE ON projects
+    FOR EACH ROW EXECUTE FUNCTION stamp_change_seq();
+CREATE TRIGGER projects_change_tombstone AFTER DELETE ON projects
+    FOR EACH ROW EXECUTE FUNCTION record_change_tombstone('PROJECT');
+
+CREATE TRIGGER users_stamp_change_seq BEFORE INSERT OR UPDATE ON users
+    FOR EACH ROW EXECUTE FUNCTION stamp_change_seq();
+CREATE TRIGGER users_change_tombstone AFTER DELETE ON users
+    FOR EACH ROW EXECUTE FUNCTION record_change_tombstone('USER');
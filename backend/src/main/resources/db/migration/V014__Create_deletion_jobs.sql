@@ -0,0 +1,26 @@
+-- V014 - Asynchronous, chunked deletion of projects and tenants
+-- A delete request only stamps deletion_requested_at, which every read path filters on, and
+-- queues a deletion job. DeletionJobService then removes the children in small transactions with
+-- pauses in between, so no single statement cascades through hundreds of thousands of rows.
+-- Each chunk locks its job row (FOR UPDATE SKIP LOCKED) and records progress in the same
+-- transaction, so a restarted or second instance resumes after the last committed chunk.
+
+ALTER TABLE projects ADD COLUMN deletion_requested_at TIMESTAMP;
+ALTER TABLE tenants ADD COLUMN deletion_requested_at TIMESTAMP;
+
+-- No foreign keys: a job row outlives the entity it deletes and serves as the record of it
+CREATE TABLE deletion_jobs (
+    id UUID PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id UUID NOT NULL UNIQUE,
+    tenant_id UUID NOT NULL,
+    requested_by UUID,
+    -- Table currently being purged; NULL before the first chunk
+    phase VARCHAR(30),
+    rows_deleted BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX idx_deletion_jobs_open ON deletion_jobs(created_at) WHERE completed_at IS NULL;
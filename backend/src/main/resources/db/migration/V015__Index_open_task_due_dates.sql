@@ -0,0 +1,5 @@
+-- V015 - Due-date lookups for the reminder engine
+-- DueDateReminders loads incomplete tasks due within its horizon every hour. Completed tasks
+-- (status 3) never need a reminder, so the index leaves them out and stays small.
+
+CREATE INDEX idx_tasks_due_date_open ON tasks(due_date) WHERE status <> 3;
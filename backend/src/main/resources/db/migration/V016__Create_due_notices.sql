@@ -0,0 +1,16 @@
+-- V016 - Claims for due-date notices
+-- Every instance loads every due task into its own reminder wheel, so the same deadline fires on
+-- each of them. The first instance to insert the (task, kind, due date) row owns the notice and is
+-- the only one to publish it to notification listeners. Rows are pruned once their due date can
+-- no longer fire (DueDateReminders.reload).
+
+CREATE TABLE due_notices (
+    task_id UUID NOT NULL,
+    -- DueDateReminders.Kind code: 1 reminder, 2 overdue
+    kind SMALLINT NOT NULL,
+    due_date DATE NOT NULL,
+    fired_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (task_id, kind, due_date)
+);
+
+CREATE INDEX idx_due_notices_due_date ON due_notices USING BRIN (due_date);
@@ -0,0 +1,199 @@
+-- V017 - Take the change sequence and ETag stamps at commit instead of at the first write
+-- V010 and V013 upserted the tenant's stamp and sequence rows on a transaction's first write
+-- and held those row locks until commit, so writers in a tenant ran one at a time: an import,
+-- a bulk chunk or a deletion chunk blocked every other write in the tenant while it ran.
+--
+-- Rows now record their change batch instead: one per tenant per transaction, numbered from a
+-- plain sequence that locks nothing. The batch's deferred constraint trigger runs as the
+-- transaction commits and only then takes the tenant's counter row, gives the batch its
+-- change_seq and bumps the stamps the transaction queued. The lock is held from there to the
+-- end of the commit, which still makes sequence numbers visible in order (once N is committed,
+-- nothing at or below N can still appear) without serializing the work before it.
+
+CREATE SEQUENCE change_batch_ids;
+
+CREATE TABLE change_batches (
+    tenant_id UUID NOT NULL,
+    batch BIGINT NOT NULL,
+    -- Set when the writing transaction commits, so a batch is never visible without one
+    seq BIGINT,
+    PRIMARY KEY (tenant_id, batch)
+);
+
+CREATE UNIQUE INDEX idx_change_batches_tenant_seq ON change_batches(tenant_id, seq);
+
+-- Stamp scopes (V010) a transaction touched, bumped by its commit
+CREATE TABLE change_batch_scopes (
+    tenant_id UUID NOT NULL,
+    batch BIGINT NOT NULL,
+    scope_id UUID NOT NULL,
+    PRIMARY KEY (tenant_id, batch, scope_id),
+    FOREIGN KEY (tenant_id, batch) REFERENCES change_batches ON DELETE CASCADE
+);
+
+ALTER TABLE tasks RENAME COLUMN change_seq TO change_batch;
+ALTER TABLE projects RENAME COLUMN change_seq TO change_batch;
+ALTER TABLE users RENAME COLUMN change_seq TO change_batch;
+ALTER TABLE change_tombstones RENAME COLUMN change_seq TO change_batch;
+
+-- Rows stamped under V013 keep their value as a batch committed at that same sequence number
+INSERT INTO change_batches (tenant_id, batch, seq)
+SELECT tenant_id, change_batch, change_batch FROM (
+    SELECT tenant_id, change_batch FROM tasks WHERE change_batch > 0
+    UNION SELECT tenant_id, change_batch FROM projects WHERE change_batch > 0
+    UNION SELECT tenant_id, change_batch FROM users WHERE change_batch > 0 AND tenant_id IS NOT NULL
+    UNION SELECT tenant_id, change_batch FROM change_tombstones
+) legacy;
+
+-- New batch numbers start above every sequence number handed out so far
+SELECT setval('change_batch_ids', (SELECT coalesce(max(seq), 0) + 1 FROM tenant_change_seq), false);
+
+-- id last, so the feed can page through one large batch in id order
+DROP INDEX idx_tasks_tenant_change_seq;
+DROP INDEX idx_projects_tenant_change_seq;
+DROP INDEX idx_users_tenant_change_seq;
+DROP INDEX idx_change_tombstones_tenant_seq;
+CREATE INDEX idx_tasks_tenant_change_batch ON tasks(tenant_id, change_batch, id);
+CREATE INDEX idx_projects_tenant_change_batch ON projects(tenant_id, change_batch, id);
+CREATE INDEX idx_users_tenant_change_batch ON users(tenant_id, change_batch, id);
+CREATE INDEX idx_change_tombstones_tenant_batch ON change_tombstones(tenant_id, change_batch, entity_id);
+
+-- The transaction's batch for a tenant, created on first use
+CREATE FUNCTION change_batch(tenant UUID) RETURNS BIGINT AS $$
+DECLARE
+    setting_name TEXT := 'change_batch.t' || replace(tenant::text, '-', '');
+    current_value TEXT := current_setting(setting_name, true);
+    batch_id BIGINT;
+BEGIN
+    IF current_value IS NOT NULL AND current_value <> '' THEN
+        RETURN current_value::BIGINT;
+    END IF;
+    batch_id := nextval('change_batch_ids');
+    INSERT INTO change_batches (tenant_id, batch) VALUES (tenant, batch_id);
+    -- Transaction-local, and rolled back with a savepoint together with the insert above
+    PERFORM set_config(setting_name, batch_id::text, true);
+    RETURN batch_id;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION queue_change_stamps(tenant_ids UUID[], scope_ids UUID[]) RETURNS void AS $$
+    INSERT INTO change_batch_scopes (tenant_id, batch, scope_id)
+    SELECT DISTINCT t, change_batch(t), s FROM unnest(tenant_ids, scope_ids) AS u(t, s)
+    WHERE t IS NOT NULL AND s IS NOT NULL
+    ON CONFLICT DO NOTHING;
+$$ LANGUAGE sql;
+
+CREATE FUNCTION commit_change_batch() RETURNS trigger AS $$
+DECLARE
+    next_value BIGINT;
+BEGIN
+    -- The last chunk of a tenant deletion; nothing is left to sync or stamp
+    IF NOT EXISTS (SELECT 1 FROM tenants WHERE id = NEW.tenant_id) THEN
+        DELETE FROM change_batches WHERE tenant_id = NEW.tenant_id AND batch = NEW.batch;
+        RETURN NULL;
+    END IF;
+    INSERT INTO tenant_change_seq AS s (tenant_id, seq) VALUES (NEW.tenant_id, 1)
+    ON CONFLICT (tenant_id) DO UPDATE SET seq = s.seq + 1
+    RETURNING s.seq INTO next_value;
+    UPDATE change_batches SET seq = next_value WHERE tenant_id = NEW.tenant_id AND batch = NEW.batch;
+    -- Sorted so committers lock stamp rows in the same order; deleted projects get no new stamp
+    INSERT INTO change_stamps (scope_id, stamp)
+    SELECT scope_id, 1 FROM change_batch_scopes
+    WHERE tenant_id = NEW.tenant_id AND batch = NEW.batch
+        AND (scope_id = NEW.tenant_id OR EXISTS (SELECT 1 FROM projects p WHERE p.id = scope_id))
+    ORDER BY 1
+    ON CONFLICT (scope_id) DO UPDATE SET stamp = change_stamps.stamp + 1;
+    DELETE FROM change_batch_scopes WHERE tenant_id = NEW.tenant_id AND batch = NEW.batch;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Created after the legacy batches above, which are already committed
+CREATE CONSTRAINT TRIGGER change_batches_commit AFTER INSERT ON change_batches
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION commit_change_batch();
+
+CREATE OR REPLACE FUNCTION stamp_change_seq() RETURNS trigger AS $$
+BEGIN
+    -- Super admins have no tenant and are not part of any tenant's feed
+    IF NEW.tenant_id IS NOT NULL THEN
+        NEW.change_batch := change_batch(NEW.tenant_id);
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION record_change_tombstone() RETURNS trigger AS $$
+BEGIN
+    IF OLD.tenant_id IS NOT NULL THEN
+        INSERT INTO change_tombstones (tenant_id, change_batch, entity_type, entity_id)
+        VALUES (OLD.tenant_id, change_batch(OLD.tenant_id), TG_ARGV[0], OLD.id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- The V010 statement triggers, queueing the same scopes instead of bumping them at once
+
+CREATE OR REPLACE FUNCTION tasks_bump_change_stamps() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM queue_change_stamps(array_agg(tenant_id), array_agg(scope_id)) FROM (
+            SELECT tenant_id, tenant_id AS scope_id FROM new_rows
+            UNION SELECT tenant_id, project_id FROM new_rows) s;
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM queue_change_stamps(array_agg(tenant_id), array_agg(scope_id)) FROM (
+            SELECT tenant_id, tenant_id AS scope_id FROM new_rows
+            UNION SELECT tenant_id, project_id FROM new_rows
+            UNION SELECT tenant_id, tenant_id FROM old_rows
+            UNION SELECT tenant_id, project_id FROM old_rows) s;
+    ELSE
+        PERFORM queue_change_stamps(array_agg(tenant_id), array_agg(scope_id)) FROM (
+            SELECT tenant_id, tenant_id AS scope_id FROM old_rows
+            UNION SELECT tenant_id, project_id FROM old_rows) s;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION projects_bump_change_stamps() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM queue_change_stamps(array_agg(tenant_id), array_agg(scope_id)) FROM (
+            SELECT tenant_id, tenant_id AS scope_id FROM new_rows
+            UNION SELECT tenant_id, id FROM new_rows) s;
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM queue_change_stamps(array_agg(tenant_id), array_agg(scope_id)) FROM (
+            SELECT tenant_id, tenant_id AS scope_id FROM new_rows
+            UNION SELECT tenant_id, id FROM new_rows
+            UNION SELECT tenant_id, tenant_id FROM old_rows) s;
+    ELSE
+        PERFORM queue_change_stamps(array_agg(tenant_id), array_agg(scope_id)) FROM (
+            SELECT tenant_id, tenant_id AS scope_id FROM old_rows
+            UNION SELECT tenant_id, id FROM old_rows) s;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION users_bump_change_stamps() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM queue_change_stamps(array_agg(tenant_id), array_agg(tenant_id)) FROM new_rows;
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM queue_change_stamps(array_agg(tenant_id), array_agg(tenant_id)) FROM (
+            SELECT tenant_id FROM new_rows UNION SELECT tenant_id FROM old_rows) s;
+        -- Project and task payloads embed user names and emails
+        PERFORM queue_change_stamps(array_agg(p.tenant_id), array_agg(p.id)) FROM projects p
+            JOIN new_rows n ON n.tenant_id = p.tenant_id
+            JOIN old_rows o ON o.id = n.id
+            WHERE n.full_name IS DISTINCT FROM o.full_name OR n.email IS DISTINCT FROM o.email;
+    ELSE
+        PERFORM queue_change_stamps(array_agg(tenant_id), array_agg(tenant_id)) FROM old_rows;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP FUNCTION next_change_seq(UUID);
+DROP FUNCTION bump_change_stamps(UUID[]);
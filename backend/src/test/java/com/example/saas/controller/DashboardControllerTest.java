@@ -0,0 +1,72 @@
+package com.example.saas.controller;
+
+import com.example.saas.config.SqlStatsConfig;
+import com.example.saas.filter.ServerTimingFilter;
+import com.example.saas.service.DashboardCounters;
+import com.example.saas.util.QueryBudget;
+import com.example.saas.util.RequestSqlStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+import static com.example.saas.support.SqlStatsMatchers.queryCount;
+import static com.example.saas.support.SqlStatsMatchers.withinQueryBudget;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class DashboardControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        DashboardCounters counters = new DashboardCounters(mock(JdbcTemplate.class), mock(PlatformTransactionManager.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(new DashboardController(counters), new ChattyController())
+                .addFilters(new ServerTimingFilter(20, 10, false))
+                .addInterceptors(new SqlStatsConfig.QueryBudgetInterceptor())
+                .build();
+    }
+
+    @Test
+    void dashboardIsServedWithoutQueries() throws Exception {
+        mockMvc.perform(get("/api/dashboard")
+                        .requestAttr("tenantId", UUID.randomUUID().toString())
+                        .requestAttr("role", "TENANT_ADMIN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.tasks.total").value(0))
+                .andExpect(header().doesNotExist("Server-Timing"))
+                .andExpect(queryCount(0))
+                .andExpect(withinQueryBudget());
+    }
+
+    @Test
+    void requestOverItsBudgetFailsTheAssertion() throws Exception {
+        var result = mockMvc.perform(get("/chatty")).andExpect(queryCount(2));
+        assertThrows(AssertionError.class, () -> result.andExpect(withinQueryBudget()));
+    }
+
+    // Stands in for a handler that runs more statements than its @QueryBudget allows
+    @RestController
+    static class ChattyController {
+
+        @QueryBudget(1)
+        @GetMapping("/chatty")
+        String chatty() {
+            RequestSqlStats stats = RequestSqlStats.current();
+            stats.beforeExecute("SELECT 1");
+            stats.beforeExecute("SELECT 1");
+            return "ok";
+        }
+    }
+}
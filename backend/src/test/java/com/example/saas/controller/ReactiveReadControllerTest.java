@@ -0,0 +1,131 @@
+package com.example.saas.controller;
+
+import com.example.saas.repository.ReactiveReadRepository;
+import com.example.saas.service.ChangeStampService;
+import com.example.saas.service.TaskStatusWriteBehind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ReactiveReadControllerTest {
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final UUID projectId = UUID.randomUUID();
+
+    private ReactiveReadRepository readRepository;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        readRepository = mock(ReactiveReadRepository.class);
+        TaskStatusWriteBehind statusWriteBehind = mock(TaskStatusWriteBehind.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ReactiveReadController(readRepository, statusWriteBehind))
+                .build();
+        when(readRepository.projectStamp(projectId))
+                .thenReturn(Mono.just(new ChangeStampService.Stamp(tenantId, "\"v1\"")));
+    }
+
+    @Test
+    void listsTasksWithPaginationAndEtag() throws Exception {
+        when(readRepository.findTasks(projectId, 0, 50)).thenReturn(Flux.just(task("First"), task("Second")));
+        when(readRepository.countTasks(projectId)).thenReturn(Mono.just(2L));
+
+        mockMvc.perform(asyncDispatch(started(get("/api/reactive/projects/" + projectId + "/tasks"), tenantId)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v1\""))
+                .andExpect(jsonPath("$.data.tasks.length()").value(2))
+                .andExpect(jsonPath("$.data.tasks[0].title").value("First"))
+                .andExpect(jsonPath("$.data.total").value(2))
+                .andExpect(jsonPath("$.data.pagination.totalPages").value(1));
+    }
+
+    @Test
+    void answersNotModifiedWithoutReadingTasks() throws Exception {
+        mockMvc.perform(asyncDispatch(started(get("/api/reactive/projects/" + projectId + "/tasks")
+                        .header("If-None-Match", "\"v1\""), tenantId)))
+                .andExpect(status().isNotModified());
+        verify(readRepository, never()).findTasks(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void refusesProjectsOfAnotherTenant() throws Exception {
+        mockMvc.perform(asyncDispatch(started(get("/api/reactive/projects/" + projectId), UUID.randomUUID())))
+                .andExpect(status().isForbidden());
+        verify(readRepository, never()).findProject(any());
+    }
+
+    @Test
+    void unknownProjectIsNotFound() throws Exception {
+        UUID unknown = UUID.randomUUID();
+        when(readRepository.projectStamp(unknown)).thenReturn(Mono.empty());
+
+        mockMvc.perform(asyncDispatch(started(get("/api/reactive/projects/" + unknown + "/tasks"), tenantId)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void streamsProjectsAsNdjson() throws Exception {
+        when(readRepository.findProjects(eq(tenantId), eq(0L), eq(20)))
+                .thenReturn(Flux.just(Map.of("name", "Alpha"), Map.of("name", "Beta")));
+
+        // The entity arrives first; rows are then written by the async executor until the stream completes
+        MvcResult streaming = mockMvc.perform(asyncDispatch(started(get("/api/reactive/projects")
+                        .accept(MediaType.APPLICATION_NDJSON), tenantId)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        streaming.getAsyncResult(5000);
+        mockMvc.perform(asyncDispatch(streaming))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"name\":\"Alpha\"}\n{\"name\":\"Beta\"}\n"));
+    }
+
+    @Test
+    void userListIsForSuperAdminsOnly() throws Exception {
+        mockMvc.perform(asyncDispatch(started(get("/api/reactive/users"), tenantId)))
+                .andExpect(status().isForbidden());
+        verify(readRepository, never()).findUsers(any(), any(), anyLong(), anyInt());
+    }
+
+    // Handlers return Mono, so the response is only written on the async dispatch
+    private MvcResult started(MockHttpServletRequestBuilder builder, UUID requestTenantId) throws Exception {
+        return mockMvc.perform(builder
+                        .requestAttr("tenantId", requestTenantId.toString())
+                        .requestAttr("role", "USER"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static Map<String, Object> task(String title) {
+        Map<String, Object> task = new HashMap<>();
+        task.put("id", UUID.randomUUID());
+        task.put("title", title);
+        return task;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.saas.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodedEnumConverterTest {
+
+    enum Sparse implements CodedEnum {
+        ZERO(0), TWO(2), FIVE(5);
+
+        private final short code;
+
+        Sparse(int code) {
+            this.code = (short) code;
+        }
+
+        @Override
+        public short getCode() { return code; }
+    }
+
+    enum Clashing implements CodedEnum {
+        A, B;
+
+        @Override
+        public short getCode() { return 1; }
+    }
+
+    static class SparseConverter extends CodedEnumConverter<Sparse> {
+        SparseConverter() { super(Sparse.class); }
+    }
+
+    static class ClashingConverter extends CodedEnumConverter<Clashing> {
+        ClashingConverter() { super(Clashing.class); }
+    }
+
+    private final SparseConverter converter = new SparseConverter();
+
+    @Test
+    void roundTripsEveryConstant() {
+        for (Sparse value : Sparse.values()) {
+            assertEquals(value.getCode(), converter.convertToDatabaseColumn(value));
+            assertEquals(value, converter.convertToEntityAttribute(value.getCode()));
+        }
+    }
+
+    @Test
+    void passesNullThrough() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void rejectsUnknownCodes() {
+        // A gap inside the table, past its end and negative
+        for (short code : new short[] {1, 3, 6, Short.MAX_VALUE, -1, Short.MIN_VALUE}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> converter.convertToEntityAttribute(code));
+            assertEquals("Unknown Sparse code: " + code, e.getMessage());
+        }
+    }
+
+    @Test
+    void rejectsDuplicateCodes() {
+        IllegalStateException e = assertThrows(IllegalStateException.class, ClashingConverter::new);
+        assertEquals("Duplicate code 1 in Clashing", e.getMessage());
+    }
+
+    // Codes are part of the schema: the migration wrote these, so they must never move
+    @Test
+    void taskCodesMatchTheSchema() {
+        Task.TaskStatusConverter status = new Task.TaskStatusConverter();
+        assertEquals(Task.TaskStatus.TODO, status.convertToEntityAttribute((short) 1));
+        assertEquals(Task.TaskStatus.IN_PROGRESS, status.convertToEntityAttribute((short) 2));
+        assertEquals(Task.TaskStatus.COMPLETED, status.convertToEntityAttribute((short) 3));
+        assertThrows(IllegalArgumentException.class, () -> status.convertToEntityAttribute((short) 0));
+
+        Task.TaskPriorityConverter priority = new Task.TaskPriorityConverter();
+        assertEquals(Task.TaskPriority.LOW, priority.convertToEntityAttribute((short) 1));
+        assertEquals(Task.TaskPriority.MEDIUM, priority.convertToEntityAttribute((short) 2));
+        assertEquals(Task.TaskPriority.HIGH, priority.convertToEntityAttribute((short) 3));
+    }
+}
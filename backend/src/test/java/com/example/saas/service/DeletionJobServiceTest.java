@@ -0,0 +1,184 @@
+package com.example.saas.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DeletionJobServiceTest {
+
+    private static final int CHUNK = 1000;
+    private static final UUID TENANT = UUID.randomUUID();
+    private static final UUID PROJECT = UUID.randomUUID();
+
+    @Test
+    void tenantJobRunsEveryPhaseInOrderInChunks() {
+        FakeJdbc jdbc = new FakeJdbc(job(DeletionJobService.Kind.TENANT, TENANT, null), Map.of(
+                "tasks", 2500, "projects", 3, "audit_logs", 10, "users", 5,
+                "change_tombstones", CHUNK, "change_batches", 7, "task_daily_stats", 0, "tenants", 1));
+
+        List<String> ran = runToCompletion(jdbc, "TASKS");
+
+        // A phase repeats until a chunk comes back short, so an exact multiple takes one more, empty, call
+        assertEquals(List.of("TASKS", "TASKS", "TASKS", "PROJECTS", "AUDIT_LOGS", "USERS",
+                "CHANGE_TOMBSTONES", "CHANGE_TOMBSTONES", "CHANGE_BATCHES", "TASK_DAILY_STATS", "TENANT"), ran);
+        assertEquals(2500 + 3 + 10 + 5 + CHUNK + 7 + 1, jdbc.job.rowsDeleted());
+        jdbc.rows.forEach((table, left) -> assertEquals(0, left, table + " left behind"));
+
+        // Audit logs before users, so no user delete has audit rows to SET NULL
+        List<String> firstDeletes = jdbc.deletes.stream().distinct().toList();
+        assertEquals(List.of("tasks", "projects", "change_stamps", "audit_logs", "users", "change_tombstones",
+                "change_batches", "task_daily_stats", "tenants", "tenant_change_seq"), firstDeletes);
+    }
+
+    @Test
+    void projectJobDeletesTasksBeforeTheProject() {
+        FakeJdbc jdbc = new FakeJdbc(job(DeletionJobService.Kind.PROJECT, PROJECT, null),
+                Map.of("tasks", 1200, "projects", 1));
+
+        List<String> ran = runToCompletion(jdbc, "PROJECT_TASKS");
+
+        assertEquals(List.of("PROJECT_TASKS", "PROJECT_TASKS", "PROJECT"), ran);
+        assertEquals(List.of("tasks", "tasks", "projects", "change_stamps"), jdbc.deletes);
+        assertEquals(1201, jdbc.job.rowsDeleted());
+    }
+
+    // Progress is stored with each chunk, so a restarted instance picks up at the stored phase
+    @Test
+    void resumesAtTheStoredPhase() {
+        FakeJdbc jdbc = new FakeJdbc(job(DeletionJobService.Kind.TENANT, TENANT, "USERS"), Map.of(
+                "tasks", 0, "users", 2, "change_tombstones", 0, "change_batches", 0, "task_daily_stats", 0,
+                "tenants", 1));
+
+        List<String> ran = runToCompletion(jdbc, null);
+
+        assertEquals(List.of("USERS", "CHANGE_TOMBSTONES", "CHANGE_BATCHES", "TASK_DAILY_STATS", "TENANT"), ran);
+        assertFalse(jdbc.deletes.contains("tasks"));
+    }
+
+    @Test
+    void idlesForThePollIntervalOnceNothingIsQueued() {
+        FakeJdbc jdbc = new FakeJdbc(job(DeletionJobService.Kind.PROJECT, PROJECT, "PROJECT"), Map.of("projects", 1));
+        DeletionJobService service = service(jdbc);
+
+        service.purgeNextChunk();
+        assertNotNull(jdbc.job.completedAt());
+        service.purgeNextChunk();
+        service.purgeNextChunk();
+        assertEquals(2, jdbc.jobLookups, "looked for jobs while idle");
+    }
+
+    private static List<String> runToCompletion(FakeJdbc jdbc, String firstPhase) {
+        DeletionJobService service = service(jdbc);
+        List<String> ran = new ArrayList<>();
+        for (int tick = 0; jdbc.job.completedAt() == null; tick++) {
+            assertTrue(tick < 50, "job did not finish");
+            ran.add(jdbc.job.phase() != null ? jdbc.job.phase() : firstPhase);
+            service.purgeNextChunk();
+        }
+        return ran;
+    }
+
+    private static DeletionJobService service(FakeJdbc jdbc) {
+        return new DeletionJobService(jdbc, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                CHUNK, 60_000);
+    }
+
+    private static DeletionJobService.Job job(DeletionJobService.Kind kind, UUID entityId, String phase) {
+        LocalDateTime now = LocalDateTime.now();
+        return new DeletionJobService.Job(UUID.randomUUID(), kind, entityId, TENANT, phase, 0, now, now, null);
+    }
+
+    // Just enough of the database for one job: row counts per table, and the job row itself
+    private static class FakeJdbc extends JdbcTemplate {
+        private final Map<String, Integer> rows;
+        private final List<String> deletes = new ArrayList<>();
+        private DeletionJobService.Job job;
+        private int jobLookups;
+
+        FakeJdbc(DeletionJobService.Job job, Map<String, Integer> rows) {
+            this.job = job;
+            this.rows = new HashMap<>(rows);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper) {
+            assertTrue(sql.contains("completed_at IS NULL"), sql);
+            jobLookups++;
+            return job.completedAt() == null ? List.of((T) job) : List.of();
+        }
+
+        @Override
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            assertTrue(sql.startsWith("SELECT id FROM projects"), sql);
+            int count = Math.min(rows.getOrDefault("projects", 0), (Integer) args[args.length - 1]);
+            List<T> ids = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                ids.add(elementType.cast(UUID.randomUUID()));
+            }
+            return ids;
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (sql.startsWith("UPDATE deletion_jobs")) {
+                LocalDateTime now = LocalDateTime.now();
+                job = new DeletionJobService.Job(job.id(), job.kind(), job.entityId(), job.tenantId(), (String) args[0],
+                        job.rowsDeleted() + (Integer) args[1], job.createdAt(), now,
+                        (Boolean) args[2] ? now : null);
+                return 1;
+            }
+            Integer limit = sql.contains("LIMIT ?") ? (Integer) args[args.length - 1] : null;
+            return delete(sql, limit);
+        }
+
+        @Override
+        public int update(PreparedStatementCreator psc) {
+            try {
+                String[] sql = new String[1];
+                int[] size = new int[1];
+                Connection con = mock(Connection.class);
+                when(con.prepareStatement(anyString())).thenAnswer(invocation -> {
+                    sql[0] = invocation.getArgument(0);
+                    return mock(PreparedStatement.class);
+                });
+                when(con.createArrayOf(anyString(), any())).thenAnswer(invocation -> {
+                    size[0] = invocation.getArgument(1, Object[].class).length;
+                    return mock(Array.class);
+                });
+                psc.createPreparedStatement(con);
+                return delete(sql[0], size[0]);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private int delete(String sql, Integer limit) {
+            assertTrue(sql.startsWith("DELETE FROM "), sql);
+            String table = sql.substring("DELETE FROM ".length()).split(" ")[0];
+            deletes.add(table);
+            int left = rows.getOrDefault(table, 0);
+            int deleted = limit != null ? Math.min(left, limit) : left;
+            if (rows.containsKey(table)) {
+                rows.put(table, left - deleted);
+            }
+            return deleted;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.saas.support;
+
+import com.example.saas.util.RequestSqlStats;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * MockMvc assertions on the SQL statements a request ran
+ * They read the {@link RequestSqlStats} that ServerTimingFilter leaves on the request, so the
+ * filter has to be part of the MockMvc setup.
+ */
+public final class SqlStatsMatchers {
+
+    private SqlStatsMatchers() {}
+
+    /**
+     * The request stayed within its query budget (the default, or the handler's @QueryBudget)
+     */
+    public static ResultMatcher withinQueryBudget() {
+        return result -> {
+            RequestSqlStats stats = stats(result);
+            if (stats.overBudget()) {
+                Map.Entry<String, Integer> repeated = stats.mostRepeated();
+                fail("Ran " + stats.statements() + " SQL statements, budget " + stats.budget()
+                        + (repeated != null ? "; most repeated (" + repeated.getValue() + "x): " + repeated.getKey() : ""));
+            }
+        };
+    }
+
+    public static ResultMatcher queryCount(int expected) {
+        return result -> assertEquals(expected, stats(result).statements(), "SQL statements run by the request");
+    }
+
+    private static RequestSqlStats stats(MvcResult result) {
+        RequestSqlStats stats = (RequestSqlStats) result.getRequest().getAttribute(RequestSqlStats.REQUEST_ATTRIBUTE);
+        assertNotNull(stats, "No SQL stats on the request; is ServerTimingFilter in the MockMvc setup?");
+        return stats;
+    }
+}
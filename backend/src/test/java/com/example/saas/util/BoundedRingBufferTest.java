@@ -0,0 +1,143 @@
+package com.example.saas.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedRingBufferTest {
+
+    @Test
+    void roundsCapacityUpToAPowerOfTwo() {
+        assertEquals(2, new BoundedRingBuffer<>(2).capacity());
+        assertEquals(8, new BoundedRingBuffer<>(5).capacity());
+        assertEquals(8, new BoundedRingBuffer<>(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new BoundedRingBuffer<>(1));
+    }
+
+    @Test
+    void emptyPollsNullAndFullRejects() {
+        BoundedRingBuffer<Integer> ring = new BoundedRingBuffer<>(4);
+        assertNull(ring.poll());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4));
+        assertEquals(4, ring.size());
+
+        assertEquals(0, ring.poll());
+        assertTrue(ring.offer(4), "a freed slot is reusable");
+        assertFalse(ring.offer(5));
+    }
+
+    // Many laps around a small ring, checking FIFO order on every slot reuse
+    @Test
+    void wrapsAroundInOrder() {
+        BoundedRingBuffer<Integer> ring = new BoundedRingBuffer<>(4);
+        int next = 0;
+        int expected = 0;
+        for (int lap = 0; lap < 1_000; lap++) {
+            while (ring.offer(next)) {
+                next++;
+            }
+            int take = lap % 4 + 1;
+            for (int i = 0; i < take; i++) {
+                assertEquals(expected++, ring.poll());
+            }
+        }
+        List<Integer> rest = new ArrayList<>();
+        assertEquals(next - expected, ring.drainTo(rest, Integer.MAX_VALUE));
+        for (Integer value : rest) {
+            assertEquals(expected++, value);
+        }
+        assertNull(ring.poll());
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    void drainToStopsAtTheLimit() {
+        BoundedRingBuffer<Integer> ring = new BoundedRingBuffer<>(8);
+        for (int i = 0; i < 6; i++) {
+            ring.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, ring.drainTo(drained, 4));
+        assertEquals(List.of(0, 1, 2, 3), drained);
+        assertEquals(2, ring.size());
+    }
+
+    // Producers retry on full, consumers on empty; every element comes out exactly once,
+    // and each producer's elements come out in the order it offered them
+    @Test
+    void multipleProducersAndConsumersLoseAndDuplicateNothing() throws Exception {
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 20_000;
+        BoundedRingBuffer<Long> ring = new BoundedRingBuffer<>(16);
+        ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger remaining = new AtomicInteger(producers * perProducer);
+            List<Future<?>> producerFutures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long base = (long) p << 32;
+                producerFutures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!ring.offer(base | i)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            List<Future<List<Long>>> consumerFutures = new ArrayList<>();
+            for (int c = 0; c < consumers; c++) {
+                consumerFutures.add(executor.submit(() -> {
+                    start.await();
+                    List<Long> taken = new ArrayList<>();
+                    while (remaining.get() > 0) {
+                        Long element = ring.poll();
+                        if (element == null) {
+                            Thread.yield();
+                        } else {
+                            taken.add(element);
+                            remaining.decrementAndGet();
+                        }
+                    }
+                    return taken;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : producerFutures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+
+            BitSet[] seen = new BitSet[producers];
+            for (int p = 0; p < producers; p++) {
+                seen[p] = new BitSet(perProducer);
+            }
+            for (Future<List<Long>> future : consumerFutures) {
+                int[] last = new int[producers];
+                Arrays.fill(last, -1);
+                for (long element : future.get(60, TimeUnit.SECONDS)) {
+                    int producer = (int) (element >>> 32);
+                    int sequence = (int) element;
+                    assertFalse(seen[producer].get(sequence), "duplicate " + producer + ":" + sequence);
+                    seen[producer].set(sequence);
+                    assertTrue(sequence > last[producer], "out of order within one consumer");
+                    last[producer] = sequence;
+                }
+            }
+            for (int p = 0; p < producers; p++) {
+                assertEquals(perProducer, seen[p].cardinality(), "lost elements of producer " + p);
+            }
+            assertNull(ring.poll());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.saas.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(csv), 100);
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    @Test
+    void splitsPlainFields() throws IOException {
+        assertEquals(List.of(List.of("title", "priority"), List.of("a", "HIGH"), List.of("", "")),
+                readAll("title,priority\na,HIGH\n,\n"));
+    }
+
+    @Test
+    void lastRecordNeedsNoLineBreak() throws IOException {
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "")), readAll("a,b\nc,"));
+    }
+
+    @Test
+    void acceptsCrlfLfAndBareCr() throws IOException {
+        assertEquals(List.of(List.of("a", "1"), List.of("b", "2"), List.of("c", "3")),
+                readAll("a,1\r\nb,2\nc,3\r"));
+    }
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        String csv = "\"a, b\",\"say \"\"hi\"\"\"\r\n\"line one\r\nline two\nline three\",\"\"\r\n";
+        assertEquals(List.of(
+                List.of("a, b", "say \"hi\""),
+                List.of("line one\r\nline two\nline three", "")), readAll(csv));
+    }
+
+    @Test
+    void quoteInsideAnUnquotedFieldIsLiteral() throws IOException {
+        assertEquals(List.of(List.of("5\" screen", "x")), readAll("5\" screen,x\n"));
+    }
+
+    @Test
+    void skipsBlankLinesAndLeadingByteOrderMark() throws IOException {
+        assertEquals(List.of(List.of("a"), List.of("b")), readAll("\uFEFFa\r\n\r\n\nb\n\n"));
+        assertEquals(List.of(), readAll(""));
+        assertEquals(List.of(), readAll("\r\n\n"));
+    }
+
+    @Test
+    void countsRecordsNotLines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"multi\nline\"\n\nnext\n"), 100);
+        reader.next();
+        assertEquals(1, reader.recordNumber());
+        assertEquals(List.of("next"), reader.next());
+        assertEquals(2, reader.recordNumber());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void rejectsUnterminatedQuotedField() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("ok\n\"open,\nnever closed\n"), 100);
+        assertEquals(List.of("ok"), reader.next());
+        CsvReader.MalformedCsvException e = assertThrows(CsvReader.MalformedCsvException.class, reader::next);
+        assertEquals("Unterminated quoted field in record 2", e.getMessage());
+    }
+
+    @Test
+    void rejectsFieldsOverTheLimit() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("abcd,x\nabcde,x\n\"abcdef\"\n"), 4);
+        assertEquals(List.of("abcd", "x"), reader.next());
+        CsvReader.MalformedCsvException e = assertThrows(CsvReader.MalformedCsvException.class, reader::next);
+        assertEquals("Field longer than 4 characters in record 2", e.getMessage());
+    }
+
+    @Test
+    void rejectsQuotedFieldsOverTheLimit() {
+        CsvReader reader = new CsvReader(new StringReader("\"abcde\"\n"), 4);
+        assertThrows(CsvReader.MalformedCsvException.class, reader::next);
+    }
+}
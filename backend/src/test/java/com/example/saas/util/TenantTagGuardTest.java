@@ -0,0 +1,89 @@
+package com.example.saas.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantTagGuardTest {
+
+    @Test
+    void reservedValuesForUnauthenticatedAndSuperAdmins() {
+        TenantTagGuard guard = new TenantTagGuard(0, 1);
+        assertEquals(TenantTagGuard.NONE, guard.tag(null));
+        assertEquals(TenantTagGuard.PLATFORM, guard.tag(""));
+        assertEquals(TenantTagGuard.OTHER, guard.tag("t1"));
+        assertEquals(0, guard.admittedCount());
+    }
+
+    @Test
+    void admitsATenantOnItsNthSighting() {
+        TenantTagGuard guard = new TenantTagGuard(10, 3);
+        assertEquals(TenantTagGuard.OTHER, guard.tag("t1"));
+        assertEquals(TenantTagGuard.OTHER, guard.tag("t1"));
+        assertEquals("t1", guard.tag("t1"));
+        assertEquals("t1", guard.tag("t1"));
+        assertEquals(1, guard.admittedCount());
+    }
+
+    @Test
+    void capsAdmittedTenantsAndKeepsTheAdmittedOnes() {
+        TenantTagGuard guard = new TenantTagGuard(2, 1);
+        assertEquals("t1", guard.tag("t1"));
+        assertEquals("t2", guard.tag("t2"));
+        assertEquals(TenantTagGuard.OTHER, guard.tag("t3"));
+        assertEquals(TenantTagGuard.OTHER, guard.tag("t3"));
+
+        // Admitted tenants never flap into "other" once the cap is reached
+        assertEquals("t1", guard.tag("t1"));
+        assertEquals("t2", guard.tag("t2"));
+        assertEquals(2, guard.admittedCount());
+    }
+
+    // Sightings before the cap is reached do not carry a tenant past it
+    @Test
+    void candidatesAreDroppedOnceFull() {
+        TenantTagGuard guard = new TenantTagGuard(1, 2);
+        assertEquals(TenantTagGuard.OTHER, guard.tag("t2"));
+        guard.tag("t1");
+        assertEquals("t1", guard.tag("t1"));
+        assertEquals(TenantTagGuard.OTHER, guard.tag("t2"));
+        assertEquals(1, guard.admittedCount());
+    }
+
+    @Test
+    void distinctTagValuesStayWithinTheCapUnderConcurrency() throws Exception {
+        int maxTenants = 20;
+        TenantTagGuard guard = new TenantTagGuard(maxTenants, 2);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Set<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    Random random = new Random(seed);
+                    Set<String> tags = new HashSet<>();
+                    for (int i = 0; i < 20_000; i++) {
+                        tags.add(guard.tag("tenant-" + random.nextInt(1_000)));
+                    }
+                    return tags;
+                }));
+            }
+            start.countDown();
+
+            Set<String> tags = new HashSet<>();
+            for (Future<Set<String>> future : futures) {
+                tags.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+            tags.remove(TenantTagGuard.OTHER);
+            assertEquals(maxTenants, guard.admittedCount());
+            assertEquals(maxTenants, tags.size(), "tags seen " + tags);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.saas.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long TICK_MS = 10;
+
+    @Test
+    void firesInDeadlineOrderOnceTheTickIsReached() {
+        TimingWheel<String, Integer> wheel = new TimingWheel<>(TICK_MS, 4, 0);
+        wheel.schedule("late", 1_000, 3);
+        wheel.schedule("early", 25, 1);
+        wheel.schedule("middle", 170, 2);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(19, (key, value) -> fired.add(key));
+        assertEquals(List.of(), fired);
+
+        wheel.advance(1_000, (key, value) -> fired.add(key));
+        assertEquals(List.of("early", "middle", "late"), fired);
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.levels() > 1, "a deadline beyond the first level adds levels");
+    }
+
+    @Test
+    void pastDeadlineFiresOnNextAdvance() {
+        TimingWheel<String, Integer> wheel = new TimingWheel<>(TICK_MS, 8, 5_000);
+        wheel.schedule("past", 100, 1);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(5_000, (key, value) -> fired.add(key));
+        assertEquals(List.of("past"), fired);
+    }
+
+    @Test
+    void rescheduleReplacesAndCancelRemoves() {
+        TimingWheel<String, Integer> wheel = new TimingWheel<>(TICK_MS, 8, 0);
+        wheel.schedule("a", 500, 1);
+        wheel.schedule("a", 50, 2);
+        wheel.schedule("b", 60, 3);
+        assertTrue(wheel.cancel("b"));
+        assertFalse(wheel.cancel("b"));
+
+        Map<String, Integer> fired = new HashMap<>();
+        wheel.advance(1_000, fired::put);
+        assertEquals(Map.of("a", 2), fired);
+    }
+
+    // Random schedules, reschedules, cancels and clock jumps, checked against a sorted map of deadlines
+    @Test
+    void matchesBruteForceScheduler() {
+        Random random = new Random(45);
+        for (int wheelSize : new int[] {2, 3, 8, 60}) {
+            long now = random.nextInt(100_000);
+            TimingWheel<Integer, Long> wheel = new TimingWheel<>(TICK_MS, wheelSize, now);
+            Map<Integer, Long> expected = new HashMap<>();
+
+            for (int step = 0; step < 20_000; step++) {
+                int op = random.nextInt(10);
+                int key = random.nextInt(500);
+                if (op < 5) {
+                    // Mostly near deadlines, some far ahead, a few already past
+                    long deadline = now + switch (random.nextInt(4)) {
+                        case 0 -> random.nextInt(100);
+                        case 1 -> random.nextInt(10_000);
+                        case 2 -> random.nextInt(5_000_000);
+                        default -> -random.nextInt(1_000);
+                    };
+                    wheel.schedule(key, deadline, deadline);
+                    expected.put(key, deadline);
+                } else if (op < 7) {
+                    assertEquals(expected.remove(key) != null, wheel.cancel(key));
+                } else {
+                    now += random.nextInt(20) == 0 ? random.nextInt(200_000) : random.nextInt(200);
+                    long nowTick = now / TICK_MS;
+
+                    List<Long> fired = new ArrayList<>();
+                    wheel.advance(now, (k, deadline) -> {
+                        assertEquals(expected.remove(k), deadline, "fired with the latest deadline for " + k);
+                        assertTrue(deadline / TICK_MS <= nowTick, "fired before its tick");
+                        fired.add(deadline / TICK_MS);
+                    });
+                    List<Long> sorted = new ArrayList<>(fired);
+                    Collections.sort(sorted);
+                    assertEquals(sorted, fired, "fired in tick order");
+                    for (long deadline : expected.values()) {
+                        assertTrue(Math.max(deadline / TICK_MS, 0) > nowTick, "due entry left in the wheel");
+                    }
+                }
+                assertEquals(expected.size(), wheel.size());
+            }
+        }
+    }
+}
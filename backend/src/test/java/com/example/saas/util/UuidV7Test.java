@@ -0,0 +1,81 @@
+package com.example.saas.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void setsVersionAndVariantBits() {
+        for (int i = 0; i < 1_000; i++) {
+            UUID id = UuidV7.next();
+            assertEquals(7, id.version());
+            assertEquals(2, id.variant());
+        }
+    }
+
+    @Test
+    void embedsTheCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.next();
+        long after = System.currentTimeMillis();
+
+        // May run ahead of the clock after a burst borrowed future milliseconds, never behind it
+        assertTrue(UuidV7.timestamp(id) >= before, "timestamp before the call");
+        assertTrue(UuidV7.timestamp(id) <= after + 1_000, "timestamp far ahead of the clock");
+    }
+
+    // More than 4096 ids in a millisecond overflow the sequence; the timestamp is borrowed forward
+    @Test
+    void strictlyIncreasingThroughSequenceOverflow() {
+        UUID previous = UuidV7.next();
+        for (int i = 0; i < 50_000; i++) {
+            UUID next = UuidV7.next();
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0,
+                    previous + " then " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void uniqueAndOrderedPerThreadAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<UUID>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<UUID> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(UuidV7.next());
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            Set<Long> seen = new HashSet<>();
+            for (Future<List<UUID>> future : futures) {
+                long previous = Long.MIN_VALUE;
+                for (UUID id : future.get(30, TimeUnit.SECONDS)) {
+                    long msb = id.getMostSignificantBits();
+                    assertTrue(previous == Long.MIN_VALUE || Long.compareUnsigned(msb, previous) > 0,
+                            "not increasing within a thread");
+                    // The millis and sequence are unique on their own, whatever the random bits
+                    assertTrue(seen.add(msb), "duplicate timestamp and sequence " + id);
+                    previous = msb;
+                }
+            }
+            assertEquals(threads * perThread, seen.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
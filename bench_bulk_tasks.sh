@@ -0,0 +1,67 @@
+#!/bin/bash
+
+# Throughput comparison: one-by-one task creation vs the bulk endpoint
+# Usage: ./bench_bulk_tasks.sh [TOTAL_TASKS] [SINGLE_SAMPLE]
+
+BASE_URL="${BASE_URL:-http://localhost:5000/api}"
+CONTENT_TYPE="Content-Type: application/json"
+TOTAL=${1:-10000}
+SAMPLE=${2:-500}
+
+echo "---------------------------------------------------"
+echo "Bulk task creation benchmark ($TOTAL tasks)"
+echo "---------------------------------------------------"
+
+TOKEN=$(curl -s -X POST $BASE_URL/auth/login \
+  -H "$CONTENT_TYPE" \
+  -d '{"email":"admin@demo.com","password":"Demo@123","tenantSubdomain":"demo"}' | jq -r '.data.token')
+
+if [ "$TOKEN" == "null" ] || [ -z "$TOKEN" ]; then
+    echo "Login failed"
+    exit 1
+fi
+
+AUTH_HEADER="Authorization: Bearer $TOKEN"
+
+create_project() {
+    curl -s -X POST $BASE_URL/projects \
+      -H "$CONTENT_TYPE" \
+      -H "$AUTH_HEADER" \
+      -d "{\"name\":\"Bench $1 $(date +%s)\",\"description\":\"Bulk benchmark\"}" | jq -r '.data.id'
+}
+
+now_ms() {
+    date +%s%3N
+}
+
+# 1. One request per task (sampled, then extrapolated)
+SINGLE_PROJECT=$(create_project single)
+START=$(now_ms)
+for i in $(seq 1 $SAMPLE); do
+    curl -s -o /dev/null -X POST "$BASE_URL/projects/$SINGLE_PROJECT/tasks" \
+      -H "$CONTENT_TYPE" \
+      -H "$AUTH_HEADER" \
+      -d "{\"title\":\"Task $i\",\"priority\":\"MEDIUM\"}"
+done
+SINGLE_MS=$(( $(now_ms) - START ))
+echo "Single:  $SAMPLE tasks in ${SINGLE_MS} ms ($(( SAMPLE * 1000 / (SINGLE_MS + 1) )) tasks/s)"
+
+# 2. One bulk request for all tasks
+BULK_PROJECT=$(create_project bulk)
+PAYLOAD=$(mktemp)
+jq -n --argjson n "$TOTAL" \
+  '{atomic: true, tasks: [range(0; $n) | {title: "Task \(.)", priority: "MEDIUM"}]}' > "$PAYLOAD"
+
+START=$(now_ms)
+BULK_RES=$(curl -s -X POST "$BASE_URL/projects/$BULK_PROJECT/tasks:bulk" \
+  -H "$CONTENT_TYPE" \
+  -H "$AUTH_HEADER" \
+  --data-binary @"$PAYLOAD")
+BULK_MS=$(( $(now_ms) - START ))
+rm -f "$PAYLOAD"
+
+echo "Bulk:    $(echo $BULK_RES | jq '.data.succeeded') tasks in ${BULK_MS} ms ($(( TOTAL * 1000 / (BULK_MS + 1) )) tasks/s)"
+
+# Cleanup
+curl -s -o /dev/null -X DELETE -H "$AUTH_HEADER" "$BASE_URL/projects/$SINGLE_PROJECT"
+curl -s -o /dev/null -X DELETE -H "$AUTH_HEADER" "$BASE_URL/projects/$BULK_PROJECT"
@@ -0,0 +1,37 @@
+-- Table and index footprint plus primary-key lookup latency
+-- Usage: psql -d saasdb -f bench_index_sizes.sql   (run before and after a storage migration)
+
+\timing off
+
+SELECT c.relname                                   AS relation,
+       CASE c.relkind WHEN 'i' THEN 'index' ELSE 'table' END AS kind,
+       pg_size_pretty(pg_relation_size(c.oid))     AS size,
+       pg_relation_size(c.oid)                     AS bytes
+FROM pg_class c
+JOIN pg_namespace n ON n.oid = c.relnamespace
+WHERE n.nspname = 'public'
+  AND c.relkind IN ('r', 'i', 'p', 'I')
+  AND c.relname NOT LIKE 'flyway%'
+ORDER BY pg_relation_size(c.oid) DESC;
+
+-- Average PK lookup time over 10k random existing ids
+DO $$
+DECLARE
+    ids      text[];
+    started  timestamptz;
+    found    int := 0;
+    i        int;
+BEGIN
+    SELECT array_agg(id::text) INTO ids FROM (SELECT id FROM tasks ORDER BY random() LIMIT 10000) s;
+    IF ids IS NULL THEN
+        RAISE NOTICE 'tasks is empty, skipping lookup timing';
+        RETURN;
+    END IF;
+    started := clock_timestamp();
+    FOR i IN 1 .. array_length(ids, 1) LOOP
+        EXECUTE format('SELECT 1 FROM tasks WHERE id = %L', ids[i]) INTO found;
+    END LOOP;
+    RAISE NOTICE 'tasks PK lookup: % us avg over % ids',
+        round(extract(epoch FROM clock_timestamp() - started) * 1000000 / array_length(ids, 1), 2),
+        array_length(ids, 1);
+END $$;
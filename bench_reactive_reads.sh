@@ -0,0 +1,93 @@
+#!/bin/bash
+
+# p99 latency and database connections in use for the blocking (MVC + JDBC) and
+# non-blocking (/api/reactive, R2DBC) versions of the same task list, at high concurrency
+# Usage: ./bench_reactive_reads.sh [CONCURRENCY] [DURATION], against a backend started with REACTIVE_READS=true
+# Requires hey (https://github.com/rakyll/hey). Connection counts are sampled from
+# pg_stat_activity when psql can reach the database (PGHOST, PGUSER, ... or the defaults below).
+# Results are appended to bench_reactive_reads.csv
+
+BASE_URL="${BASE_URL:-http://localhost:5000/api}"
+CONTENT_TYPE="Content-Type: application/json"
+CONCURRENCY=${1:-1000}
+DURATION=${2:-30s}
+RESULTS=bench_reactive_reads.csv
+export PGHOST=${PGHOST:-${DB_HOST:-localhost}} PGPORT=${PGPORT:-${DB_PORT:-5432}}
+export PGDATABASE=${PGDATABASE:-${DB_NAME:-saas_db}} PGUSER=${PGUSER:-${DB_USER:-postgres}}
+export PGPASSWORD=${PGPASSWORD:-${DB_PASSWORD:-postgres}}
+
+command -v hey >/dev/null || { echo "hey is not installed"; exit 1; }
+HAVE_PSQL=false
+command -v psql >/dev/null && psql -qtAc "SELECT 1" >/dev/null 2>&1 && HAVE_PSQL=true
+
+echo "---------------------------------------------------"
+echo "Reactive read benchmark ($CONCURRENCY concurrent, $DURATION)"
+echo "---------------------------------------------------"
+
+TOKEN=$(curl -s -X POST $BASE_URL/auth/login \
+  -H "$CONTENT_TYPE" \
+  -d '{"email":"admin@demo.com","password":"Demo@123","tenantSubdomain":"demo"}' | jq -r '.data.token')
+
+if [ "$TOKEN" == "null" ] || [ -z "$TOKEN" ]; then
+    echo "Login failed"
+    exit 1
+fi
+
+AUTH_HEADER="Authorization: Bearer $TOKEN"
+
+PROJECT=$(curl -s -X POST $BASE_URL/projects \
+  -H "$CONTENT_TYPE" \
+  -H "$AUTH_HEADER" \
+  -d "{\"name\":\"Reactive bench $(date +%s)\",\"description\":\"Reactive read benchmark\"}" | jq -r '.data.id')
+jq -n '{atomic: true, tasks: [range(0; 50) | {title: "Task \(.)", priority: "MEDIUM"}]}' | \
+  curl -s -o /dev/null -X POST "$BASE_URL/projects/$PROJECT/tasks:bulk" \
+    -H "$CONTENT_TYPE" -H "$AUTH_HEADER" --data-binary @-
+
+# Peak non-idle connections per driver while a run is in progress
+sample_connections() {
+    local peak_jdbc=0 peak_r2dbc=0
+    while [ -f "$1.running" ]; do
+        read -r jdbc r2dbc < <(psql -qtAF' ' -c "SELECT
+            count(*) FILTER (WHERE application_name = 'PostgreSQL JDBC Driver'),
+            count(*) FILTER (WHERE application_name = 'r2dbc-postgresql')
+            FROM pg_stat_activity WHERE datname = current_database() AND state <> 'idle' AND pid <> pg_backend_pid()")
+        [ "${jdbc:-0}" -gt "$peak_jdbc" ] && peak_jdbc=$jdbc
+        [ "${r2dbc:-0}" -gt "$peak_r2dbc" ] && peak_r2dbc=$r2dbc
+        sleep 0.2
+    done
+    echo "$peak_jdbc $peak_r2dbc" > "$1"
+}
+
+run() {
+    local label=$1 path=$2 accept=$3
+    # Warm up the JIT and both pools before measuring
+    hey -z 10s -c 50 -H "$AUTH_HEADER" -H "Accept: $accept" "$BASE_URL$path" > /dev/null
+
+    local peaks=$(mktemp)
+    if $HAVE_PSQL; then
+        touch "$peaks.running"
+        sample_connections "$peaks" &
+    fi
+    OUT=$(hey -z "$DURATION" -c "$CONCURRENCY" -H "$AUTH_HEADER" -H "Accept: $accept" "$BASE_URL$path")
+    rm -f "$peaks.running"
+    wait
+    read -r PEAK_JDBC PEAK_R2DBC < "$peaks" 2>/dev/null
+    rm -f "$peaks"
+
+    RPS=$(echo "$OUT" | awk '/Requests\/sec/ {print $2}')
+    P99=$(echo "$OUT" | awk '/ 99% in/ {print $3 * 1000}')
+    ERRORS=$(echo "$OUT" | awk '/Status code distribution/,0' | grep -v '\[200\]' | awk '/\[[0-9]+\]/ {sum += $2} END {print sum + 0}')
+
+    echo "$label: $RPS req/s, p99 ${P99} ms, non-200 $ERRORS, peak connections jdbc=${PEAK_JDBC:-n/a} r2dbc=${PEAK_R2DBC:-n/a}"
+    [ -f "$RESULTS" ] || echo "label,concurrency,duration,requests_per_sec,p99_ms,non_200,peak_jdbc_connections,peak_r2dbc_connections" > "$RESULTS"
+    echo "$label,$CONCURRENCY,$DURATION,$RPS,$P99,$ERRORS,${PEAK_JDBC:-},${PEAK_R2DBC:-}" >> "$RESULTS"
+}
+
+run mvc "/projects/$PROJECT/tasks" "application/json"
+run reactive "/reactive/projects/$PROJECT/tasks" "application/json"
+run reactive-ndjson "/reactive/projects/$PROJECT/tasks" "application/x-ndjson"
+
+column -s, -t "$RESULTS"
+
+# Cleanup
+curl -s -o /dev/null -X DELETE -H "$AUTH_HEADER" "$BASE_URL/projects/$PROJECT"
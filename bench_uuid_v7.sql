@@ -0,0 +1,45 @@
+-- Insert throughput and primary-key index size: random v4 vs time-ordered v7 keys
+-- Usage: psql -d saasdb -v rows=1000000 -f bench_uuid_v7.sql
+
+\if :{?rows}
+\else
+\set rows 1000000
+\endif
+
+-- Same layout as the application's UuidV7 (48-bit millis, version, 12-bit sequence, variant, random)
+CREATE OR REPLACE FUNCTION pg_temp.uuid_v7(seq int) RETURNS uuid AS $$
+    SELECT encode(
+        set_byte(set_byte(
+            overlay(uuid_send(gen_random_uuid())
+                    PLACING substring(int8send((extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                    FROM 1 FOR 6),
+            6, (x'70'::int | ((seq >> 8) & 15))),
+            7, (seq & 255)),
+        'hex')::uuid
+$$ LANGUAGE sql VOLATILE;
+
+DROP TABLE IF EXISTS bench_uuid_v4;
+DROP TABLE IF EXISTS bench_uuid_v7;
+CREATE TABLE bench_uuid_v4 (id uuid PRIMARY KEY, payload text);
+CREATE TABLE bench_uuid_v7 (id uuid PRIMARY KEY, payload text);
+
+\timing on
+INSERT INTO bench_uuid_v4 SELECT gen_random_uuid(), md5(g::text) FROM generate_series(1, :rows) g;
+INSERT INTO bench_uuid_v7 SELECT pg_temp.uuid_v7(g % 4096), md5(g::text) FROM generate_series(1, :rows) g;
+\timing off
+
+SELECT 'v4' AS keys, pg_size_pretty(pg_relation_size('bench_uuid_v4_pkey')) AS pk_index_size
+UNION ALL
+SELECT 'v7', pg_size_pretty(pg_relation_size('bench_uuid_v7_pkey'));
+
+-- Leaf density, if pgstattuple is installed (lower density means more page splits)
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pgstattuple') THEN
+        RAISE NOTICE 'v4 leaf density: %', (SELECT avg_leaf_density FROM pgstatindex('bench_uuid_v4_pkey'));
+        RAISE NOTICE 'v7 leaf density: %', (SELECT avg_leaf_density FROM pgstatindex('bench_uuid_v7_pkey'));
+    END IF;
+END $$;
+
+DROP TABLE bench_uuid_v4;
+DROP TABLE bench_uuid_v7;
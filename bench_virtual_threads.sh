@@ -0,0 +1,61 @@
+#!/bin/bash
+
+# Throughput and p99 latency of JDBC-bound reads, to compare platform and virtual thread modes
+# Start the backend in one mode, run this script, then repeat in the other mode:
+#   platform: mvn spring-boot:run                                   (Java 17 or 21)
+#   virtual:  VIRTUAL_THREADS=true mvn -Pjava21 spring-boot:run     (Java 21)
+# Usage: ./bench_virtual_threads.sh <label> [CONCURRENCY] [DURATION]
+# Requires hey (https://github.com/rakyll/hey). Results are appended to bench_virtual_threads.csv
+# No comparison has been published yet; the numbers are still outstanding.
+
+BASE_URL="${BASE_URL:-http://localhost:5000/api}"
+CONTENT_TYPE="Content-Type: application/json"
+LABEL=${1:?label required, e.g. platform or virtual}
+CONCURRENCY=${2:-400}
+DURATION=${3:-30s}
+RESULTS=bench_virtual_threads.csv
+
+command -v hey >/dev/null || { echo "hey is not installed"; exit 1; }
+
+echo "---------------------------------------------------"
+echo "Virtual thread benchmark: $LABEL ($CONCURRENCY concurrent, $DURATION)"
+echo "---------------------------------------------------"
+
+TOKEN=$(curl -s -X POST $BASE_URL/auth/login \
+  -H "$CONTENT_TYPE" \
+  -d '{"email":"admin@demo.com","password":"Demo@123","tenantSubdomain":"demo"}' | jq -r '.data.token')
+
+if [ "$TOKEN" == "null" ] || [ -z "$TOKEN" ]; then
+    echo "Login failed"
+    exit 1
+fi
+
+AUTH_HEADER="Authorization: Bearer $TOKEN"
+
+# A project with enough tasks that every list request does real JDBC work
+PROJECT=$(curl -s -X POST $BASE_URL/projects \
+  -H "$CONTENT_TYPE" \
+  -H "$AUTH_HEADER" \
+  -d "{\"name\":\"VT bench $(date +%s)\",\"description\":\"Virtual thread benchmark\"}" | jq -r '.data.id')
+jq -n '{atomic: true, tasks: [range(0; 50) | {title: "Task \(.)", priority: "MEDIUM"}]}' | \
+  curl -s -o /dev/null -X POST "$BASE_URL/projects/$PROJECT/tasks:bulk" \
+    -H "$CONTENT_TYPE" -H "$AUTH_HEADER" --data-binary @-
+
+# Warm up the JIT and connection pool before measuring
+hey -z 10s -c 50 -H "$AUTH_HEADER" "$BASE_URL/projects/$PROJECT/tasks" > /dev/null
+
+OUT=$(hey -z "$DURATION" -c "$CONCURRENCY" -H "$AUTH_HEADER" "$BASE_URL/projects/$PROJECT/tasks")
+RPS=$(echo "$OUT" | awk '/Requests\/sec/ {print $2}')
+P99=$(echo "$OUT" | awk '/ 99% in/ {print $3 * 1000}')
+ERRORS=$(echo "$OUT" | awk '/Status code distribution/,0' | grep -v '\[200\]' | awk '/\[[0-9]+\]/ {sum += $2} END {print sum + 0}')
+
+echo "Requests/s: $RPS"
+echo "p99:        ${P99} ms"
+echo "Non-200:    $ERRORS"
+
+[ -f "$RESULTS" ] || echo "label,concurrency,duration,requests_per_sec,p99_ms,non_200" > "$RESULTS"
+echo "$LABEL,$CONCURRENCY,$DURATION,$RPS,$P99,$ERRORS" >> "$RESULTS"
+column -s, -t "$RESULTS"
+
+# Cleanup
+curl -s -o /dev/null -X DELETE -H "$AUTH_HEADER" "$BASE_URL/projects/$PROJECT"
@@ -0,0 +1,72 @@
+// Subscribe to /api/stream (Server-Sent Events).
+// Uses fetch rather than EventSource so the JWT travels in the Authorization header
+// instead of the URL. Reconnects with backoff; onReconnect fires after every reconnect
+// so callers can reload anything they missed while disconnected.
+export function subscribeToChanges(onEvent, { onReconnect } = {}) {
+  const baseURL = import.meta.env.VITE_API_BASE_URL || '/api';
+  const controller = new AbortController();
+  let retryMs = 3000;
+  let connectedBefore = false;
+
+  const dispatch = (frame) => {
+    let type = 'message';
+    const data = [];
+    for (const line of frame.split('\n')) {
+      if (line.startsWith('event:')) {
+        type = line.slice(6).trim();
+      } else if (line.startsWith('data:')) {
+        data.push(line.slice(5).replace(/^ /, ''));
+      } else if (line.startsWith('retry:')) {
+        retryMs = Number(line.slice(6)) || retryMs;
+      }
+    }
+    if (type === 'connected') {
+      if (connectedBefore && onReconnect) {
+        onReconnect();
+      }
+      connectedBefore = true;
+      return;
+    }
+    if (data.length > 0) {
+      try {
+        onEvent(type, JSON.parse(data.join('\n')));
+      } catch (error) {
+        console.error('Bad stream event:', error);
+      }
+    }
+  };
+
+  const connect = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        const response = await fetch(`${baseURL}/stream`, {
+          headers: { Authorization: `Bearer ${localStorage.getItem('token')}` },
+          signal: controller.signal
+        });
+        if (response.status === 401) {
+          return;
+        }
+        if (response.ok && response.body) {
+          const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+          let buffer = '';
+          for (;;) {
+            const { value, done } = await reader.read();
+            if (done) break;
+            buffer += value.replace(/\r\n/g, '\n');
+            let end;
+            while ((end = buffer.indexOf('\n\n')) >= 0) {
+              dispatch(buffer.slice(0, end));
+              buffer = buffer.slice(end + 2);
+            }
+          }
+        }
+      } catch (error) {
+        if (controller.signal.aborted) return;
+      }
+      await new Promise((resolve) => setTimeout(resolve, retryMs));
+    }
+  };
+
+  connect();
+  return () => controller.abort();
+}
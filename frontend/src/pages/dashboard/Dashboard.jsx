@@ -22,37 +22,13 @@ function Dashboard() {
 
   const loadStats = async () => {
     try {
-      if (user.role === 'SUPER_ADMIN') {
-        const [projectsRes, tasksRes, usersRes] = await Promise.all([
-          api.get('/projects'),
-          api.get('/tasks'),
-          api.get('/users')
-        ]);
-
-        const projectList = Array.isArray(projectsRes.data.data) ? projectsRes.data.data : [];
-        const taskTotal = tasksRes?.data?.data?.total ?? (Array.isArray(tasksRes?.data?.data?.tasks) ? tasksRes.data.data.tasks.length : 0);
-        const usersTotal = Array.isArray(usersRes?.data?.data) ? usersRes.data.data.length : 0;
-
-        setStats({
-          projects: projectList.length,
-          tasks: taskTotal,
-          users: usersTotal
-        });
-        return;
-      }
-
-      const [projectsRes, usersRes] = await Promise.all([
-        api.get('/projects'),
-        user.role === 'TENANT_ADMIN' ? api.get(`/tenants/${user.tenant.id}/users`) : Promise.resolve({ data: { data: [] } })
-      ]);
-
-      const projectList = Array.isArray(projectsRes.data.data) ? projectsRes.data.data : [];
-      const taskCount = projectList.reduce((sum, p) => sum + (p.taskCount || 0), 0);
+      const res = await api.get('/dashboard');
+      const data = res.data.data || {};
 
       setStats({
-        projects: projectList.length,
-        tasks: taskCount,
-        users: usersRes.data.data.length
+        projects: data.projects?.total ?? 0,
+        tasks: data.tasks?.total ?? 0,
+        users: data.users?.total ?? 0
       });
     } catch (error) {
       console.error('Failed to load stats:', error);
@@ -1,8 +1,9 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
 import { Edit2, Trash2 } from 'lucide-react';
 import Navbar from '../../components/Navbar';
 import api from '../../api/axios';
+import { subscribeToChanges } from '../../api/stream';
 import { useAuth } from '../../context/AuthContext';
 import './ProjectDetails.css';
 
@@ -25,13 +26,90 @@ function ProjectDetails() {
     dueDate: ''
   });
   const [error, setError] = useState('');
+  // Delta-sync cursor taken just before the last full load
+  const cursorRef = useRef(null);
 
   useEffect(() => {
     loadData();
   }, [id]);
 
+  // Merge a task from a response or stream event; status-only events carry a partial task
+  const upsertTask = (task) => {
+    setTasks((current) => {
+      const index = current.findIndex((t) => t.id === task.id);
+      if (index < 0) {
+        return [task, ...current];
+      }
+      const next = [...current];
+      next[index] = { ...next[index], ...task };
+      return next;
+    });
+  };
+
+  const removeTask = (taskId) => {
+    setTasks((current) => current.filter((t) => t.id !== taskId));
+  };
+
+  // Catch up after a dropped stream with /changes instead of reloading everything
+  const catchUp = async () => {
+    if (cursorRef.current === null) {
+      return loadData();
+    }
+    try {
+      let hasMore = true;
+      while (hasMore) {
+        const res = await api.get('/changes', { params: { since: cursorRef.current } });
+        const changes = res.data.data;
+        changes.tasks.filter((t) => t.projectId === id).forEach(upsertTask);
+        const project = changes.projects.find((p) => p.id === id);
+        if (project) {
+          setProject((current) => ({ ...current, ...project }));
+        }
+        for (const tombstone of changes.deleted) {
+          if (tombstone.type === 'TASK') removeTask(tombstone.id);
+          if (tombstone.type === 'PROJECT' && tombstone.id === id) navigate('/projects');
+        }
+        cursorRef.current = changes.cursor;
+        hasMore = changes.hasMore;
+      }
+    } catch (err) {
+      // 410 Gone means the cursor is older than the kept tombstones
+      await loadData();
+    }
+  };
+
+  // Live updates from other users, instead of polling
+  useEffect(() => {
+    return subscribeToChanges((type, event) => {
+      const data = event.data || {};
+      switch (type) {
+        case 'task.created':
+        case 'task.updated':
+          if (data.projectId === id) upsertTask(data);
+          break;
+        case 'task.deleted':
+          if (data.projectId === id) removeTask(data.id);
+          break;
+        case 'tasks.bulk':
+          if (data.projectId === id) loadData();
+          break;
+        case 'project.updated':
+          if (data.id === id) setProject(data);
+          break;
+        case 'project.deleted':
+          if (data.id === id) navigate('/projects');
+          break;
+        default:
+          break;
+      }
+    }, { onReconnect: catchUp });
+  }, [id]);
+
   const loadData = async () => {
     try {
+      const cursorRes = await api.get('/changes').catch(() => null);
+      cursorRef.current = cursorRes?.data?.data?.cursor ?? null;
+
       const [projectRes, tasksRes, usersRes] = await Promise.all([
         api.get(`/projects/${id}`),
         api.get(`/projects/${id}/tasks`),
@@ -113,12 +191,10 @@ function ProjectDetails() {
         dueDate: formData.dueDate || null
       };
 
-      if (editingTask) {
-        await api.put(`/tasks/${editingTask.id}`, taskData);
-      } else {
-        await api.post(`/projects/${id}/tasks`, taskData);
-      }
-      await loadData();
+      const response = editingTask
+        ? await api.put(`/tasks/${editingTask.id}`, taskData)
+        : await api.post(`/projects/${id}/tasks`, taskData);
+      upsertTask(response.data.data);
       handleCloseModal();
     } catch (err) {
       setError(err.response?.data?.message || 'Operation failed');
@@ -136,7 +212,7 @@ function ProjectDetails() {
         return;
       }
       await api.delete(`/tasks/${taskId}`);
-      await loadData();
+      removeTask(taskId);
     } catch (err) {
       alert(err.response?.data?.message || 'Failed to delete task');
     }
@@ -144,8 +220,8 @@ function ProjectDetails() {
 
   const handleStatusChange = async (taskId, newStatus) => {
     try {
-      await api.patch(`/tasks/${taskId}/status`, { status: newStatus });
-      await loadData();
+      const response = await api.patch(`/tasks/${taskId}/status`, { status: newStatus });
+      upsertTask(response.data.data);
     } catch (err) {
       alert(err.response?.data?.message || 'Failed to update status');
     }